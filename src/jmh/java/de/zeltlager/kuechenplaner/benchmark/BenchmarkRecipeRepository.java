@@ -0,0 +1,180 @@
+package de.zeltlager.kuechenplaner.benchmark;
+
+import de.zeltlager.kuechenplaner.data.model.DataVersion;
+import de.zeltlager.kuechenplaner.data.model.Ingredient;
+import de.zeltlager.kuechenplaner.data.model.Recipe;
+import de.zeltlager.kuechenplaner.data.model.RecipeSummary;
+import de.zeltlager.kuechenplaner.data.model.RecipeWithIngredients;
+import de.zeltlager.kuechenplaner.data.repository.RecipeRepository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Map backed recipe repository so the benchmarks measure the service and not a database. Searches
+ * scan the recipes in name order like the in-memory repository does.
+ */
+final class BenchmarkRecipeRepository implements RecipeRepository {
+
+    private static final Comparator<RecipeWithIngredients> NAME_ORDER = Comparator
+            .comparing((RecipeWithIngredients recipe) -> normalize(recipe.getRecipe().getName()))
+            .thenComparing(recipe -> recipe.getRecipe().getId().orElseThrow());
+
+    private final Map<Long, RecipeWithIngredients> recipes = new LinkedHashMap<>();
+    private List<RecipeWithIngredients> recipesByName;
+    private long nextId = 1;
+
+    BenchmarkRecipeRepository() {
+    }
+
+    BenchmarkRecipeRepository(List<RecipeWithIngredients> initialRecipes) {
+        for (RecipeWithIngredients recipe : initialRecipes) {
+            long id = recipe.getRecipe().getId().orElseThrow();
+            recipes.put(id, recipe);
+            nextId = Math.max(nextId, id + 1);
+        }
+    }
+
+    @Override
+    public RecipeWithIngredients create(Recipe recipe, List<Ingredient> ingredients) {
+        long id = nextId++;
+        Recipe persisted = new Recipe(id,
+                recipe.getName(),
+                recipe.getCategoryId().orElse(null),
+                recipe.getBaseServings(),
+                recipe.getInstructions(),
+                recipe.getCreatedAt().orElse(null),
+                recipe.getUpdatedAt().orElse(null));
+        RecipeWithIngredients result = new RecipeWithIngredients(persisted, ingredients);
+        recipes.put(id, result);
+        recipesByName = null;
+        return result;
+    }
+
+    @Override
+    public List<RecipeWithIngredients> createAll(List<RecipeWithIngredients> recipesToCreate) {
+        List<RecipeWithIngredients> result = new ArrayList<>(recipesToCreate.size());
+        for (RecipeWithIngredients recipe : recipesToCreate) {
+            result.add(create(recipe.getRecipe(), recipe.getIngredients()));
+        }
+        return result;
+    }
+
+    @Override
+    public Optional<RecipeWithIngredients> findById(long id) {
+        return Optional.ofNullable(recipes.get(id));
+    }
+
+    @Override
+    public List<RecipeWithIngredients> findAllByIds(Collection<Long> ids) {
+        List<RecipeWithIngredients> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            RecipeWithIngredients recipe = recipes.get(id);
+            if (recipe != null) {
+                result.add(recipe);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<RecipeWithIngredients> findAll() {
+        return List.copyOf(recipes.values());
+    }
+
+    @Override
+    public void forEachRecipe(Consumer<RecipeWithIngredients> action) {
+        recipes.values().forEach(action);
+    }
+
+    @Override
+    public void forEachRecipeUpdatedSince(Instant since, Consumer<RecipeWithIngredients> action) {
+        recipes.values().stream()
+                .filter(recipe -> recipe.getRecipe().getUpdatedAt().map(updatedAt -> updatedAt.isAfter(since)).orElse(true))
+                .forEach(action);
+    }
+
+    @Override
+    public List<RecipeSummary> findSummaries(int page, int pageSize) {
+        return recipes.values().stream()
+                .skip((long) page * pageSize)
+                .limit(pageSize)
+                .map(RecipeSummary::of)
+                .toList();
+    }
+
+    @Override
+    public long count() {
+        return recipes.size();
+    }
+
+    @Override
+    public DataVersion getVersion() {
+        return recipes.values().stream()
+                .map(recipe -> new DataVersion(1 + recipe.getIngredients().size(),
+                        recipe.getRecipe().getUpdatedAt().orElse(null)))
+                .reduce(DataVersion.EMPTY, DataVersion::combine);
+    }
+
+    @Override
+    public List<RecipeWithIngredients> search(String query, int limit, int offset) {
+        List<String> words = Arrays.stream(query.trim().split("\\s+"))
+                .filter(word -> !word.isEmpty())
+                .map(BenchmarkRecipeRepository::normalize)
+                .toList();
+        if (recipesByName == null) {
+            recipesByName = recipes.values().stream().sorted(NAME_ORDER).toList();
+        }
+        return recipesByName.stream()
+                .filter(recipe -> containsAll(recipe, words))
+                .skip(offset)
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public List<RecipeSummary> searchSummaries(String query, int limit, int offset) {
+        return search(query, limit, offset).stream()
+                .map(RecipeSummary::of)
+                .toList();
+    }
+
+    @Override
+    public RecipeWithIngredients update(Recipe recipe, List<Ingredient> ingredients) {
+        RecipeWithIngredients result = new RecipeWithIngredients(recipe, ingredients);
+        recipes.put(recipe.getId().orElseThrow(), result);
+        recipesByName = null;
+        return result;
+    }
+
+    @Override
+    public void delete(long id) {
+        recipes.remove(id);
+        recipesByName = null;
+    }
+
+    private static boolean containsAll(RecipeWithIngredients recipe, List<String> words) {
+        String recipeText = normalize(recipe.getRecipe().getName() + " " + recipe.getRecipe().getInstructions());
+        for (String word : words) {
+            boolean found = recipeText.contains(word) || recipe.getIngredients().stream()
+                    .anyMatch(ingredient -> normalize(ingredient.getName()).contains(word));
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String normalize(String text) {
+        return text.trim().toLowerCase(Locale.ROOT);
+    }
+}
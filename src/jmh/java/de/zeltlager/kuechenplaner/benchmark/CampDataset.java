@@ -0,0 +1,92 @@
+package de.zeltlager.kuechenplaner.benchmark;
+
+import de.zeltlager.kuechenplaner.data.model.Ingredient;
+import de.zeltlager.kuechenplaner.data.model.Recipe;
+import de.zeltlager.kuechenplaner.data.model.RecipeWithIngredients;
+import de.zeltlager.kuechenplaner.logic.RecipeService;
+import de.zeltlager.kuechenplaner.logic.SimpleRecipeService;
+
+import java.io.StringWriter;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Generates reproducible synthetic camp kitchen data for the benchmarks.
+ */
+public final class CampDataset {
+
+    private static final String[] DISHES = {
+            "Eintopf", "Nudelauflauf", "Kartoffelsalat", "Chili sin Carne", "Pfannkuchen", "Gemüsecurry",
+            "Milchreis", "Linsensuppe", "Spaghetti Bolognese", "Obstsalat", "Käsespätzle", "Stockbrot"
+    };
+    private static final String[] INGREDIENTS = {
+            "Tomaten", "Käse gerieben", "Hähnchenbrust", "Vollkornbrot", "Nudeln", "Mehl", "Zucker", "Salz",
+            "Apfelsaft", "Schlagsahne", "Kartoffeln festkochend", "Zwiebel rot", "Reis", "Paprika gelb",
+            "Rinderhack", "Brötchen", "Früchtetee", "Linsen", "Haferflocken", "Öl", "Milch", "Eier",
+            "Karotten", "Lauch", "Knoblauch", "Butter", "Quark", "Äpfel", "Bananen", "Gurke"
+    };
+    private static final String[] UNITS = {"g", "kg", "ml", "l", "Stück", "EL", "TL", "Prise"};
+    private static final String[] NOTES = {null, null, null, "gewürfelt", "frisch", "Bio", "gehackt"};
+
+    private CampDataset() {
+    }
+
+    /**
+     * Creates {@code count} recipes with ids starting at 1 and three to twelve ingredients each.
+     */
+    public static List<RecipeWithIngredients> recipes(int count) {
+        Random random = new Random(count);
+        Instant now = Instant.parse("2024-07-01T08:00:00Z");
+        List<RecipeWithIngredients> recipes = new ArrayList<>(count);
+        long ingredientId = 1;
+        for (long recipeId = 1; recipeId <= count; recipeId++) {
+            String name = DISHES[random.nextInt(DISHES.length)] + " " + recipeId;
+            int baseServings = 4 + random.nextInt(60);
+            Recipe recipe = new Recipe(recipeId, name, null, baseServings,
+                    "Alles vorbereiten, im großen Topf garen und heiß servieren.", now, now);
+            int ingredientCount = 3 + random.nextInt(10);
+            List<Ingredient> ingredients = new ArrayList<>(ingredientCount);
+            for (int i = 0; i < ingredientCount; i++) {
+                ingredients.add(new Ingredient(ingredientId++, recipeId,
+                        INGREDIENTS[random.nextInt(INGREDIENTS.length)],
+                        UNITS[random.nextInt(UNITS.length)],
+                        0.5 + random.nextInt(200) / 4.0,
+                        NOTES[random.nextInt(NOTES.length)]));
+            }
+            recipes.add(new RecipeWithIngredients(recipe, ingredients));
+        }
+        return List.copyOf(recipes);
+    }
+
+    /**
+     * Serializes the recipes with the CSV exporter so the import benchmark reads realistic input.
+     */
+    public static String csv(List<RecipeWithIngredients> recipes) {
+        StringWriter writer = new StringWriter();
+        new SimpleRecipeService(new BenchmarkRecipeRepository(recipes))
+                .exportRecipes(writer, RecipeService.ExportFormat.CSV);
+        return writer.toString();
+    }
+
+    public static String mealMaster(List<RecipeWithIngredients> recipes) {
+        StringBuilder builder = new StringBuilder();
+        for (RecipeWithIngredients recipe : recipes) {
+            Recipe baseRecipe = recipe.getRecipe();
+            builder.append("MMMMM----- Recipe via Meal-Master (tm) v8.05\n\n");
+            builder.append("      Title: ").append(baseRecipe.getName()).append('\n');
+            builder.append(" Categories: Zeltlager\n");
+            builder.append("      Yield: ").append(baseRecipe.getBaseServings()).append(" servings\n\n");
+            for (Ingredient ingredient : recipe.getIngredients()) {
+                String amount = String.format(Locale.ROOT, "%.1f",
+                        ingredient.getAmountPerServing() * baseRecipe.getBaseServings());
+                builder.append(String.format("%1$7s %2$-7s%3$s", amount, ingredient.getUnit(), ingredient.getName()))
+                        .append('\n');
+            }
+            builder.append('\n').append(baseRecipe.getInstructions()).append("\n\n");
+        }
+        return builder.toString();
+    }
+}
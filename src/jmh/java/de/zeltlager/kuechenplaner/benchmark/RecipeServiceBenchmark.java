@@ -0,0 +1,96 @@
+package de.zeltlager.kuechenplaner.benchmark;
+
+import de.zeltlager.kuechenplaner.data.model.RecipeWithIngredients;
+import de.zeltlager.kuechenplaner.data.model.ShoppingListItem;
+import de.zeltlager.kuechenplaner.logic.RecipeService;
+import de.zeltlager.kuechenplaner.logic.SimpleRecipeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the recipe service hot paths against synthetic camp datasets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RecipeServiceBenchmark {
+
+    @Param({"10", "1000", "10000", "100000"})
+    private int recipeCount;
+
+    private SimpleRecipeService service;
+    private List<RecipeService.RecipeSelection> selections;
+    private String csv;
+    private String mealMaster;
+    private Path mealMasterArchive;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<RecipeWithIngredients> recipes = CampDataset.recipes(recipeCount);
+        service = new SimpleRecipeService(new BenchmarkRecipeRepository(recipes));
+        selections = new ArrayList<>(recipes.size());
+        for (RecipeWithIngredients recipe : recipes) {
+            selections.add(new RecipeService.RecipeSelection(recipe.getRecipe().getId().orElseThrow(),
+                    recipe.getRecipe().getBaseServings()));
+        }
+        csv = CampDataset.csv(recipes);
+        mealMaster = CampDataset.mealMaster(recipes);
+        mealMasterArchive = Files.createTempFile("benchmark", ".mmf");
+        Files.writeString(mealMasterArchive, mealMaster, StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(mealMasterArchive);
+    }
+
+    @Benchmark
+    public List<ShoppingListItem> generateShoppingList() {
+        return service.generateShoppingList(selections);
+    }
+
+    @Benchmark
+    public List<RecipeWithIngredients> parseCsv() {
+        return new SimpleRecipeService(new BenchmarkRecipeRepository())
+                .importRecipes(new StringReader(csv), RecipeService.ImportFormat.CSV);
+    }
+
+    @Benchmark
+    public List<RecipeWithIngredients> parseMealMaster() {
+        return new SimpleRecipeService(new BenchmarkRecipeRepository())
+                .importRecipes(new StringReader(mealMaster), RecipeService.ImportFormat.MEAL_MASTER);
+    }
+
+    @Benchmark
+    public int parseMealMasterArchive() {
+        return new SimpleRecipeService(new BenchmarkRecipeRepository())
+                .importMealMasterArchive(mealMasterArchive, RecipeService.DEFAULT_IMPORT_BATCH_SIZE, count -> { });
+    }
+
+    @Benchmark
+    public void writeRecipesAsCsv() {
+        service.exportRecipes(Writer.nullWriter(), RecipeService.ExportFormat.CSV);
+    }
+
+    @Benchmark
+    public void writeRecipesAsPlainText() {
+        service.exportRecipes(Writer.nullWriter(), RecipeService.ExportFormat.PLAIN_TEXT);
+    }
+}
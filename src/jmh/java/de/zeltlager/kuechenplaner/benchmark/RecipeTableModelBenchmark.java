@@ -0,0 +1,59 @@
+package de.zeltlager.kuechenplaner.benchmark;
+
+import de.zeltlager.kuechenplaner.RecipeTableModel;
+import de.zeltlager.kuechenplaner.logic.SimpleRecipeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures opening the recipe overview, which loads the count and the first page of summaries
+ * into the paged table model, and showing the first page of a search like the recipe panel does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RecipeTableModelBenchmark {
+
+    @Param({"10", "1000", "10000", "100000"})
+    private int recipeCount;
+
+    private SimpleRecipeService service;
+    private RecipeTableModel tableModel;
+
+    @Setup
+    public void setUp() {
+        service = new SimpleRecipeService(new BenchmarkRecipeRepository(CampDataset.recipes(recipeCount)));
+        tableModel = new RecipeTableModel();
+    }
+
+    @Benchmark
+    public int showFirstPage() {
+        tableModel.showRows((int) service.countRecipes(),
+                service.getRecipeSummaries(0, RecipeTableModel.PAGE_SIZE));
+        return tableModel.getRowCount();
+    }
+
+    @Benchmark
+    public int searchFirstPage(SearchQuery search) {
+        tableModel.showOpenEndedRows(service.searchSummaries(search.query, RecipeTableModel.PAGE_SIZE, 0));
+        return tableModel.getRowCount();
+    }
+
+    /**
+     * Search terms, kept apart so only the search benchmark runs once per term.
+     */
+    @State(Scope.Benchmark)
+    public static class SearchQuery {
+
+        @Param({"eintopf", "käse", "xyz"})
+        private String query;
+    }
+}
@@ -0,0 +1,100 @@
+package de.zeltlager.kuechenplaner.logic;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-row string normalization and keyword scan used for shopping list aggregation
+ * before and after introducing the memoized name cache and the keyword automaton.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IngredientLookupBenchmark {
+
+    private static final String[] NAMES = {
+            "Tomaten", "Käse gerieben", "Hähnchenbrust", "Vollkornbrot", "Nudeln", "Mehl", "Zucker",
+            "Salz", "Apfelsaft", "Schlagsahne", "Kartoffeln festkochend", "Zwiebel rot", "Reis",
+            "Paprika gelb", "Rinderhack", "Brötchen", "Früchtetee", "Linsen", "Haferflocken", "Öl"
+    };
+    private static final String[] UNITS = {"g", "kg", "Gramm", "ml", "l", "Liter", "Stück", "EL", "TL", "Prise"};
+
+    private static final List<List<String>> LEGACY_RULES = List.of(
+            List.of("apfel", "banane", "birne", "karotte", "möhre", "paprika", "tomate", "gurke", "zwiebel", "salat", "kartoffel"),
+            List.of("milch", "käse", "quark", "joghurt", "butter", "sahne"),
+            List.of("hähnchen", "rind", "schwein", "fleisch", "fisch", "lachs"),
+            List.of("brot", "brötchen", "toast", "croissant", "kuchen"),
+            List.of("wasser", "saft", "tee", "kaffee"));
+
+    @Param({"1000", "10000"})
+    private int ingredientLines;
+
+    private final List<String> names = new ArrayList<>();
+    private final List<String> units = new ArrayList<>();
+    private IngredientCategorizer categorizer;
+    private UnitConverter unitConverter;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        names.clear();
+        units.clear();
+        for (int i = 0; i < ingredientLines; i++) {
+            names.add(NAMES[random.nextInt(NAMES.length)]);
+            units.add(UNITS[random.nextInt(UNITS.length)]);
+        }
+        categorizer = new IngredientCategorizer();
+        unitConverter = new UnitConverter();
+    }
+
+    @Benchmark
+    public void legacyNormalizeAndScan(Blackhole blackhole) {
+        for (int i = 0; i < ingredientLines; i++) {
+            blackhole.consume(legacyNormalize(units.get(i)));
+            blackhole.consume(legacyNormalize(names.get(i)));
+            blackhole.consume(legacyCategorize(names.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void cachedNormalizeAndAutomaton(Blackhole blackhole) {
+        for (int i = 0; i < ingredientLines; i++) {
+            blackhole.consume(unitConverter.convert(units.get(i), 1.0));
+            blackhole.consume(IngredientNames.normalize(names.get(i)));
+            blackhole.consume(categorizer.categorize(names.get(i)));
+        }
+    }
+
+    private static String legacyNormalize(String value) {
+        String normalized = Normalizer.normalize(value.trim(), Normalizer.Form.NFD);
+        normalized = normalized.replaceAll("\\p{M}", "");
+        normalized = normalized.toLowerCase(Locale.ROOT);
+        return normalized.replace("ß", "ss");
+    }
+
+    private static int legacyCategorize(String ingredientName) {
+        String normalized = legacyNormalize(ingredientName);
+        for (int rule = 0; rule < LEGACY_RULES.size(); rule++) {
+            for (String keyword : LEGACY_RULES.get(rule)) {
+                if (normalized.contains(keyword)) {
+                    return rule;
+                }
+            }
+        }
+        return -1;
+    }
+}
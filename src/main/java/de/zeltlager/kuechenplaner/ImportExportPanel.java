@@ -1,7 +1,8 @@
 package de.zeltlager.kuechenplaner;
 
-import de.zeltlager.kuechenplaner.data.model.RecipeWithIngredients;
 import de.zeltlager.kuechenplaner.logic.RecipeService;
+import de.zeltlager.kuechenplaner.ui.BackgroundExecutor;
+import de.zeltlager.kuechenplaner.ui.BackgroundTasks;
 import de.zeltlager.kuechenplaner.ui.UiTheme;
 
 import java.awt.BorderLayout;
@@ -11,8 +12,8 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.List;
 import java.util.Objects;
+import java.util.function.IntConsumer;
 
 import javax.swing.DefaultComboBoxModel;
 import javax.swing.JComboBox;
@@ -22,7 +23,7 @@ import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTextArea;
-import javax.swing.SwingWorker;
+import javax.swing.SwingUtilities;
 import javax.swing.border.EmptyBorder;
 import javax.swing.filechooser.FileNameExtensionFilter;
 
@@ -38,17 +39,18 @@ import org.springframework.stereotype.Component;
 public class ImportExportPanel extends JPanel {
 
     private final RecipeService recipeService;
+    private final BackgroundTasks tasks;
     private final JComboBox<RecipeService.ImportFormat> importFormatBox;
     private final JComboBox<RecipeService.ExportFormat> exportFormatBox;
     private final javax.swing.JButton importButton;
     private final javax.swing.JButton exportButton;
     private final JLabel importStatusLabel;
     private final JLabel exportStatusLabel;
-    private Runnable recipesUpdatedListener;
 
-    public ImportExportPanel(RecipeService recipeService) {
+    public ImportExportPanel(RecipeService recipeService, BackgroundExecutor backgroundExecutor) {
         super(new BorderLayout());
         this.recipeService = Objects.requireNonNull(recipeService, "recipeService");
+        this.tasks = Objects.requireNonNull(backgroundExecutor, "backgroundExecutor").newTasks();
 
         setOpaque(false);
         setBorder(new EmptyBorder(24, 24, 24, 24));
@@ -188,41 +190,36 @@ public class ImportExportPanel extends JPanel {
         importButton.setEnabled(false);
         importStatusLabel.setText("Importiere...");
 
-        new SwingWorker<List<RecipeWithIngredients>, Void>() {
-            @Override
-            protected List<RecipeWithIngredients> doInBackground() throws Exception {
-                try (var reader = Files.newBufferedReader(importPath, StandardCharsets.UTF_8)) {
-                    return recipeService.importRecipes(reader, format);
-                }
+        IntConsumer progressListener = imported -> SwingUtilities.invokeLater(
+                () -> importStatusLabel.setText("Importiere... " + imported + " Rezepte gespeichert"));
+        tasks.run(() -> {
+            if (format == RecipeService.ImportFormat.MEAL_MASTER) {
+                return recipeService.importMealMasterArchive(importPath,
+                        RecipeService.DEFAULT_IMPORT_BATCH_SIZE, progressListener);
             }
-
-            @Override
-            protected void done() {
-                importButton.setEnabled(true);
-                try {
-                    List<RecipeWithIngredients> imported = get();
-                    if (imported.isEmpty()) {
-                        importStatusLabel.setText("Keine neuen Rezepte gefunden");
-                    } else if (imported.size() == 1) {
-                        importStatusLabel.setText("1 Rezept importiert");
-                    } else {
-                        importStatusLabel.setText(imported.size() + " Rezepte importiert");
-                    }
-                    JOptionPane.showMessageDialog(ImportExportPanel.this,
-                            "Import abgeschlossen.",
-                            "Fertig",
-                            JOptionPane.INFORMATION_MESSAGE);
-                    notifyRecipesUpdated();
-                } catch (Exception e) {
-                    Throwable cause = e.getCause() != null ? e.getCause() : e;
-                    importStatusLabel.setText("Import fehlgeschlagen");
-                    JOptionPane.showMessageDialog(ImportExportPanel.this,
-                            "Rezepte konnten nicht importiert werden: " + cause.getMessage(),
-                            "Fehler",
-                            JOptionPane.ERROR_MESSAGE);
-                }
+            return recipeService.importCsvFile(importPath, RecipeService.DEFAULT_IMPORT_BATCH_SIZE,
+                    progressListener);
+        }, imported -> {
+            importButton.setEnabled(true);
+            if (imported == 0) {
+                importStatusLabel.setText("Keine neuen Rezepte gefunden");
+            } else if (imported == 1) {
+                importStatusLabel.setText("1 Rezept importiert");
+            } else {
+                importStatusLabel.setText(imported + " Rezepte importiert");
             }
-        }.execute();
+            JOptionPane.showMessageDialog(ImportExportPanel.this,
+                    "Import abgeschlossen.",
+                    "Fertig",
+                    JOptionPane.INFORMATION_MESSAGE);
+        }, error -> {
+            importButton.setEnabled(true);
+            importStatusLabel.setText("Import fehlgeschlagen");
+            JOptionPane.showMessageDialog(ImportExportPanel.this,
+                    "Rezepte konnten nicht importiert werden: " + error.getMessage(),
+                    "Fehler",
+                    JOptionPane.ERROR_MESSAGE);
+        });
     }
 
     private void startExportFlow() {
@@ -256,45 +253,26 @@ public class ImportExportPanel extends JPanel {
         exportButton.setEnabled(false);
         exportStatusLabel.setText("Exportiere...");
 
-        new SwingWorker<Void, Void>() {
-            @Override
-            protected Void doInBackground() throws Exception {
-                try (BufferedWriter writer = Files.newBufferedWriter(exportPath, StandardCharsets.UTF_8)) {
-                    recipeService.exportRecipes(writer, format);
-                }
-                return null;
+        tasks.run(() -> {
+            try (BufferedWriter writer = Files.newBufferedWriter(exportPath, StandardCharsets.UTF_8)) {
+                recipeService.exportRecipes(writer, format);
             }
-
-            @Override
-            protected void done() {
-                exportButton.setEnabled(true);
-                try {
-                    get();
-                    exportStatusLabel.setText("Rezepte exportiert");
-                    JOptionPane.showMessageDialog(ImportExportPanel.this,
-                            "Rezepte wurden exportiert.",
-                            "Export abgeschlossen",
-                            JOptionPane.INFORMATION_MESSAGE);
-                } catch (Exception e) {
-                    Throwable cause = e.getCause() != null ? e.getCause() : e;
-                    exportStatusLabel.setText("Export fehlgeschlagen");
-                    JOptionPane.showMessageDialog(ImportExportPanel.this,
-                            "Rezepte konnten nicht exportiert werden: " + cause.getMessage(),
-                            "Fehler",
-                            JOptionPane.ERROR_MESSAGE);
-                }
-            }
-        }.execute();
-    }
-
-    public void setRecipesUpdatedListener(Runnable listener) {
-        this.recipesUpdatedListener = listener;
-    }
-
-    private void notifyRecipesUpdated() {
-        if (recipesUpdatedListener != null) {
-            recipesUpdatedListener.run();
-        }
+            return null;
+        }, ignored -> {
+            exportButton.setEnabled(true);
+            exportStatusLabel.setText("Rezepte exportiert");
+            JOptionPane.showMessageDialog(ImportExportPanel.this,
+                    "Rezepte wurden exportiert.",
+                    "Export abgeschlossen",
+                    JOptionPane.INFORMATION_MESSAGE);
+        }, error -> {
+            exportButton.setEnabled(true);
+            exportStatusLabel.setText("Export fehlgeschlagen");
+            JOptionPane.showMessageDialog(ImportExportPanel.this,
+                    "Rezepte konnten nicht exportiert werden: " + error.getMessage(),
+                    "Fehler",
+                    JOptionPane.ERROR_MESSAGE);
+        });
     }
 }
 
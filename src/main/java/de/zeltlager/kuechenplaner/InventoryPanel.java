@@ -1,11 +1,11 @@
 package de.zeltlager.kuechenplaner;
 
 import de.zeltlager.kuechenplaner.data.model.InventoryItem;
+import de.zeltlager.kuechenplaner.logic.ChangeEvent;
 import de.zeltlager.kuechenplaner.logic.InventoryService;
 
 import java.awt.BorderLayout;
 import java.awt.FlowLayout;
-import java.util.List;
 import java.util.Objects;
 
 import javax.swing.JButton;
@@ -17,11 +17,12 @@ import javax.swing.JSpinner;
 import javax.swing.JTable;
 import javax.swing.JTextField;
 import javax.swing.SpinnerNumberModel;
-import javax.swing.SwingWorker;
 import javax.swing.border.EmptyBorder;
 
 import org.springframework.stereotype.Component;
 
+import de.zeltlager.kuechenplaner.ui.BackgroundExecutor;
+import de.zeltlager.kuechenplaner.ui.BackgroundTasks;
 import de.zeltlager.kuechenplaner.ui.UiTheme;
 
 /**
@@ -31,6 +32,7 @@ import de.zeltlager.kuechenplaner.ui.UiTheme;
 public class InventoryPanel extends JPanel {
 
     private final InventoryService inventoryService;
+    private final BackgroundTasks tasks;
     private final InventoryTableModel tableModel;
     private final JButton reloadButton;
     private final JButton saveButton;
@@ -39,9 +41,10 @@ public class InventoryPanel extends JPanel {
     private final JTextField unitField;
     private final JLabel statusLabel;
 
-    public InventoryPanel(InventoryService inventoryService) {
+    public InventoryPanel(InventoryService inventoryService, BackgroundExecutor backgroundExecutor) {
         super(new BorderLayout(16, 16));
         this.inventoryService = Objects.requireNonNull(inventoryService, "inventoryService");
+        this.tasks = Objects.requireNonNull(backgroundExecutor, "backgroundExecutor").newTasks();
         this.tableModel = new InventoryTableModel();
 
         setOpaque(false);
@@ -101,26 +104,23 @@ public class InventoryPanel extends JPanel {
     public void reloadData() {
         reloadButton.setEnabled(false);
         statusLabel.setText("Aktualisiere...");
-        new SwingWorker<List<InventoryItem>, Void>() {
-            @Override
-            protected List<InventoryItem> doInBackground() {
-                return inventoryService.getInventory();
-            }
-
-            @Override
-            protected void done() {
-                try {
-                    List<InventoryItem> items = get();
-                    tableModel.setItems(items);
-                    statusLabel.setText(items.isEmpty() ? "Keine Artikel vorhanden" : items.size() + " Artikel");
-                } catch (Exception e) {
-                    showError("Lagerbestand konnte nicht geladen werden: " + e.getMessage());
-                    statusLabel.setText("Fehler beim Laden");
-                } finally {
-                    reloadButton.setEnabled(true);
-                }
-            }
-        }.execute();
+        tasks.runLatest("reload", inventoryService::getInventory, items -> {
+            tableModel.setItems(items);
+            updateStatusLabel();
+            reloadButton.setEnabled(true);
+        }, error -> {
+            showError("Lagerbestand konnte nicht geladen werden: " + error.getMessage());
+            statusLabel.setText("Fehler beim Laden");
+            reloadButton.setEnabled(true);
+        });
+    }
+
+    /**
+     * Updates or inserts the rows of saved items instead of reloading the whole inventory.
+     */
+    public void applyInventoryChanged(ChangeEvent.InventoryChanged event) {
+        tableModel.upsertItems(event.items());
+        updateStatusLabel();
     }
 
     private void saveItem() {
@@ -140,27 +140,23 @@ public class InventoryPanel extends JPanel {
         InventoryItem item = new InventoryItem(ingredient, quantity, unit);
 
         toggleFormEnabled(false);
-        new SwingWorker<Void, Void>() {
-            @Override
-            protected Void doInBackground() {
-                inventoryService.upsertInventoryItem(item);
-                return null;
-            }
-
-            @Override
-            protected void done() {
-                toggleFormEnabled(true);
-                try {
-                    get();
-                    ingredientField.setText("");
-                    quantitySpinner.setValue(1);
-                    unitField.setText("");
-                    reloadData();
-                } catch (Exception e) {
-                    showError("Eintrag konnte nicht gespeichert werden: " + e.getMessage());
-                }
-            }
-        }.execute();
+        tasks.run(() -> {
+            inventoryService.upsertInventoryItem(item);
+            return null;
+        }, ignored -> {
+            toggleFormEnabled(true);
+            ingredientField.setText("");
+            quantitySpinner.setValue(1);
+            unitField.setText("");
+        }, error -> {
+            toggleFormEnabled(true);
+            showError("Eintrag konnte nicht gespeichert werden: " + error.getMessage());
+        });
+    }
+
+    private void updateStatusLabel() {
+        int count = tableModel.getRowCount();
+        statusLabel.setText(count == 0 ? "Keine Artikel vorhanden" : count + " Artikel");
     }
 
     private void toggleFormEnabled(boolean enabled) {
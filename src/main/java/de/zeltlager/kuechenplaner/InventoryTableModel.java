@@ -4,6 +4,7 @@ import de.zeltlager.kuechenplaner.data.model.InventoryItem;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 import javax.swing.table.AbstractTableModel;
 
@@ -22,6 +23,33 @@ public class InventoryTableModel extends AbstractTableModel {
         fireTableDataChanged();
     }
 
+    /**
+     * Replaces the rows of items with the same ingredient, ignoring case, and inserts the others in
+     * ingredient order.
+     */
+    public void upsertItems(List<InventoryItem> changedItems) {
+        for (InventoryItem item : changedItems) {
+            String key = key(item.getIngredient());
+            int insertRow = items.size();
+            int existingRow = -1;
+            for (int row = 0; row < items.size() && existingRow < 0; row++) {
+                int comparison = key(items.get(row).getIngredient()).compareTo(key);
+                if (comparison == 0) {
+                    existingRow = row;
+                } else if (comparison > 0 && insertRow == items.size()) {
+                    insertRow = row;
+                }
+            }
+            if (existingRow >= 0) {
+                items.set(existingRow, item);
+                fireTableRowsUpdated(existingRow, existingRow);
+            } else {
+                items.add(insertRow, item);
+                fireTableRowsInserted(insertRow, insertRow);
+            }
+        }
+    }
+
     @Override
     public int getRowCount() {
         return items.size();
@@ -59,4 +87,8 @@ public class InventoryTableModel extends AbstractTableModel {
     public InventoryItem getItem(int rowIndex) {
         return items.get(rowIndex);
     }
+
+    private static String key(String ingredient) {
+        return ingredient.trim().toLowerCase(Locale.ROOT);
+    }
 }
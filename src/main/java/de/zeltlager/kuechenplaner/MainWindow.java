@@ -1,6 +1,11 @@
 package de.zeltlager.kuechenplaner;
 
 import de.zeltlager.kuechenplaner.backup.BackupService;
+import de.zeltlager.kuechenplaner.logic.ChangeEvent;
+import de.zeltlager.kuechenplaner.logic.ChangeEventBus;
+import de.zeltlager.kuechenplaner.ui.BackgroundExecutor;
+import de.zeltlager.kuechenplaner.ui.BackgroundTasks;
+import de.zeltlager.kuechenplaner.ui.RefreshScheduler;
 import de.zeltlager.kuechenplaner.ui.UiTheme;
 import de.zeltlager.kuechenplaner.user.UserContext;
 
@@ -14,12 +19,15 @@ import java.awt.event.WindowEvent;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
 
 import javax.swing.Box;
 import javax.swing.ButtonGroup;
+import javax.swing.JCheckBox;
 import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
@@ -55,6 +63,9 @@ public class MainWindow {
     private final SettingsPanel settingsPanel;
     private final BackupService backupService;
     private final UserContext userContext;
+    private final ChangeEventBus changeEventBus;
+    private final BackgroundTasks tasks;
+    private final RefreshScheduler<View> refreshScheduler = new RefreshScheduler<>();
     private final List<Runnable> windowClosedListeners = new CopyOnWriteArrayList<>();
 
     public MainWindow(MenuPlanPanel menuPlanPanel,
@@ -64,7 +75,9 @@ public class MainWindow {
             ImportExportPanel importExportPanel,
             BackupService backupService,
             SettingsPanel settingsPanel,
-            UserContext userContext) {
+            UserContext userContext,
+            ChangeEventBus changeEventBus,
+            BackgroundExecutor backgroundExecutor) {
         this.menuPlanPanel = Objects.requireNonNull(menuPlanPanel, "menuPlanPanel");
         this.inventoryPanel = Objects.requireNonNull(inventoryPanel, "inventoryPanel");
         this.recipePanel = Objects.requireNonNull(recipePanel, "recipePanel");
@@ -73,6 +86,8 @@ public class MainWindow {
         this.backupService = Objects.requireNonNull(backupService, "backupService");
         this.settingsPanel = Objects.requireNonNull(settingsPanel, "settingsPanel");
         this.userContext = Objects.requireNonNull(userContext, "userContext");
+        this.changeEventBus = Objects.requireNonNull(changeEventBus, "changeEventBus");
+        this.tasks = Objects.requireNonNull(backgroundExecutor, "backgroundExecutor").newTasks();
 
         frame = new JFrame("Zeltlager Küchenplaner");
         frame.setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
@@ -83,13 +98,7 @@ public class MainWindow {
 
         settingsPanel.setOpaque(false);
 
-        menuPlanPanel.setMenuPlanUpdatedListener(shoppingListPanel::reloadData);
-        recipePanel.setRecipesUpdatedListener(shoppingListPanel::reloadData);
-        importExportPanel.setRecipesUpdatedListener(() -> {
-            recipePanel.reloadData();
-            shoppingListPanel.reloadData();
-        });
-        settingsPanel.setUsersReloadRequestedListener(this::reloadAllData);
+        settingsPanel.setUsersReloadRequestedListener(refreshScheduler::markAllDirty);
 
         frame.addWindowListener(new WindowAdapter() {
             @Override
@@ -115,7 +124,14 @@ public class MainWindow {
         frame.getContentPane().add(createNavigation(), BorderLayout.WEST);
         frame.getContentPane().add(contentPanel, BorderLayout.CENTER);
 
-        userContext.addListener(username -> SwingUtilities.invokeLater(this::reloadAllData));
+        refreshScheduler.register(View.RECIPES, recipePanel::reloadData);
+        refreshScheduler.register(View.PLANNER, menuPlanPanel::reloadData);
+        refreshScheduler.register(View.SHOPPING_LIST, shoppingListPanel::reloadData);
+        refreshScheduler.register(View.INVENTORY, inventoryPanel::reloadData);
+        refreshScheduler.register(View.SETTINGS, settingsPanel::refreshUsers);
+
+        userContext.addListener(username -> SwingUtilities.invokeLater(refreshScheduler::markAllDirty));
+        changeEventBus.addListener(event -> SwingUtilities.invokeLater(() -> applyChange(event)));
         settingsPanel.refreshUsers();
     }
 
@@ -125,8 +141,8 @@ public class MainWindow {
         frame.setVisible(true);
 
         SwingUtilities.invokeLater(() -> {
+            refreshScheduler.markAllDirty();
             showView(View.RECIPES);
-            reloadAllData();
         });
     }
 
@@ -139,8 +155,14 @@ public class MainWindow {
 
         JMenu fileMenu = new JMenu("Datei");
         JMenuItem backupItem = new JMenuItem("Backup erstellen...");
-        backupItem.addActionListener(this::showBackupDialog);
+        backupItem.addActionListener(event -> showBackupDialog(false));
         fileMenu.add(backupItem);
+        JMenuItem incrementalBackupItem = new JMenuItem("Inkrementelles Backup erstellen...");
+        incrementalBackupItem.addActionListener(event -> showBackupDialog(true));
+        fileMenu.add(incrementalBackupItem);
+        JMenuItem restoreItem = new JMenuItem("Backup wiederherstellen...");
+        restoreItem.addActionListener(this::showRestoreDialog);
+        fileMenu.add(restoreItem);
         JMenuItem exitItem = new JMenuItem("Beenden");
         exitItem.addActionListener(event -> frame.dispose());
         fileMenu.add(exitItem);
@@ -212,6 +234,7 @@ public class MainWindow {
 
     private void showView(View view) {
         contentLayout.show(contentPanel, view.name());
+        refreshScheduler.show(view);
     }
 
     private void showAboutDialog() {
@@ -225,14 +248,26 @@ public class MainWindow {
         JOptionPane.showMessageDialog(frame, message, "Fehler", JOptionPane.ERROR_MESSAGE);
     }
 
-    private void showBackupDialog(ActionEvent event) {
+    private void showBackupDialog(boolean incremental) {
+        Path previousBackup = null;
+        if (incremental) {
+            JFileChooser previousChooser = new JFileChooser();
+            previousChooser.setDialogTitle("Vorheriges Backup auswählen");
+            if (previousChooser.showOpenDialog(frame) != JFileChooser.APPROVE_OPTION) {
+                return;
+            }
+            previousBackup = previousChooser.getSelectedFile().toPath();
+        }
+
         JFileChooser fileChooser = new JFileChooser();
         fileChooser.setDialogTitle("Backup speichern");
 
         String defaultBaseName = "kuechenplaner";
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd-MM-yyyy-HHmm"));
-        String suggestedName = defaultBaseName + "-backup-" + timestamp + ".json";
+        String suggestedName = defaultBaseName + (incremental ? "-inkrementell-" : "-backup-") + timestamp + ".json";
         fileChooser.setSelectedFile(new java.io.File(suggestedName));
+        JCheckBox compressCheckBox = new JCheckBox("Komprimieren (gzip)");
+        fileChooser.setAccessory(compressCheckBox);
 
         int userSelection = fileChooser.showSaveDialog(frame);
         if (userSelection != JFileChooser.APPROVE_OPTION) {
@@ -240,8 +275,13 @@ public class MainWindow {
         }
 
         Path targetPath = fileChooser.getSelectedFile().toPath();
+        if (compressCheckBox.isSelected() && !targetPath.getFileName().toString().endsWith(".gz")) {
+            targetPath = targetPath.resolveSibling(targetPath.getFileName() + ".gz");
+        }
         try {
-            Path writtenFile = backupService.createBackup(targetPath);
+            Path writtenFile = incremental
+                    ? backupService.createIncrementalBackup(targetPath, previousBackup)
+                    : backupService.createBackup(targetPath);
             JOptionPane.showMessageDialog(frame,
                     "Backup erfolgreich erstellt:\n" + writtenFile,
                     "Backup abgeschlossen",
@@ -251,12 +291,65 @@ public class MainWindow {
         }
     }
 
-    private void reloadAllData() {
-        menuPlanPanel.reloadData();
-        inventoryPanel.reloadData();
-        recipePanel.reloadData();
-        shoppingListPanel.reloadData();
-        settingsPanel.refreshUsers();
+    private void showRestoreDialog(ActionEvent event) {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Backup wiederherstellen");
+        fileChooser.setMultiSelectionEnabled(true);
+        if (fileChooser.showOpenDialog(frame) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        // The backup service orders a full backup and its increments by their headers.
+        List<Path> chain = Arrays.stream(fileChooser.getSelectedFiles())
+                .map(java.io.File::toPath)
+                .collect(Collectors.toUnmodifiableList());
+
+        int confirmation = JOptionPane.showConfirmDialog(frame,
+                "Die Daten aus dem Backup werden zu den vorhandenen Daten hinzugefügt. Fortfahren?",
+                "Backup wiederherstellen",
+                JOptionPane.YES_NO_OPTION);
+        if (confirmation != JOptionPane.YES_OPTION) {
+            return;
+        }
+        JMenuItem restoreItem = (JMenuItem) event.getSource();
+        restoreItem.setEnabled(false);
+        tasks.run(() -> backupService.restoreBackups(chain), summary -> {
+            restoreItem.setEnabled(true);
+            refreshScheduler.markAllDirty();
+            JOptionPane.showMessageDialog(frame,
+                    "Backup wiederhergestellt:\n"
+                            + summary.recipes() + " Rezepte, "
+                            + summary.menuPlanEntries() + " Menüeinträge, "
+                            + summary.inventoryItems() + " Lagerbestände",
+                    "Wiederherstellung abgeschlossen",
+                    JOptionPane.INFORMATION_MESSAGE);
+        }, error -> {
+            restoreItem.setEnabled(true);
+            refreshScheduler.markAllDirty();
+            showErrorDialog("Wiederherstellung fehlgeschlagen: " + error.getMessage());
+        });
+    }
+
+    /**
+     * Routes a change to the panels showing the affected rows, so they update those rows instead
+     * of reloading everything. Panels that cannot update in place are marked dirty and reload
+     * through the {@link RefreshScheduler}.
+     */
+    private void applyChange(ChangeEvent event) {
+        if (event instanceof ChangeEvent.RecipesChanged recipesChanged) {
+            if (recipePanel.applyRecipesChanged(recipesChanged)) {
+                refreshScheduler.markDirty(View.RECIPES);
+            }
+            if (shoppingListPanel.isAffectedBy(recipesChanged)) {
+                refreshScheduler.markDirty(View.SHOPPING_LIST);
+            }
+        } else if (event instanceof ChangeEvent.MenuPlanChanged menuPlanChanged) {
+            menuPlanPanel.applyMenuPlanChanged(menuPlanChanged);
+            if (shoppingListPanel.applyMenuPlanChanged(menuPlanChanged)) {
+                refreshScheduler.markDirty(View.SHOPPING_LIST);
+            }
+        } else if (event instanceof ChangeEvent.InventoryChanged inventoryChanged) {
+            inventoryPanel.applyInventoryChanged(inventoryChanged);
+        }
     }
 
     private enum View {
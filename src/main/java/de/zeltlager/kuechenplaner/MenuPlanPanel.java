@@ -2,6 +2,7 @@ package de.zeltlager.kuechenplaner;
 
 import de.zeltlager.kuechenplaner.data.model.Meal;
 import de.zeltlager.kuechenplaner.data.model.MenuPlanEntry;
+import de.zeltlager.kuechenplaner.logic.ChangeEvent;
 import de.zeltlager.kuechenplaner.logic.MenuPlanService;
 
 import java.awt.BorderLayout;
@@ -9,7 +10,6 @@ import java.awt.FlowLayout;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.List;
 import java.util.Objects;
 
 import javax.swing.JButton;
@@ -22,11 +22,12 @@ import javax.swing.JSpinner;
 import javax.swing.JTable;
 import javax.swing.JTextField;
 import javax.swing.SpinnerNumberModel;
-import javax.swing.SwingWorker;
 import javax.swing.border.EmptyBorder;
 
 import org.springframework.stereotype.Component;
 
+import de.zeltlager.kuechenplaner.ui.BackgroundExecutor;
+import de.zeltlager.kuechenplaner.ui.BackgroundTasks;
 import de.zeltlager.kuechenplaner.ui.UiTheme;
 
 /**
@@ -38,6 +39,7 @@ public class MenuPlanPanel extends JPanel {
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy");
 
     private final MenuPlanService menuPlanService;
+    private final BackgroundTasks tasks;
     private final MenuPlanTableModel tableModel;
     private final JTable table;
     private final JButton reloadButton;
@@ -47,12 +49,12 @@ public class MenuPlanPanel extends JPanel {
     private final JTextField mealField;
     private final JSpinner servingsSpinner;
     private final JLabel statusLabel;
-    private Runnable menuPlanUpdatedListener;
     private boolean deleteInProgress;
 
-    public MenuPlanPanel(MenuPlanService menuPlanService) {
+    public MenuPlanPanel(MenuPlanService menuPlanService, BackgroundExecutor backgroundExecutor) {
         super(new BorderLayout(16, 16));
         this.menuPlanService = Objects.requireNonNull(menuPlanService, "menuPlanService");
+        this.tasks = Objects.requireNonNull(backgroundExecutor, "backgroundExecutor").newTasks();
         this.tableModel = new MenuPlanTableModel();
 
         setOpaque(false);
@@ -130,32 +132,36 @@ public class MenuPlanPanel extends JPanel {
     public void reloadData() {
         reloadButton.setEnabled(false);
         statusLabel.setText("Aktualisiere...");
-        new SwingWorker<List<MenuPlanEntry>, Void>() {
-            @Override
-            protected List<MenuPlanEntry> doInBackground() {
-                return menuPlanService.getMenuPlan();
-            }
+        tasks.runLatest("reload", menuPlanService::getMenuPlan, entries -> {
+            tableModel.setEntries(entries);
+            updateStatusLabel();
+            table.clearSelection();
+            deleteInProgress = false;
+            updateDeleteButtonState();
+            reloadButton.setEnabled(true);
+        }, error -> {
+            showError("Menüplan konnte nicht geladen werden: " + error.getMessage());
+            statusLabel.setText("Fehler beim Laden");
+            deleteInProgress = false;
+            updateDeleteButtonState();
+            reloadButton.setEnabled(true);
+        });
+    }
 
-            @Override
-            protected void done() {
-                try {
-                    List<MenuPlanEntry> entries = get();
-                    tableModel.setEntries(entries);
-                    statusLabel.setText(entries.isEmpty() ? "Keine Einträge vorhanden" : entries.size() + " Einträge");
-                    table.clearSelection();
-                    deleteInProgress = false;
-                    updateDeleteButtonState();
-                    notifyMenuPlanUpdated();
-                } catch (Exception e) {
-                    showError("Menüplan konnte nicht geladen werden: " + e.getMessage());
-                    statusLabel.setText("Fehler beim Laden");
-                    deleteInProgress = false;
-                    updateDeleteButtonState();
-                } finally {
-                    reloadButton.setEnabled(true);
-                }
+    /**
+     * Inserts or removes the rows of changed entries instead of reloading the whole plan.
+     */
+    public void applyMenuPlanChanged(ChangeEvent.MenuPlanChanged event) {
+        for (MenuPlanEntry entry : event.entries()) {
+            if (event.type() == ChangeEvent.Type.DELETED) {
+                tableModel.removeEntry(entry);
+            } else {
+                tableModel.addEntry(entry);
             }
-        }.execute();
+        }
+        if (!deleteInProgress) {
+            updateStatusLabel();
+        }
     }
 
     private void addEntry() {
@@ -177,26 +183,14 @@ public class MenuPlanPanel extends JPanel {
         MenuPlanEntry entry = new MenuPlanEntry(date, new Meal(mealName, servings));
 
         toggleFormEnabled(false);
-        new SwingWorker<Void, Void>() {
-            @Override
-            protected Void doInBackground() {
-                menuPlanService.addMenuPlanEntry(entry);
-                return null;
-            }
-
-            @Override
-            protected void done() {
-                toggleFormEnabled(true);
-                try {
-                    get();
-                    mealField.setText("");
-                    servingsSpinner.setValue(servings);
-                    reloadData();
-                } catch (Exception e) {
-                    showError("Eintrag konnte nicht gespeichert werden: " + e.getMessage());
-                }
-            }
-        }.execute();
+        tasks.run(() -> menuPlanService.addMenuPlanEntry(entry), saved -> {
+            toggleFormEnabled(true);
+            mealField.setText("");
+            servingsSpinner.setValue(servings);
+        }, error -> {
+            toggleFormEnabled(true);
+            showError("Eintrag konnte nicht gespeichert werden: " + error.getMessage());
+        });
     }
 
     private void deleteSelectedEntry() {
@@ -227,30 +221,22 @@ public class MenuPlanPanel extends JPanel {
         updateDeleteButtonState();
         reloadButton.setEnabled(false);
 
-        new SwingWorker<Void, Void>() {
-            @Override
-            protected Void doInBackground() {
-                menuPlanService.deleteMenuPlanEntry(entry);
-                return null;
-            }
-
-            @Override
-            protected void done() {
-                try {
-                    get();
-                    table.clearSelection();
-                    deleteInProgress = false;
-                    updateDeleteButtonState();
-                    reloadData();
-                } catch (Exception e) {
-                    deleteInProgress = false;
-                    showError("Eintrag konnte nicht gelöscht werden: " + e.getMessage());
-                    statusLabel.setText("Fehler beim Löschen");
-                    reloadButton.setEnabled(true);
-                    updateDeleteButtonState();
-                }
-            }
-        }.execute();
+        tasks.run(() -> {
+            menuPlanService.deleteMenuPlanEntry(entry);
+            return null;
+        }, ignored -> {
+            table.clearSelection();
+            deleteInProgress = false;
+            updateDeleteButtonState();
+            updateStatusLabel();
+            reloadButton.setEnabled(true);
+        }, error -> {
+            deleteInProgress = false;
+            showError("Eintrag konnte nicht gelöscht werden: " + error.getMessage());
+            statusLabel.setText("Fehler beim Löschen");
+            updateDeleteButtonState();
+            reloadButton.setEnabled(true);
+        });
     }
 
     private void toggleFormEnabled(boolean enabled) {
@@ -260,6 +246,11 @@ public class MenuPlanPanel extends JPanel {
         servingsSpinner.setEnabled(enabled);
     }
 
+    private void updateStatusLabel() {
+        int count = tableModel.getRowCount();
+        statusLabel.setText(count == 0 ? "Keine Einträge vorhanden" : count + " Einträge");
+    }
+
     private void updateDeleteButtonState() {
         boolean hasSelection = table.getSelectedRow() >= 0;
         deleteButton.setEnabled(hasSelection && !deleteInProgress);
@@ -268,14 +259,4 @@ public class MenuPlanPanel extends JPanel {
     private void showError(String message) {
         JOptionPane.showMessageDialog(this, message, "Fehler", JOptionPane.ERROR_MESSAGE);
     }
-
-    public void setMenuPlanUpdatedListener(Runnable listener) {
-        this.menuPlanUpdatedListener = listener;
-    }
-
-    private void notifyMenuPlanUpdated() {
-        if (menuPlanUpdatedListener != null) {
-            menuPlanUpdatedListener.run();
-        }
-    }
 }
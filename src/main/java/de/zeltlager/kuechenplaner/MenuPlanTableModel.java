@@ -5,6 +5,7 @@ import de.zeltlager.kuechenplaner.data.model.MenuPlanEntry;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 import javax.swing.table.AbstractTableModel;
 
@@ -24,6 +25,36 @@ public class MenuPlanTableModel extends AbstractTableModel {
         fireTableDataChanged();
     }
 
+    /**
+     * Inserts an entry after the entries of the same or an earlier date, keeping the date order of
+     * {@link #setEntries(List)}.
+     */
+    public void addEntry(MenuPlanEntry entry) {
+        int row = entries.size();
+        while (row > 0 && entries.get(row - 1).getDate().isAfter(entry.getDate())) {
+            row--;
+        }
+        entries.add(row, entry);
+        fireTableRowsInserted(row, row);
+    }
+
+    /**
+     * Removes the rows matching the entry the way a delete does: by date, meal name ignoring case
+     * and servings.
+     */
+    public void removeEntry(MenuPlanEntry entry) {
+        String mealName = entry.getMeal().getName().trim().toLowerCase(Locale.ROOT);
+        for (int row = entries.size() - 1; row >= 0; row--) {
+            MenuPlanEntry candidate = entries.get(row);
+            if (candidate.getDate().equals(entry.getDate())
+                    && candidate.getMeal().getServings() == entry.getMeal().getServings()
+                    && candidate.getMeal().getName().trim().toLowerCase(Locale.ROOT).equals(mealName)) {
+                entries.remove(row);
+                fireTableRowsDeleted(row, row);
+            }
+        }
+    }
+
     @Override
     public int getRowCount() {
         return entries.size();
@@ -2,7 +2,9 @@ package de.zeltlager.kuechenplaner;
 
 import de.zeltlager.kuechenplaner.data.model.Ingredient;
 import de.zeltlager.kuechenplaner.data.model.Recipe;
+import de.zeltlager.kuechenplaner.data.model.RecipeSummary;
 import de.zeltlager.kuechenplaner.data.model.RecipeWithIngredients;
+import de.zeltlager.kuechenplaner.logic.ChangeEvent;
 import de.zeltlager.kuechenplaner.logic.RecipeService;
 
 import java.awt.BorderLayout;
@@ -20,6 +22,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.Optional;
 
 import javax.swing.DefaultListModel;
 import javax.swing.JButton;
@@ -36,7 +39,7 @@ import javax.swing.JTextArea;
 import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
 import javax.swing.SpinnerNumberModel;
-import javax.swing.SwingWorker;
+import javax.swing.Timer;
 import javax.swing.border.EmptyBorder;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
@@ -44,6 +47,8 @@ import javax.swing.filechooser.FileNameExtensionFilter;
 
 import org.springframework.stereotype.Component;
 
+import de.zeltlager.kuechenplaner.ui.BackgroundExecutor;
+import de.zeltlager.kuechenplaner.ui.BackgroundTasks;
 import de.zeltlager.kuechenplaner.ui.UiTheme;
 
 /**
@@ -52,7 +57,10 @@ import de.zeltlager.kuechenplaner.ui.UiTheme;
 @Component
 public class RecipePanel extends JPanel {
 
+    private static final int SEARCH_DEBOUNCE_MILLIS = 150;
+
     private final RecipeService recipeService;
+    private final BackgroundTasks tasks;
     private final RecipeTableModel tableModel;
     private final JTable recipeTable;
     private final JButton reloadButton;
@@ -61,6 +69,7 @@ public class RecipePanel extends JPanel {
     private final JButton exportButton;
     private final JLabel statusLabel;
     private final JTextField searchField;
+    private final Timer searchDebounceTimer;
 
     private final JTextField nameField;
     private final JTextField categoryField;
@@ -72,20 +81,20 @@ public class RecipePanel extends JPanel {
     private final JButton editButton;
 
     private RecipeWithIngredients selectedRecipe;
-    private javax.swing.SwingWorker<RecipeWithIngredients, Void> loadRecipeWorker;
+    private String activeQuery = "";
     private boolean suppressTargetServingsChange;
-    private Runnable recipesUpdatedListener;
 
-    public RecipePanel(RecipeService recipeService) {
+    public RecipePanel(RecipeService recipeService, BackgroundExecutor backgroundExecutor) {
         super(new BorderLayout(16, 16));
         this.recipeService = Objects.requireNonNull(recipeService, "recipeService");
+        this.tasks = Objects.requireNonNull(backgroundExecutor, "backgroundExecutor").newTasks();
         this.tableModel = new RecipeTableModel();
+        tableModel.setPageRequestListener(this::loadPage);
 
         setOpaque(false);
         setBorder(new EmptyBorder(0, 0, 0, 0));
 
         recipeTable = new JTable(tableModel);
-        recipeTable.setAutoCreateRowSorter(true);
         recipeTable.setFillsViewportHeight(true);
         recipeTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         recipeTable.getSelectionModel().addListSelectionListener(event -> {
@@ -116,20 +125,22 @@ public class RecipePanel extends JPanel {
         searchField.getDocument().addDocumentListener(new DocumentListener() {
             @Override
             public void insertUpdate(DocumentEvent event) {
-                filterRecipes();
+                searchDebounceTimer.restart();
             }
 
             @Override
             public void removeUpdate(DocumentEvent event) {
-                filterRecipes();
+                searchDebounceTimer.restart();
             }
 
             @Override
             public void changedUpdate(DocumentEvent event) {
-                filterRecipes();
+                searchDebounceTimer.restart();
             }
         });
-        searchField.setToolTipText("Rezepte nach Namen oder Kategorien durchsuchen");
+        searchDebounceTimer = new Timer(SEARCH_DEBOUNCE_MILLIS, event -> startSearch());
+        searchDebounceTimer.setRepeats(false);
+        searchField.setToolTipText("Rezepte nach Namen, Anleitung oder Zutaten durchsuchen");
 
         statusLabel = new JLabel("Bereit");
         statusLabel.setForeground(UiTheme.TEXT_MUTED);
@@ -290,37 +301,81 @@ public class RecipePanel extends JPanel {
         exportButton.setEnabled(false);
         statusLabel.setText("Aktualisiere...");
         updateDetailEnabled(false);
-        cancelRecipeLoadWorker();
+        tasks.cancel("recipe");
         Long selectedId = selectedRecipe != null ? selectedRecipe.getRecipe().getId().orElse(null) : null;
-        new SwingWorker<List<RecipeWithIngredients>, Void>() {
-            @Override
-            protected List<RecipeWithIngredients> doInBackground() {
-                return recipeService.getAllRecipes();
-            }
+        String query = searchField.getText().trim();
+        tasks.runLatest("reload", () -> fetchFirstPage(query), firstPage -> {
+            // A pending search would replace the rows with an older result.
+            cancelSearch();
+            showFirstPage(query, firstPage);
+            restoreSelection(selectedId);
+            enableActions();
+        }, error -> {
+            showError("Rezepte konnten nicht geladen werden: " + error.getMessage());
+            statusLabel.setText("Fehler beim Laden");
+            tableModel.clear();
+            clearSelection();
+            updateStatusLabel();
+            enableActions();
+        });
+    }
 
-            @Override
-            protected void done() {
-                try {
-                    List<RecipeWithIngredients> recipes = get();
-                    tableModel.setRecipes(recipes);
-                    applyCurrentFilter();
-                    updateStatusLabel();
-                    restoreSelection(selectedId);
-                    notifyRecipesUpdated();
-                } catch (Exception e) {
-                    showError("Rezepte konnten nicht geladen werden: " + e.getMessage());
-                    statusLabel.setText("Fehler beim Laden");
-                    tableModel.setRecipes(List.of());
-                    clearSelection();
-                    updateStatusLabel();
-                } finally {
-                    reloadButton.setEnabled(true);
-                    newButton.setEnabled(true);
-                    importButton.setEnabled(true);
-                    exportButton.setEnabled(true);
-                }
-            }
-        }.execute();
+    /**
+     * Updates changed rows in place and returns whether the shown rows need a reload instead.
+     * Created, deleted or renamed recipes shift rows and change the count, and search results may
+     * change with any edit.
+     */
+    public boolean applyRecipesChanged(ChangeEvent.RecipesChanged event) {
+        boolean inPlace = event.type() == ChangeEvent.Type.UPDATED && activeQuery.isEmpty();
+        for (RecipeSummary summary : event.recipes()) {
+            inPlace &= tableModel.updateSummary(summary);
+        }
+        return !inPlace;
+    }
+
+    /**
+     * Loads the recipe count and the first page of the overview; a non-blank query pages through
+     * the search results instead of all recipes, matching parts of words as well, e.g. "kart" for
+     * "Kartoffelsalat".
+     */
+    private RecipePage fetchFirstPage(String query) {
+        long total = recipeService.countRecipes();
+        return new RecipePage(total, fetchPage(query, 0));
+    }
+
+    private List<RecipeSummary> fetchPage(String query, int page) {
+        if (query.isEmpty()) {
+            return recipeService.getRecipeSummaries(page, RecipeTableModel.PAGE_SIZE);
+        }
+        return recipeService.searchSummaries(query, RecipeTableModel.PAGE_SIZE, page * RecipeTableModel.PAGE_SIZE);
+    }
+
+    private void showFirstPage(String query, RecipePage firstPage) {
+        activeQuery = query;
+        tableModel.setTotalRecipeCount(firstPage.total());
+        if (query.isEmpty()) {
+            tableModel.showRows((int) Math.min(firstPage.total(), Integer.MAX_VALUE), firstPage.rows());
+        } else {
+            tableModel.showOpenEndedRows(firstPage.rows());
+        }
+        updateStatusLabel();
+    }
+
+    /**
+     * Loads a page the table is about to show. A request for the same page of newer rows
+     * supersedes an older one, and pages arriving after the rows were replaced are dropped by the
+     * table model.
+     */
+    private void loadPage(int page) {
+        int generation = tableModel.getGeneration();
+        String query = activeQuery;
+        tasks.runLatest("page-" + page, () -> fetchPage(query, page), rows -> {
+            tableModel.addPage(generation, page, rows);
+            updateStatusLabel();
+        }, error -> {
+            tableModel.pageFailed(generation, page);
+            statusLabel.setText("Fehler beim Laden");
+        });
     }
 
     private void restoreSelection(Long selectedId) {
@@ -328,58 +383,34 @@ public class RecipePanel extends JPanel {
             clearSelection();
             return;
         }
-        if (selectedId != null) {
-            for (int i = 0; i < tableModel.getRowCount(); i++) {
-                Recipe recipe = tableModel.getRecipeAt(i).getRecipe();
-                if (recipe.getId().isPresent() && Objects.equals(recipe.getId().get(), selectedId)) {
-                    int viewIndex = recipeTable.convertRowIndexToView(i);
-                    recipeTable.getSelectionModel().setSelectionInterval(viewIndex, viewIndex);
-                    return;
-                }
-            }
+        int row = selectedId != null ? tableModel.findRow(selectedId) : -1;
+        if (row < 0) {
+            row = 0;
         }
-        recipeTable.getSelectionModel().setSelectionInterval(0, 0);
+        recipeTable.getSelectionModel().setSelectionInterval(row, row);
+        recipeTable.scrollRectToVisible(recipeTable.getCellRect(row, 0, true));
     }
 
     private void updateSelectionFromTable() {
-        int viewIndex = recipeTable.getSelectedRow();
-        if (viewIndex < 0) {
+        int row = recipeTable.getSelectedRow();
+        Optional<RecipeSummary> summary = row < 0 ? Optional.empty() : tableModel.getSummaryAt(row);
+        if (summary.isEmpty()) {
             clearSelection();
             return;
         }
-        int modelIndex = recipeTable.convertRowIndexToModel(viewIndex);
-        RecipeWithIngredients recipe = tableModel.getRecipeAt(modelIndex);
-        long recipeId = recipe.getRecipe().getId().orElseThrow();
+        long recipeId = summary.get().getId();
 
         updateDetailEnabled(false);
-        cancelRecipeLoadWorker();
-        loadRecipeWorker = new SwingWorker<>() {
-            @Override
-            protected RecipeWithIngredients doInBackground() {
-                return recipeService.getRecipe(recipeId)
-                        .orElseThrow(() -> new IllegalStateException("Rezept nicht gefunden"));
-            }
-
-            @Override
-            protected void done() {
-                try {
-                    if (isCancelled()) {
-                        return;
-                    }
-                    RecipeWithIngredients loaded = get();
-                    selectedRecipe = loaded;
-                    populateDetailFields(loaded);
-                    updateDetailEnabled(true);
-                } catch (Exception e) {
-                    showError("Rezept konnte nicht geladen werden: " + e.getMessage());
-                    statusLabel.setText("Fehler beim Laden");
-                    clearSelection();
-                } finally {
-                    loadRecipeWorker = null;
-                }
-            }
-        };
-        loadRecipeWorker.execute();
+        tasks.runLatest("recipe", () -> recipeService.getRecipe(recipeId)
+                .orElseThrow(() -> new IllegalStateException("Rezept nicht gefunden")), loaded -> {
+            selectedRecipe = loaded;
+            populateDetailFields(loaded);
+            updateDetailEnabled(true);
+        }, error -> {
+            showError("Rezept konnte nicht geladen werden: " + error.getMessage());
+            statusLabel.setText("Fehler beim Laden");
+            clearSelection();
+        });
     }
 
     private void populateDetailFields(RecipeWithIngredients recipe) {
@@ -408,37 +439,39 @@ public class RecipePanel extends JPanel {
         ingredientListModel.clear();
         ingredientHeaderLabel.setText("Zutaten:");
         updateDetailEnabled(false);
-        cancelRecipeLoadWorker();
+        tasks.cancel("recipe");
     }
 
-    private void filterRecipes() {
-        Long selectedId = selectedRecipe != null && selectedRecipe.getRecipe().getId().isPresent()
-                ? selectedRecipe.getRecipe().getId().get()
-                : null;
-        applyCurrentFilter();
-        if (tableModel.getRowCount() == 0) {
-            clearSelection();
-        } else if (selectedId != null) {
+    /**
+     * Runs the database search in the background once typing pauses and shows the first page of
+     * matches. Only the newest search publishes its result; older ones are superseded.
+     */
+    private void startSearch() {
+        searchDebounceTimer.stop();
+        String query = searchField.getText().trim();
+        tasks.runLatest("search", () -> fetchFirstPage(query), firstPage -> {
+            Long selectedId = selectedRecipe != null ? selectedRecipe.getRecipe().getId().orElse(null) : null;
+            showFirstPage(query, firstPage);
             restoreSelection(selectedId);
-        } else {
-            restoreSelection(null);
-        }
-        updateStatusLabel();
+        }, error -> showError("Suche fehlgeschlagen: " + error.getMessage()));
     }
 
-    private void applyCurrentFilter() {
-        tableModel.setFilter(searchField.getText());
+    private void cancelSearch() {
+        searchDebounceTimer.stop();
+        tasks.cancel("search");
     }
 
     private void updateStatusLabel() {
-        int total = tableModel.getTotalRecipeCount();
-        int visible = tableModel.getRowCount();
+        long total = tableModel.getTotalRecipeCount();
+        int visible = tableModel.hasMoreRows() ? tableModel.getRowCount() - 1 : tableModel.getRowCount();
         if (total == 0) {
             statusLabel.setText("Keine Rezepte vorhanden");
         } else if (visible == 0) {
             statusLabel.setText("Keine Treffer");
-        } else if (visible == total) {
+        } else if (activeQuery.isEmpty()) {
             statusLabel.setText(total == 1 ? "1 Rezept" : total + " Rezepte");
+        } else if (tableModel.hasMoreRows()) {
+            statusLabel.setText("Mehr als " + visible + " von " + total + " Rezepten");
         } else {
             statusLabel.setText(visible + " von " + total + " Rezepten");
         }
@@ -522,42 +555,30 @@ public class RecipePanel extends JPanel {
         newButton.setEnabled(false);
         exportButton.setEnabled(false);
 
-        new SwingWorker<List<RecipeWithIngredients>, Void>() {
-            @Override
-            protected List<RecipeWithIngredients> doInBackground() throws Exception {
-                try (var reader = Files.newBufferedReader(finalImportPath, StandardCharsets.UTF_8)) {
-                    return recipeService.importRecipes(reader, finalFormat);
-                }
+        tasks.run(() -> {
+            try (var reader = Files.newBufferedReader(finalImportPath, StandardCharsets.UTF_8)) {
+                return recipeService.importRecipes(reader, finalFormat);
             }
-
-            @Override
-            protected void done() {
-                try {
-                    List<RecipeWithIngredients> imported = get();
-                    String message;
-                    if (imported.isEmpty()) {
-                        message = "Keine Rezepte wurden importiert.";
-                    } else if (imported.size() == 1) {
-                        message = "1 Rezept wurde importiert.";
-                    } else {
-                        message = imported.size() + " Rezepte wurden importiert.";
-                    }
-                    JOptionPane.showMessageDialog(RecipePanel.this,
-                            message,
-                            "Import abgeschlossen",
-                            JOptionPane.INFORMATION_MESSAGE);
-                    reloadData();
-                } catch (Exception e) {
-                    Throwable cause = e.getCause() != null ? e.getCause() : e;
-                    showError("Rezepte konnten nicht importiert werden: " + cause.getMessage());
-                    statusLabel.setText("Import fehlgeschlagen");
-                    importButton.setEnabled(true);
-                    reloadButton.setEnabled(true);
-                    newButton.setEnabled(true);
-                    exportButton.setEnabled(true);
-                }
+        }, imported -> {
+            String message;
+            if (imported.isEmpty()) {
+                message = "Keine Rezepte wurden importiert.";
+            } else if (imported.size() == 1) {
+                message = "1 Rezept wurde importiert.";
+            } else {
+                message = imported.size() + " Rezepte wurden importiert.";
             }
-        }.execute();
+            statusLabel.setText(message);
+            enableActions();
+            JOptionPane.showMessageDialog(RecipePanel.this,
+                    message,
+                    "Import abgeschlossen",
+                    JOptionPane.INFORMATION_MESSAGE);
+        }, error -> {
+            showError("Rezepte konnten nicht importiert werden: " + error.getMessage());
+            statusLabel.setText("Import fehlgeschlagen");
+            enableActions();
+        });
     }
 
     private void openExportDialog() {
@@ -607,29 +628,19 @@ public class RecipePanel extends JPanel {
         statusLabel.setText("Exportiere...");
         exportButton.setEnabled(false);
 
-        new SwingWorker<Void, Void>() {
-            @Override
-            protected Void doInBackground() throws Exception {
-                try (var writer = Files.newBufferedWriter(finalExportPath, StandardCharsets.UTF_8)) {
-                    recipeService.exportRecipes(writer, finalFormat);
-                }
-                return null;
+        tasks.run(() -> {
+            try (var writer = Files.newBufferedWriter(finalExportPath, StandardCharsets.UTF_8)) {
+                recipeService.exportRecipes(writer, finalFormat);
             }
-
-            @Override
-            protected void done() {
-                try {
-                    get();
-                    statusLabel.setText("Rezepte exportiert: " + finalExportPath.getFileName());
-                } catch (Exception e) {
-                    Throwable cause = e.getCause() != null ? e.getCause() : e;
-                    showError("Rezepte konnten nicht exportiert werden: " + cause.getMessage());
-                    statusLabel.setText("Export fehlgeschlagen");
-                } finally {
-                    exportButton.setEnabled(true);
-                }
-            }
-        }.execute();
+            return null;
+        }, ignored -> {
+            statusLabel.setText("Rezepte exportiert: " + finalExportPath.getFileName());
+            exportButton.setEnabled(true);
+        }, error -> {
+            showError("Rezepte konnten nicht exportiert werden: " + error.getMessage());
+            statusLabel.setText("Export fehlgeschlagen");
+            exportButton.setEnabled(true);
+        });
     }
 
     private void submitRecipeUpdate(RecipeDetailDialog.FormData formData) {
@@ -646,37 +657,24 @@ public class RecipePanel extends JPanel {
         importButton.setEnabled(false);
         exportButton.setEnabled(false);
         statusLabel.setText("Speichere...");
-        new SwingWorker<RecipeWithIngredients, Void>() {
-            @Override
-            protected RecipeWithIngredients doInBackground() {
-                return recipeService.updateRecipe(
-                        id,
-                        formData.name(),
-                        formData.categoryId(),
-                        formData.baseServings(),
-                        formData.instructions(),
-                        ingredients);
-            }
-
-            @Override
-            protected void done() {
-                try {
-                    RecipeWithIngredients updated = get();
-                    selectedRecipe = updated;
-                    populateDetailFields(updated);
-                    statusLabel.setText("Änderungen gespeichert");
-                    reloadData();
-                } catch (Exception e) {
-                    showError("Rezept konnte nicht gespeichert werden: " + e.getMessage());
-                    statusLabel.setText("Fehler beim Speichern");
-                    updateDetailEnabled(true);
-                    reloadButton.setEnabled(true);
-                    newButton.setEnabled(true);
-                    importButton.setEnabled(true);
-                    exportButton.setEnabled(true);
-                }
-            }
-        }.execute();
+        tasks.run(() -> recipeService.updateRecipe(
+                id,
+                formData.name(),
+                formData.categoryId(),
+                formData.baseServings(),
+                formData.instructions(),
+                ingredients), updated -> {
+            selectedRecipe = updated;
+            populateDetailFields(updated);
+            statusLabel.setText("Änderungen gespeichert");
+            updateDetailEnabled(true);
+            enableActions();
+        }, error -> {
+            showError("Rezept konnte nicht gespeichert werden: " + error.getMessage());
+            statusLabel.setText("Fehler beim Speichern");
+            updateDetailEnabled(true);
+            enableActions();
+        });
     }
 
     private void submitRecipeCreation(RecipeDetailDialog.FormData formData) {
@@ -688,40 +686,29 @@ public class RecipePanel extends JPanel {
         importButton.setEnabled(false);
         exportButton.setEnabled(false);
         statusLabel.setText("Speichere...");
-        new SwingWorker<RecipeWithIngredients, Void>() {
-            @Override
-            protected RecipeWithIngredients doInBackground() {
-                return recipeService.createRecipe(
-                        formData.name(),
-                        formData.categoryId(),
-                        formData.baseServings(),
-                        formData.instructions(),
-                        ingredients);
-            }
-
-            @Override
-            protected void done() {
-                try {
-                    RecipeWithIngredients created = get();
-                    selectedRecipe = created;
-                    statusLabel.setText("Rezept gespeichert");
-                    reloadData();
-                } catch (Exception e) {
-                    showError("Rezept konnte nicht gespeichert werden: " + e.getMessage());
-                    statusLabel.setText("Fehler beim Speichern");
-                    reloadButton.setEnabled(true);
-                    newButton.setEnabled(true);
-                    importButton.setEnabled(true);
-                    exportButton.setEnabled(true);
-                    if (selectedRecipe != null) {
-                        populateDetailFields(selectedRecipe);
-                        updateDetailEnabled(true);
-                    } else {
-                        clearSelection();
-                    }
-                }
+        tasks.run(() -> recipeService.createRecipe(
+                formData.name(),
+                formData.categoryId(),
+                formData.baseServings(),
+                formData.instructions(),
+                ingredients), created -> {
+            // The reload triggered by the change event selects the new recipe.
+            selectedRecipe = created;
+            statusLabel.setText("Rezept gespeichert");
+            populateDetailFields(created);
+            updateDetailEnabled(true);
+            enableActions();
+        }, error -> {
+            showError("Rezept konnte nicht gespeichert werden: " + error.getMessage());
+            statusLabel.setText("Fehler beim Speichern");
+            enableActions();
+            if (selectedRecipe != null) {
+                populateDetailFields(selectedRecipe);
+                updateDetailEnabled(true);
+            } else {
+                clearSelection();
             }
-        }.execute();
+        });
     }
 
     private List<Ingredient> buildIngredientsForCreate(RecipeDetailDialog.FormData formData) {
@@ -753,27 +740,17 @@ public class RecipePanel extends JPanel {
         return ingredients;
     }
 
-    private void cancelRecipeLoadWorker() {
-        if (loadRecipeWorker != null) {
-            loadRecipeWorker.cancel(true);
-            loadRecipeWorker = null;
-        }
+    private void enableActions() {
+        reloadButton.setEnabled(true);
+        newButton.setEnabled(true);
+        importButton.setEnabled(true);
+        exportButton.setEnabled(true);
     }
 
     private void showError(String message) {
         JOptionPane.showMessageDialog(this, message, "Fehler", JOptionPane.ERROR_MESSAGE);
     }
 
-    public void setRecipesUpdatedListener(Runnable listener) {
-        this.recipesUpdatedListener = listener;
-    }
-
-    private void notifyRecipesUpdated() {
-        if (recipesUpdatedListener != null) {
-            recipesUpdatedListener.run();
-        }
-    }
-
     private void updateIngredientListForServings(RecipeWithIngredients recipe, int targetServings) {
         ingredientListModel.clear();
         if (recipe == null) {
@@ -811,4 +788,7 @@ public class RecipePanel extends JPanel {
             ingredientListModel.addElement(builder.toString());
         }
     }
+
+    private record RecipePage(long total, List<RecipeSummary> rows) {
+    }
 }
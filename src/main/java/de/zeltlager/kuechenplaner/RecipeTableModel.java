@@ -1,46 +1,179 @@
 package de.zeltlager.kuechenplaner;
 
-import de.zeltlager.kuechenplaner.data.model.RecipeWithIngredients;
+import de.zeltlager.kuechenplaner.data.model.RecipeSummary;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.IntConsumer;
 
 import javax.swing.table.AbstractTableModel;
 
 /**
- * Table model that exposes a compact overview of all recipes.
+ * Table model for the recipe overview that holds only the pages of {@link RecipeSummary} rows the
+ * table has asked for. Rendering a row of a missing page notifies the page request listener, which
+ * loads the page in the background and hands it to {@link #addPage(int, int, List)}.
+ * <p>
+ * The row count is either known up front, e.g. from a count query, or open ended for search
+ * results: then one placeholder row follows the loaded rows until a short page marks the end.
  */
 public class RecipeTableModel extends AbstractTableModel {
 
+    public static final int PAGE_SIZE = 100;
+
+    private static final String LOADING_TEXT = "Lädt…";
+
     private static final String[] COLUMN_NAMES = {"Name", "Basisportionen", "Zutaten"};
 
-    private final List<RecipeWithIngredients> recipes = new ArrayList<>();
-    private final List<RecipeWithIngredients> filteredRecipes = new ArrayList<>();
-    private String filterText = "";
+    private final Map<Integer, List<RecipeSummary>> pages = new HashMap<>();
+    private final Set<Integer> requestedPages = new HashSet<>();
+    private IntConsumer pageRequestListener = page -> { };
+    private int generation;
+    private int rowCount;
+    private boolean openEnded;
+    private boolean moreRows;
+    private long totalRecipeCount;
+
+    public void setPageRequestListener(IntConsumer listener) {
+        this.pageRequestListener = Objects.requireNonNull(listener, "listener");
+    }
+
+    /**
+     * Shows {@code rowCount} rows of which the first page is already loaded.
+     */
+    public void showRows(int rowCount, List<RecipeSummary> firstPage) {
+        reset(false);
+        this.rowCount = rowCount;
+        pages.put(0, List.copyOf(firstPage));
+        fireTableDataChanged();
+    }
+
+    /**
+     * Shows rows of unknown count, e.g. search results, starting with the first page.
+     */
+    public void showOpenEndedRows(List<RecipeSummary> firstPage) {
+        reset(true);
+        storeOpenEndedPage(0, List.copyOf(firstPage));
+        fireTableDataChanged();
+    }
+
+    public void clear() {
+        reset(false);
+        totalRecipeCount = 0;
+        fireTableDataChanged();
+    }
+
+    /**
+     * Changes whenever the rows are replaced; page loads started for an older generation are
+     * ignored by {@link #addPage(int, int, List)}.
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    public void addPage(int pageGeneration, int page, List<RecipeSummary> rows) {
+        if (pageGeneration != generation || pages.containsKey(page)) {
+            return;
+        }
+        List<RecipeSummary> pageRows = List.copyOf(rows);
+        if (!openEnded) {
+            pages.put(page, pageRows);
+            int firstRow = page * PAGE_SIZE;
+            if (firstRow < rowCount) {
+                fireTableRowsUpdated(firstRow, Math.min(rowCount, firstRow + PAGE_SIZE) - 1);
+            }
+            return;
+        }
+        int previousRowCount = rowCount;
+        storeOpenEndedPage(page, pageRows);
+        if (rowCount < previousRowCount) {
+            fireTableRowsDeleted(rowCount, previousRowCount - 1);
+            return;
+        }
+        // The placeholder row at the old end now shows the first row of the new page.
+        fireTableRowsUpdated(previousRowCount - 1, previousRowCount - 1);
+        if (rowCount > previousRowCount) {
+            fireTableRowsInserted(previousRowCount, rowCount - 1);
+        }
+    }
+
+    /**
+     * Forgets a failed page request so the page is requested again the next time it is shown.
+     */
+    public void pageFailed(int pageGeneration, int page) {
+        if (pageGeneration == generation) {
+            requestedPages.remove(page);
+        }
+    }
 
-    public void setRecipes(List<RecipeWithIngredients> newRecipes) {
-        recipes.clear();
-        recipes.addAll(newRecipes);
-        applyFilter();
+    /**
+     * Returns the summary shown in the given row, or an empty optional while its page is loading.
+     */
+    public Optional<RecipeSummary> getSummaryAt(int rowIndex) {
+        List<RecipeSummary> page = pages.get(rowIndex / PAGE_SIZE);
+        int index = rowIndex % PAGE_SIZE;
+        return page != null && index < page.size() ? Optional.of(page.get(index)) : Optional.empty();
     }
 
-    public void setFilter(String newFilterText) {
-        filterText = newFilterText == null ? "" : newFilterText.trim();
-        applyFilter();
+    /**
+     * Returns the row of the recipe with the given id among the loaded pages, or -1.
+     */
+    public int findRow(long recipeId) {
+        for (Map.Entry<Integer, List<RecipeSummary>> page : pages.entrySet()) {
+            List<RecipeSummary> rows = page.getValue();
+            for (int i = 0; i < rows.size(); i++) {
+                if (rows.get(i).getId() == recipeId) {
+                    return page.getKey() * PAGE_SIZE + i;
+                }
+            }
+        }
+        return -1;
     }
 
-    public RecipeWithIngredients getRecipeAt(int index) {
-        return filteredRecipes.get(index);
+    /**
+     * Replaces the loaded row of the given recipe in place, e.g. after its ingredients changed.
+     * Returns {@code false} if the recipe was renamed and may have to move, in which case the caller
+     * reloads the rows. Recipes on pages that are not loaded need no update.
+     */
+    public boolean updateSummary(RecipeSummary summary) {
+        int row = findRow(summary.getId());
+        if (row < 0) {
+            return true;
+        }
+        int page = row / PAGE_SIZE;
+        List<RecipeSummary> pageRows = new ArrayList<>(pages.get(page));
+        if (!pageRows.get(row % PAGE_SIZE).getName().equals(summary.getName())) {
+            return false;
+        }
+        pageRows.set(row % PAGE_SIZE, summary);
+        pages.put(page, List.copyOf(pageRows));
+        fireTableRowsUpdated(row, row);
+        return true;
     }
 
-    public int getTotalRecipeCount() {
-        return recipes.size();
+    /**
+     * Whether the last row is the placeholder of open-ended rows whose next page is not loaded yet.
+     */
+    public boolean hasMoreRows() {
+        return moreRows;
+    }
+
+    public void setTotalRecipeCount(long totalRecipeCount) {
+        this.totalRecipeCount = totalRecipeCount;
+    }
+
+    public long getTotalRecipeCount() {
+        return totalRecipeCount;
     }
 
     @Override
     public int getRowCount() {
-        return filteredRecipes.size();
+        return rowCount;
     }
 
     @Override
@@ -55,11 +188,21 @@ public class RecipeTableModel extends AbstractTableModel {
 
     @Override
     public Object getValueAt(int rowIndex, int columnIndex) {
-        RecipeWithIngredients recipe = filteredRecipes.get(rowIndex);
+        Optional<RecipeSummary> summary = getSummaryAt(rowIndex);
+        if (summary.isEmpty()) {
+            int page = rowIndex / PAGE_SIZE;
+            if (pages.containsKey(page)) {
+                // The page came back shorter than the count promised, e.g. after a concurrent delete.
+                return null;
+            }
+            requestPage(page);
+            return columnIndex == 0 ? LOADING_TEXT : null;
+        }
+        RecipeSummary recipe = summary.get();
         return switch (columnIndex) {
-            case 0 -> recipe.getRecipe().getName();
-            case 1 -> recipe.getRecipe().getBaseServings();
-            case 2 -> recipe.getIngredients().size();
+            case 0 -> recipe.getName();
+            case 1 -> recipe.getBaseServings();
+            case 2 -> recipe.getIngredientCount();
             default -> "";
         };
     }
@@ -72,21 +215,25 @@ public class RecipeTableModel extends AbstractTableModel {
         };
     }
 
-    private void applyFilter() {
-        filteredRecipes.clear();
-        if (filterText.isBlank()) {
-            filteredRecipes.addAll(recipes);
-        } else {
-            String normalizedFilter = filterText.toLowerCase(Locale.ROOT);
-            for (RecipeWithIngredients recipe : recipes) {
-                boolean nameMatches = recipe.getRecipe().getName().toLowerCase(Locale.ROOT).contains(normalizedFilter);
-                boolean ingredientMatches = recipe.getIngredients().stream()
-                        .anyMatch(ingredient -> ingredient.getName().toLowerCase(Locale.ROOT).contains(normalizedFilter));
-                if (nameMatches || ingredientMatches) {
-                    filteredRecipes.add(recipe);
-                }
-            }
+    private void requestPage(int page) {
+        if (requestedPages.add(page)) {
+            pageRequestListener.accept(page);
         }
-        fireTableDataChanged();
+    }
+
+    private void storeOpenEndedPage(int page, List<RecipeSummary> pageRows) {
+        pages.put(page, pageRows);
+        int loadedRows = page * PAGE_SIZE + pageRows.size();
+        moreRows = pageRows.size() == PAGE_SIZE;
+        rowCount = moreRows ? loadedRows + 1 : loadedRows;
+    }
+
+    private void reset(boolean openEnded) {
+        generation++;
+        pages.clear();
+        requestedPages.clear();
+        rowCount = 0;
+        moreRows = false;
+        this.openEnded = openEnded;
     }
 }
@@ -1,10 +1,13 @@
 package de.zeltlager.kuechenplaner;
 
 import de.zeltlager.kuechenplaner.data.model.MenuPlanEntry;
+import de.zeltlager.kuechenplaner.data.model.RecipeSummary;
 import de.zeltlager.kuechenplaner.data.model.RecipeWithIngredients;
 import de.zeltlager.kuechenplaner.data.model.ShoppingListItem;
+import de.zeltlager.kuechenplaner.logic.ChangeEvent;
 import de.zeltlager.kuechenplaner.logic.MenuPlanService;
 import de.zeltlager.kuechenplaner.logic.RecipeService;
+import de.zeltlager.kuechenplaner.logic.ShoppingListAggregator;
 
 import java.awt.BorderLayout;
 import java.awt.FlowLayout;
@@ -17,13 +20,17 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.text.MessageFormat;
 import java.text.NumberFormat;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.swing.JButton;
@@ -34,39 +41,50 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.JTextArea;
+import javax.swing.JTextField;
 import javax.swing.SwingConstants;
-import javax.swing.SwingWorker;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.border.EmptyBorder;
 
 import org.springframework.stereotype.Component;
 
+import de.zeltlager.kuechenplaner.ui.BackgroundExecutor;
+import de.zeltlager.kuechenplaner.ui.BackgroundTasks;
 import de.zeltlager.kuechenplaner.ui.UiTheme;
 
 /**
- * Panel that renders a consolidated shopping list for the selected menu plan.
+ * Panel that renders a consolidated shopping list for the selected menu plan. The list is loaded
+ * from the totals summed by the repository; menu plan entries added or deleted afterwards are
+ * applied to it as deltas.
  */
 @Component
 public class ShoppingListPanel extends JPanel {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+    private static final String RELOAD = "reload";
 
     private final MenuPlanService menuPlanService;
     private final RecipeService recipeService;
+    private final BackgroundTasks tasks;
     private final ShoppingListTableModel tableModel;
     private final JButton reloadButton;
     private final JLabel statusLabel;
     private final JTable table;
     private final JPanel infoContainer;
     private final JTextArea infoTextArea;
-    private SwingWorker<ShoppingListData, Void> reloadWorker;
-    private boolean reloadPending;
+    private final JTextField fromField;
+    private final JTextField toField;
     private ShoppingListData lastData;
+    private ShoppingListAggregator aggregator;
+    private List<MenuPlanEntry> menuPlanEntries = List.of();
+    private DateWindow dateWindow = DateWindow.ALL;
 
-    public ShoppingListPanel(MenuPlanService menuPlanService, RecipeService recipeService) {
+    public ShoppingListPanel(MenuPlanService menuPlanService, RecipeService recipeService,
+                             BackgroundExecutor backgroundExecutor) {
         super(new BorderLayout(16, 16));
         this.menuPlanService = Objects.requireNonNull(menuPlanService, "menuPlanService");
         this.recipeService = Objects.requireNonNull(recipeService, "recipeService");
+        this.tasks = Objects.requireNonNull(backgroundExecutor, "backgroundExecutor").newTasks();
         this.tableModel = new ShoppingListTableModel();
 
         setOpaque(false);
@@ -102,7 +120,21 @@ public class ShoppingListPanel extends JPanel {
 
         add(UiTheme.createHeader("Einkaufsliste", headerActions), BorderLayout.NORTH);
 
-        JPanel tableCard = UiTheme.createCard(new BorderLayout());
+        JPanel tableCard = UiTheme.createCard(new BorderLayout(12, 12));
+        JPanel windowToolbar = new JPanel(new FlowLayout(FlowLayout.LEFT, 12, 0));
+        windowToolbar.setOpaque(false);
+        windowToolbar.add(new JLabel("Zeitraum von (DD-MM-YYYY):"));
+        fromField = new JTextField(10);
+        fromField.addActionListener(event -> reloadData());
+        UiTheme.styleTextField(fromField);
+        windowToolbar.add(fromField);
+        windowToolbar.add(new JLabel("bis:"));
+        toField = new JTextField(10);
+        toField.addActionListener(event -> reloadData());
+        UiTheme.styleTextField(toField);
+        windowToolbar.add(toField);
+        windowToolbar.add(new JLabel("(leer = gesamter Plan)"));
+        tableCard.add(windowToolbar, BorderLayout.NORTH);
         tableCard.add(tableScrollPane, BorderLayout.CENTER);
         add(tableCard, BorderLayout.CENTER);
         infoTextArea = new JTextArea(3, 40);
@@ -119,83 +151,172 @@ public class ShoppingListPanel extends JPanel {
         add(infoContainer, BorderLayout.SOUTH);
     }
 
+    /**
+     * Reloads the list for the entered date window. A reload started while another one is running
+     * supersedes it, so a burst of changes only shows the newest result.
+     */
     public void reloadData() {
-        if (reloadWorker != null) {
-            reloadPending = true;
-            statusLabel.setText("Aktualisierung ausstehend...");
+        DateWindow window;
+        try {
+            window = readDateWindow();
+        } catch (IllegalArgumentException e) {
+            showError(e.getMessage());
             return;
         }
-        startReload();
-    }
-
-    private void startReload() {
         reloadButton.setEnabled(false);
         statusLabel.setText("Aktualisiere...");
-        reloadWorker = new SwingWorker<ShoppingListData, Void>() {
-            @Override
-            protected ShoppingListData doInBackground() {
-                List<MenuPlanEntry> menuPlanEntries = menuPlanService.getMenuPlan();
-                List<RecipeWithIngredients> recipes = recipeService.getAllRecipes();
-
-                Map<String, RecipeWithIngredients> recipesByName = new LinkedHashMap<>();
-                for (RecipeWithIngredients recipe : recipes) {
-                    String normalizedName = normalizeName(recipe.getRecipe().getName());
-                    recipesByName.putIfAbsent(normalizedName, recipe);
-                }
+        tasks.runLatest(RELOAD, () -> loadState(window), state -> {
+            menuPlanEntries = state.menuPlanEntries();
+            dateWindow = state.dateWindow();
+            aggregator = state.aggregator();
+            showData(aggregator.getItems());
+            reloadButton.setEnabled(true);
+        }, error -> {
+            showError("Einkaufsliste konnte nicht geladen werden: " + error.getMessage());
+            statusLabel.setText("Fehler beim Laden");
+            tableModel.setItems(List.of());
+            lastData = null;
+            aggregator = null;
+            infoContainer.setVisible(false);
+            reloadButton.setEnabled(true);
+        });
+    }
 
-                List<RecipeService.RecipeSelection> selections = new ArrayList<>();
-                List<String> missingMeals = new ArrayList<>();
-                for (MenuPlanEntry entry : menuPlanEntries) {
-                    String normalizedMealName = normalizeName(entry.getMeal().getName());
-                    RecipeWithIngredients matchingRecipe = recipesByName.get(normalizedMealName);
-                    if (matchingRecipe == null || matchingRecipe.getRecipe().getId().isEmpty()) {
-                        missingMeals.add(entry.getMeal().getName() + " (" + DATE_FORMATTER.format(entry.getDate()) + ")");
-                        continue;
-                    }
-                    long recipeId = matchingRecipe.getRecipe().getId().orElseThrow();
-                    selections.add(new RecipeService.RecipeSelection(recipeId, entry.getMeal().getServings()));
-                }
+    /**
+     * Applies added or deleted menu plan entries of the shown window to the list, loading only the
+     * recipes of those entries. Returns whether the list has to be reloaded instead because it was
+     * not loaded yet or a reload is already under way, which might or might not see the change.
+     */
+    public boolean applyMenuPlanChanged(ChangeEvent.MenuPlanChanged event) {
+        if (lastData == null || tasks.isRunning(RELOAD)) {
+            return true;
+        }
+        boolean deleted = event.type() == ChangeEvent.Type.DELETED;
+        List<MenuPlanEntry> changed = deleted
+                ? plannedEntriesMatching(event.entries())
+                : event.entries().stream()
+                        .filter(entry -> dateWindow.contains(entry.getDate()))
+                        .collect(Collectors.toUnmodifiableList());
+        if (changed.isEmpty()) {
+            return false;
+        }
+        Set<Long> recipeIds = changed.stream()
+                .map(entry -> entry.getMeal().getRecipeId())
+                .flatMap(Optional::stream)
+                .collect(Collectors.toUnmodifiableSet());
+        tasks.runLatest(RELOAD, () -> recipeIds.isEmpty() ? List.<RecipeWithIngredients>of()
+                : recipeService.getRecipes(recipeIds),
+                recipes -> applyDelta(deleted, changed, recipes),
+                error -> reloadData());
+        return false;
+    }
 
-                List<ShoppingListItem> shoppingItems = selections.isEmpty()
-                        ? List.of()
-                        : recipeService.generateShoppingList(selections);
+    /**
+     * Whether one of the changed recipes is planned in the shown window, either by id or by the
+     * name of a menu entry that is not linked to a recipe yet. Other recipes do not affect the list.
+     */
+    public boolean isAffectedBy(ChangeEvent.RecipesChanged event) {
+        return lastData == null || event.recipes().stream().anyMatch(this::isPlanned);
+    }
+
+    private boolean isPlanned(RecipeSummary recipe) {
+        String normalizedName = normalizeName(recipe.getName());
+        return menuPlanEntries.stream()
+                .anyMatch(entry -> entry.getMeal().getRecipeId()
+                        .map(id -> id == recipe.getId())
+                        .orElseGet(() -> normalizeName(entry.getMeal().getName()).equals(normalizedName)));
+    }
+
+    /**
+     * Returns the shown entries that a deletion of the given entries removes: those with the same
+     * date, meal name and servings.
+     */
+    private List<MenuPlanEntry> plannedEntriesMatching(List<MenuPlanEntry> deletedEntries) {
+        return menuPlanEntries.stream()
+                .filter(planned -> deletedEntries.stream().anyMatch(deleted -> isSameMeal(deleted, planned)))
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    private boolean isSameMeal(MenuPlanEntry first, MenuPlanEntry second) {
+        return first.getDate().equals(second.getDate())
+                && first.getMeal().getServings() == second.getMeal().getServings()
+                && normalizeName(first.getMeal().getName()).equals(normalizeName(second.getMeal().getName()));
+    }
 
-                return new ShoppingListData(List.copyOf(shoppingItems), List.copyOf(missingMeals), menuPlanEntries.size());
+    private void applyDelta(boolean deleted, List<MenuPlanEntry> changed, List<RecipeWithIngredients> recipes) {
+        Map<Long, RecipeWithIngredients> recipesById = recipes.stream()
+                .collect(Collectors.toMap(recipe -> recipe.getRecipe().getId().orElseThrow(), Function.identity()));
+        List<MenuPlanEntry> entries = new ArrayList<>(menuPlanEntries);
+        for (MenuPlanEntry entry : changed) {
+            int servings = entry.getMeal().getServings();
+            Optional<RecipeWithIngredients> recipe = entry.getMeal().getRecipeId().map(recipesById::get);
+            if (deleted) {
+                entries.remove(entry);
+                recipe.ifPresent(value -> aggregator.removeServings(value, servings));
+            } else {
+                entries.add(entry);
+                recipe.ifPresent(value -> aggregator.addServings(value, servings));
             }
+        }
+        menuPlanEntries = List.copyOf(entries);
+        showData(aggregator.getItems());
+    }
 
-            @Override
-            protected void done() {
-                try {
-                    if (isCancelled()) {
-                        return;
-                    }
-                    ShoppingListData data = get();
-                    tableModel.setItems(data.items());
-                    lastData = data;
-                    updateStatusLabel(data);
-                    updateInfoPanel(data);
-                } catch (Exception e) {
-                    showError("Einkaufsliste konnte nicht geladen werden: " + e.getMessage());
-                    statusLabel.setText("Fehler beim Laden");
-                    tableModel.setItems(List.of());
-                    lastData = null;
-                    infoContainer.setVisible(false);
-                } finally {
-                    reloadButton.setEnabled(true);
-                    reloadWorker = null;
-                    if (reloadPending) {
-                        reloadPending = false;
-                        startReload();
-                    }
-                }
+    private ShoppingListState loadState(DateWindow window) {
+        if (window == DateWindow.ALL) {
+            return new ShoppingListState(menuPlanService.aggregateShoppingList(),
+                    menuPlanService.getMenuPlan(), window);
+        }
+        return new ShoppingListState(menuPlanService.aggregateShoppingList(window.from(), window.to()),
+                menuPlanService.getMenuPlan(window.from(), window.to()), window);
+    }
+
+    private DateWindow readDateWindow() {
+        String fromText = fromField.getText().trim();
+        String toText = toField.getText().trim();
+        if (fromText.isEmpty() && toText.isEmpty()) {
+            return DateWindow.ALL;
+        }
+        try {
+            LocalDate from = fromText.isEmpty() ? null : LocalDate.parse(fromText, DATE_FORMATTER);
+            LocalDate to = toText.isEmpty() ? null : LocalDate.parse(toText, DATE_FORMATTER);
+            if (from == null) {
+                from = to;
             }
-        };
-        reloadWorker.execute();
+            if (to == null) {
+                to = from;
+            }
+            if (from.isAfter(to)) {
+                throw new IllegalArgumentException("Das Startdatum darf nicht nach dem Enddatum liegen.");
+            }
+            return new DateWindow(from, to);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Bitte ein gültiges Datum im Format DD-MM-YYYY eingeben.", e);
+        }
+    }
+
+    private void showData(List<ShoppingListItem> items) {
+        List<String> missingMeals = new ArrayList<>();
+        for (MenuPlanEntry entry : menuPlanEntries) {
+            if (entry.getMeal().getRecipeId().isEmpty()) {
+                missingMeals.add(entry.getMeal().getName() + " (" + DATE_FORMATTER.format(entry.getDate()) + ")");
+            }
+        }
+        ShoppingListData data = new ShoppingListData(
+                List.copyOf(items),
+                List.copyOf(missingMeals),
+                menuPlanEntries.size());
+        tableModel.setItems(data.items());
+        lastData = data;
+        updateStatusLabel(data);
+        updateInfoPanel(data);
     }
 
     private void updateStatusLabel(ShoppingListData data) {
         if (data.totalMenuEntries() == 0) {
-            statusLabel.setText("Keine Menüeinträge vorhanden");
+            statusLabel.setText(dateWindow == DateWindow.ALL
+                    ? "Keine Menüeinträge vorhanden"
+                    : "Keine Menüeinträge im Zeitraum");
         } else if (data.items().isEmpty()) {
             statusLabel.setText("Keine Einkaufsposten berechnet");
         } else {
@@ -278,6 +399,11 @@ public class ShoppingListPanel extends JPanel {
             writer.newLine();
             writer.newLine();
 
+            if (dateWindow != DateWindow.ALL) {
+                writer.write("Zeitraum: " + DATE_FORMATTER.format(dateWindow.from())
+                        + " bis " + DATE_FORMATTER.format(dateWindow.to()));
+                writer.newLine();
+            }
             if (lastData != null) {
                 writer.write("Menüeinträge insgesamt: " + lastData.totalMenuEntries());
                 writer.newLine();
@@ -357,4 +483,21 @@ public class ShoppingListPanel extends JPanel {
 
     private record ShoppingListData(List<ShoppingListItem> items, List<String> missingMeals, int totalMenuEntries) {
     }
+
+    private record ShoppingListState(ShoppingListAggregator aggregator,
+                                     List<MenuPlanEntry> menuPlanEntries,
+                                     DateWindow dateWindow) {
+    }
+
+    /**
+     * Inclusive date range the shopping list is generated for; {@link #ALL} covers the whole plan.
+     */
+    private record DateWindow(LocalDate from, LocalDate to) {
+
+        private static final DateWindow ALL = new DateWindow(null, null);
+
+        private boolean contains(LocalDate date) {
+            return this == ALL || (!date.isBefore(from) && !date.isAfter(to));
+        }
+    }
 }
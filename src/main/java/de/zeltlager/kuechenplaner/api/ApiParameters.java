@@ -0,0 +1,29 @@
+package de.zeltlager.kuechenplaner.api;
+
+import java.time.LocalDate;
+
+import de.zeltlager.kuechenplaner.api.exception.BadRequestException;
+
+/**
+ * Defaults and checks for request parameters shared by the controllers.
+ */
+final class ApiParameters {
+
+    static final String DEFAULT_PAGE_SIZE = "50";
+    static final int MAX_PAGE_SIZE = 500;
+
+    private ApiParameters() {
+    }
+
+    /**
+     * Accepts either no date range or a complete one whose start is not after its end.
+     */
+    static void validateDateRange(LocalDate from, LocalDate to) {
+        if ((from == null) != (to == null)) {
+            throw new BadRequestException("Es müssen beide Parameter 'from' und 'to' angegeben werden");
+        }
+        if (from != null && from.isAfter(to)) {
+            throw new BadRequestException("'from' darf nicht nach 'to' liegen");
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package de.zeltlager.kuechenplaner.api;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import de.zeltlager.kuechenplaner.data.repository.jpa.RecipeCacheStatistics;
+
+/**
+ * Hit and miss counts of the second-level cache regions holding recipes and their ingredients.
+ * Only available with a database, the in-memory repositories have no cache. The list is empty
+ * unless the application runs with {@code HIBERNATE_STATISTICS=true}.
+ */
+@RestController
+@RequestMapping("/api/cache-statistics")
+@Profile("!memory")
+public class CacheStatisticsController {
+
+    private final RecipeCacheStatistics recipeCacheStatistics;
+
+    public CacheStatisticsController(RecipeCacheStatistics recipeCacheStatistics) {
+        this.recipeCacheStatistics = Objects.requireNonNull(recipeCacheStatistics, "recipeCacheStatistics");
+    }
+
+    @GetMapping
+    public List<RecipeCacheStatistics.RegionStatistics> getCacheStatistics() {
+        return recipeCacheStatistics.getRegionStatistics();
+    }
+}
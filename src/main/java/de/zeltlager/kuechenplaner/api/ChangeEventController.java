@@ -0,0 +1,112 @@
+package de.zeltlager.kuechenplaner.api;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import de.zeltlager.kuechenplaner.logic.ChangeEvent;
+import de.zeltlager.kuechenplaner.logic.ChangeEventBus;
+
+/**
+ * Pushes changes of recipes, the menu plan and the inventory as server-sent events, so clients
+ * re-fetch or patch only the affected rows instead of polling the list endpoints. The event name
+ * is {@code recipes}, {@code menu-plan} or {@code inventory}; the data is a
+ * {@link ChangeEventResponse}.
+ * <p>
+ * Each client gets its own sender thread, so a slow client delays neither the services publishing
+ * the changes nor the other clients. A client that falls more than {@link #MAX_PENDING_EVENTS}
+ * events behind is disconnected and has to reload after reconnecting.
+ */
+@RestController
+@RequestMapping("/api/events")
+public class ChangeEventController {
+
+    /**
+     * Streams are closed after this time; {@code EventSource} clients reconnect on their own.
+     */
+    static final long TIMEOUT_MILLIS = Duration.ofMinutes(30).toMillis();
+
+    static final int MAX_PENDING_EVENTS = 256;
+
+    private final ChangeEventBus changeEventBus;
+
+    public ChangeEventController(ChangeEventBus changeEventBus) {
+        this.changeEventBus = Objects.requireNonNull(changeEventBus, "changeEventBus");
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges() {
+        SseEmitter emitter = new SseEmitter(TIMEOUT_MILLIS);
+        ExecutorService sender = newSender();
+        Consumer<ChangeEvent> listener = event -> {
+            try {
+                sender.execute(() -> send(emitter, event));
+            } catch (RejectedExecutionException e) {
+                // The client does not keep up or is already gone.
+                emitter.completeWithError(e);
+            }
+        };
+        Runnable unsubscribe = () -> {
+            changeEventBus.removeListener(listener);
+            sender.shutdownNow();
+        };
+        changeEventBus.addListener(listener);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> unsubscribe.run());
+        return emitter;
+    }
+
+    /**
+     * One virtual thread sending the events of a client in the order they were published.
+     */
+    private static ExecutorService newSender() {
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(MAX_PENDING_EVENTS),
+                Thread.ofVirtual().name("sse-client-", 0).factory());
+    }
+
+    private static void send(SseEmitter emitter, ChangeEvent event) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(eventName(event))
+                    .data(toResponse(event), MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            // The client is gone; completing the emitter unregisters the listener.
+            emitter.completeWithError(e);
+        }
+    }
+
+    private static String eventName(ChangeEvent event) {
+        if (event instanceof ChangeEvent.RecipesChanged) {
+            return "recipes";
+        }
+        if (event instanceof ChangeEvent.MenuPlanChanged) {
+            return "menu-plan";
+        }
+        return "inventory";
+    }
+
+    private static ChangeEventResponse<?> toResponse(ChangeEvent event) {
+        if (event instanceof ChangeEvent.RecipesChanged recipesChanged) {
+            return new ChangeEventResponse<>(event.type(), recipesChanged.recipes());
+        }
+        if (event instanceof ChangeEvent.MenuPlanChanged menuPlanChanged) {
+            return new ChangeEventResponse<>(event.type(),
+                    menuPlanChanged.entries().stream().map(MenuPlanEntryResponse::from).toList());
+        }
+        return new ChangeEventResponse<>(event.type(), ((ChangeEvent.InventoryChanged) event).items());
+    }
+}
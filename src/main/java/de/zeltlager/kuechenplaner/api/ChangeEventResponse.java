@@ -0,0 +1,12 @@
+package de.zeltlager.kuechenplaner.api;
+
+import java.util.List;
+
+import de.zeltlager.kuechenplaner.logic.ChangeEvent;
+
+/**
+ * Data of a server-sent change event: the kind of change and the affected rows in the shape the
+ * matching list endpoint returns them.
+ */
+public record ChangeEventResponse<T>(ChangeEvent.Type type, List<T> items) {
+}
@@ -0,0 +1,43 @@
+package de.zeltlager.kuechenplaner.api;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+
+import de.zeltlager.kuechenplaner.data.model.DataVersion;
+
+/**
+ * Builds strong entity tags from {@link DataVersion}s, so a client polling unchanged data gets a
+ * {@code 304 Not Modified} before anything is loaded.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Returns a quoted strong ETag for the versions of the data a response is built from and the
+     * request parameters that shape it, e.g. page and size.
+     */
+    static String strong(List<DataVersion> versions, Object... qualifiers) {
+        StringBuilder key = new StringBuilder();
+        for (DataVersion version : versions) {
+            key.append(version.getCount())
+                    .append('@')
+                    .append(version.getLastModified().map(Instant::toString).orElse("-"))
+                    .append(';');
+        }
+        for (Object qualifier : qualifiers) {
+            key.append(qualifier).append(';');
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.toString().getBytes(StandardCharsets.UTF_8));
+            return '"' + HexFormat.of().formatHex(hash, 0, 16) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
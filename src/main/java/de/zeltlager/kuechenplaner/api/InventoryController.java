@@ -0,0 +1,44 @@
+package de.zeltlager.kuechenplaner.api;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+import de.zeltlager.kuechenplaner.data.model.InventoryItem;
+import de.zeltlager.kuechenplaner.logic.InventoryService;
+
+/**
+ * Read access to the inventory of the current user, ordered by ingredient.
+ */
+@RestController
+@RequestMapping("/api/inventory")
+@Validated
+public class InventoryController {
+
+    private final InventoryService inventoryService;
+
+    public InventoryController(InventoryService inventoryService) {
+        this.inventoryService = Objects.requireNonNull(inventoryService, "inventoryService");
+    }
+
+    @GetMapping
+    public PageResponse<InventoryItem> getInventory(
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = ApiParameters.DEFAULT_PAGE_SIZE) @Min(1) @Max(ApiParameters.MAX_PAGE_SIZE) int size,
+            WebRequest request) {
+        String eTag = ETags.strong(List.of(inventoryService.getInventoryVersion()), "inventory", page, size);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return PageResponse.of(inventoryService.getInventory(), page, size);
+    }
+}
@@ -0,0 +1,58 @@
+package de.zeltlager.kuechenplaner.api;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+import de.zeltlager.kuechenplaner.data.model.MenuPlanEntry;
+import de.zeltlager.kuechenplaner.logic.MenuPlanService;
+import de.zeltlager.kuechenplaner.logic.RecipeService;
+
+/**
+ * Read access to the menu plan of the current user, optionally limited to a date range. The ETag
+ * also covers the recipes because entries are linked to recipes by name.
+ */
+@RestController
+@RequestMapping("/api/menu-plan")
+@Validated
+public class MenuPlanController {
+
+    private final MenuPlanService menuPlanService;
+    private final RecipeService recipeService;
+
+    public MenuPlanController(MenuPlanService menuPlanService, RecipeService recipeService) {
+        this.menuPlanService = Objects.requireNonNull(menuPlanService, "menuPlanService");
+        this.recipeService = Objects.requireNonNull(recipeService, "recipeService");
+    }
+
+    @GetMapping
+    public PageResponse<MenuPlanEntryResponse> getMenuPlan(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = ApiParameters.DEFAULT_PAGE_SIZE) @Min(1) @Max(ApiParameters.MAX_PAGE_SIZE) int size,
+            WebRequest request) {
+        ApiParameters.validateDateRange(from, to);
+        String eTag = ETags.strong(List.of(menuPlanService.getMenuPlanVersion(), recipeService.getRecipesVersion()),
+                "menu-plan", from, to, page, size);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        List<MenuPlanEntry> entries = from == null ? menuPlanService.getMenuPlan() : menuPlanService.getMenuPlan(from, to);
+        return PageResponse.of(entries.stream()
+                .map(MenuPlanEntryResponse::from)
+                .collect(Collectors.toUnmodifiableList()), page, size);
+    }
+}
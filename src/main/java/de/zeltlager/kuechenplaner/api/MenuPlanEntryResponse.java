@@ -0,0 +1,18 @@
+package de.zeltlager.kuechenplaner.api;
+
+import java.time.LocalDate;
+
+import de.zeltlager.kuechenplaner.data.model.Meal;
+import de.zeltlager.kuechenplaner.data.model.MenuPlanEntry;
+
+/**
+ * A planned meal as returned by the API.
+ */
+public record MenuPlanEntryResponse(LocalDate date, String mealName, int servings, Long recipeId) {
+
+    static MenuPlanEntryResponse from(MenuPlanEntry entry) {
+        Meal meal = entry.getMeal();
+        return new MenuPlanEntryResponse(entry.getDate(), meal.getName(), meal.getServings(),
+                meal.getRecipeId().orElse(null));
+    }
+}
@@ -0,0 +1,28 @@
+package de.zeltlager.kuechenplaner.api;
+
+import java.util.List;
+
+/**
+ * One page of a list resource. {@code totalElements} is {@code null} where counting would cost a
+ * second query, e.g. for search results.
+ */
+public record PageResponse<T>(
+        List<T> content,
+        int page,
+        int size,
+        Long totalElements,
+        boolean hasNext) {
+
+    /**
+     * Cuts the requested page out of a list that was loaded completely.
+     */
+    static <T> PageResponse<T> of(List<T> all, int page, int size) {
+        long from = (long) page * size;
+        if (from >= all.size()) {
+            return new PageResponse<>(List.of(), page, size, (long) all.size(), false);
+        }
+        int to = (int) Math.min(all.size(), from + size);
+        return new PageResponse<>(List.copyOf(all.subList((int) from, to)), page, size, (long) all.size(),
+                to < all.size());
+    }
+}
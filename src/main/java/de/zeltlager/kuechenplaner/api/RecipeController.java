@@ -0,0 +1,81 @@
+package de.zeltlager.kuechenplaner.api;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+import de.zeltlager.kuechenplaner.api.exception.BadRequestException;
+import de.zeltlager.kuechenplaner.api.exception.ResourceNotFoundException;
+import de.zeltlager.kuechenplaner.data.model.DataVersion;
+import de.zeltlager.kuechenplaner.data.model.RecipeSummary;
+import de.zeltlager.kuechenplaner.logic.RecipeService;
+
+/**
+ * Read access to the recipes of the current user. Responses carry a strong ETag derived from the
+ * recipe version, so a repeated request with {@code If-None-Match} is answered with {@code 304}
+ * before any recipe is read.
+ */
+@RestController
+@RequestMapping("/api/recipes")
+@Validated
+public class RecipeController {
+
+    private final RecipeService recipeService;
+
+    public RecipeController(RecipeService recipeService) {
+        this.recipeService = Objects.requireNonNull(recipeService, "recipeService");
+    }
+
+    /**
+     * Lists recipe summaries ordered by name, or those matching every word of {@code q}.
+     */
+    @GetMapping
+    public PageResponse<RecipeSummary> getRecipes(
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = ApiParameters.DEFAULT_PAGE_SIZE) @Min(1) @Max(ApiParameters.MAX_PAGE_SIZE) int size,
+            @RequestParam(required = false) String q,
+            WebRequest request) {
+        String query = q == null ? "" : q.trim();
+        if (request.checkNotModified(recipesETag("recipes", query, page, size))) {
+            return null;
+        }
+        if (query.isEmpty()) {
+            long total = recipeService.countRecipes();
+            List<RecipeSummary> content = recipeService.getRecipeSummaries(page, size);
+            return new PageResponse<>(content, page, size, total, (long) (page + 1) * size < total);
+        }
+        long offset = (long) page * size;
+        if (offset > Integer.MAX_VALUE) {
+            throw new BadRequestException("Seite " + page + " liegt außerhalb der Suchergebnisse");
+        }
+        // One extra match tells whether there is a next page without counting all matches.
+        List<RecipeSummary> matches = recipeService.searchSummaries(query, size + 1, (int) offset);
+        boolean hasNext = matches.size() > size;
+        return new PageResponse<>(hasNext ? List.copyOf(matches.subList(0, size)) : matches, page, size, null, hasNext);
+    }
+
+    @GetMapping("/{id}")
+    public RecipeResponse getRecipe(@PathVariable long id, WebRequest request) {
+        if (request.checkNotModified(recipesETag("recipe", id))) {
+            return null;
+        }
+        return recipeService.getRecipe(id)
+                .map(RecipeResponse::from)
+                .orElseThrow(() -> new ResourceNotFoundException("Rezept", id));
+    }
+
+    private String recipesETag(Object... qualifiers) {
+        DataVersion version = recipeService.getRecipesVersion();
+        return ETags.strong(List.of(version), qualifiers);
+    }
+}
@@ -0,0 +1,44 @@
+package de.zeltlager.kuechenplaner.api;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import de.zeltlager.kuechenplaner.data.model.Ingredient;
+import de.zeltlager.kuechenplaner.data.model.Recipe;
+import de.zeltlager.kuechenplaner.data.model.RecipeWithIngredients;
+
+/**
+ * A recipe with its ingredients as returned by the API.
+ */
+public record RecipeResponse(
+        long id,
+        String name,
+        Long categoryId,
+        int baseServings,
+        String instructions,
+        Instant updatedAt,
+        List<IngredientResponse> ingredients) {
+
+    static RecipeResponse from(RecipeWithIngredients recipe) {
+        Recipe baseRecipe = recipe.getRecipe();
+        return new RecipeResponse(
+                baseRecipe.getId().orElseThrow(),
+                baseRecipe.getName(),
+                baseRecipe.getCategoryId().orElse(null),
+                baseRecipe.getBaseServings(),
+                baseRecipe.getInstructions(),
+                baseRecipe.getUpdatedAt().orElse(null),
+                recipe.getIngredients().stream()
+                        .map(IngredientResponse::from)
+                        .collect(Collectors.toUnmodifiableList()));
+    }
+
+    public record IngredientResponse(String name, String unit, double amountPerServing, String notes) {
+
+        static IngredientResponse from(Ingredient ingredient) {
+            return new IngredientResponse(ingredient.getName(), ingredient.getUnit(), ingredient.getAmountPerServing(),
+                    ingredient.getNotes().orElse(null));
+        }
+    }
+}
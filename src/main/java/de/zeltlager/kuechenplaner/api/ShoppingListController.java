@@ -0,0 +1,53 @@
+package de.zeltlager.kuechenplaner.api;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import de.zeltlager.kuechenplaner.data.model.ShoppingListItem;
+import de.zeltlager.kuechenplaner.logic.MenuPlanService;
+import de.zeltlager.kuechenplaner.logic.RecipeService;
+
+/**
+ * Generates the shopping list for the whole menu plan or a date range. The list is one document
+ * and not paged; its ETag covers the menu plan and the recipes it is summed from.
+ */
+@RestController
+@RequestMapping("/api/shopping-list")
+public class ShoppingListController {
+
+    private final MenuPlanService menuPlanService;
+    private final RecipeService recipeService;
+
+    public ShoppingListController(MenuPlanService menuPlanService, RecipeService recipeService) {
+        this.menuPlanService = Objects.requireNonNull(menuPlanService, "menuPlanService");
+        this.recipeService = Objects.requireNonNull(recipeService, "recipeService");
+    }
+
+    @GetMapping
+    public List<ShoppingListItemResponse> getShoppingList(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            WebRequest request) {
+        ApiParameters.validateDateRange(from, to);
+        String eTag = ETags.strong(List.of(menuPlanService.getMenuPlanVersion(), recipeService.getRecipesVersion()),
+                "shopping-list", from, to);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        List<ShoppingListItem> items = from == null
+                ? menuPlanService.generateShoppingList()
+                : menuPlanService.generateShoppingList(from, to);
+        return items.stream()
+                .map(ShoppingListItemResponse::from)
+                .collect(Collectors.toUnmodifiableList());
+    }
+}
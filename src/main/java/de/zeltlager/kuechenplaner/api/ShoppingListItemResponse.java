@@ -0,0 +1,16 @@
+package de.zeltlager.kuechenplaner.api;
+
+import java.util.List;
+
+import de.zeltlager.kuechenplaner.data.model.ShoppingListItem;
+
+/**
+ * A shopping list line as returned by the API.
+ */
+public record ShoppingListItemResponse(String name, String unit, double totalAmount, List<String> notes, String category) {
+
+    static ShoppingListItemResponse from(ShoppingListItem item) {
+        return new ShoppingListItemResponse(item.getName(), item.getUnit(), item.getTotalAmount(), item.getNotes(),
+                item.getCategory().orElse(null));
+    }
+}
@@ -1,8 +1,35 @@
 package de.zeltlager.kuechenplaner.backup;
 
 import java.nio.file.Path;
+import java.util.List;
 
 public interface BackupService {
 
     Path createBackup(Path targetFile);
+
+    /**
+     * Writes only the data created or changed since {@code previousBackup} was generated. The
+     * previous backup may itself be incremental.
+     */
+    Path createIncrementalBackup(Path targetFile, Path previousBackup);
+
+    /**
+     * Adds the recipes, menu plan and inventory of a backup to the current user's data.
+     */
+    RestoreSummary restoreBackup(Path sourceFile);
+
+    /**
+     * Restores a full backup followed by the incremental backups based on it. The files may be
+     * given in any order; they are applied in the order they were written.
+     */
+    RestoreSummary restoreBackups(List<Path> chain);
+
+    record RestoreSummary(int recipes, int menuPlanEntries, int inventoryItems) {
+
+        RestoreSummary plus(RestoreSummary other) {
+            return new RestoreSummary(recipes + other.recipes,
+                    menuPlanEntries + other.menuPlanEntries,
+                    inventoryItems + other.inventoryItems);
+        }
+    }
 }
@@ -1,19 +1,43 @@
 package de.zeltlager.kuechenplaner.backup;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import de.zeltlager.kuechenplaner.data.model.Ingredient;
 import de.zeltlager.kuechenplaner.data.model.InventoryItem;
+import de.zeltlager.kuechenplaner.data.model.Meal;
 import de.zeltlager.kuechenplaner.data.model.MenuPlanEntry;
 import de.zeltlager.kuechenplaner.data.model.Recipe;
 import de.zeltlager.kuechenplaner.data.model.RecipeWithIngredients;
@@ -22,84 +46,447 @@ import de.zeltlager.kuechenplaner.logic.MenuPlanService;
 import de.zeltlager.kuechenplaner.logic.RecipeService;
 import de.zeltlager.kuechenplaner.user.UserContext;
 
+/**
+ * Writes backups as one JSON document. Sections are streamed record by record through a
+ * {@link JsonGenerator}, so memory use does not grow with the number of recipes. Targets ending
+ * in {@code .gz} are gzip compressed. The document is written to a temporary file next to the
+ * target and moved into place once complete, so an interrupted backup never leaves a truncated file.
+ *
+ * <p>Incremental backups contain the rows changed after the {@code generatedAt} watermark of a
+ * previous backup and record that watermark as {@code since}, so a full backup and its increments
+ * form a chain. Rows are stamped when they are flushed, not when their transaction commits, so an
+ * increment reads from {@link #MAX_TRANSACTION_DURATION} before the watermark and overlaps the
+ * previous backup; restoring a chain skips or updates the rows an earlier file already restored.
+ * Deletions are not tracked and therefore not part of an increment.
+ *
+ * <p>Restores read the same document with a {@link JsonParser} and persist each section in its own
+ * transaction, recipes and inventory items in batches.
+ */
 @Service
 public class JsonBackupService implements BackupService {
 
+    static final String FORMAT_VERSION = "1.0";
+    static final String GZIP_EXTENSION = ".gz";
+    static final String TYPE_FULL = "full";
+    static final String TYPE_INCREMENTAL = "incremental";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int RESTORE_BATCH_SIZE = RecipeService.DEFAULT_IMPORT_BATCH_SIZE;
+
+    /**
+     * Upper bound for how long a transaction writing recipes, menu plan entries or inventory stays
+     * open, i.e. how far before a backup's watermark a row committed after it may be stamped.
+     */
+    static final Duration MAX_TRANSACTION_DURATION = Duration.ofMinutes(10);
+
     private final RecipeService recipeService;
     private final MenuPlanService menuPlanService;
     private final InventoryService inventoryService;
     private final ObjectMapper objectMapper;
     private final UserContext userContext;
+    private final TransactionOperations transactionOperations;
 
     public JsonBackupService(RecipeService recipeService,
                              MenuPlanService menuPlanService,
                              InventoryService inventoryService,
                              ObjectMapper objectMapper,
-                             UserContext userContext) {
+                             UserContext userContext,
+                             TransactionOperations transactionOperations) {
         this.recipeService = Objects.requireNonNull(recipeService, "recipeService");
         this.menuPlanService = Objects.requireNonNull(menuPlanService, "menuPlanService");
         this.inventoryService = Objects.requireNonNull(inventoryService, "inventoryService");
         this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper");
         this.userContext = Objects.requireNonNull(userContext, "userContext");
+        this.transactionOperations = Objects.requireNonNull(transactionOperations, "transactionOperations");
     }
 
     @Override
     public Path createBackup(Path targetFile) {
         Objects.requireNonNull(targetFile, "targetFile");
+        return writeAtomically(targetFile, null);
+    }
+
+    @Override
+    public Path createIncrementalBackup(Path targetFile, Path previousBackup) {
+        Objects.requireNonNull(targetFile, "targetFile");
+        Objects.requireNonNull(previousBackup, "previousBackup");
+        Instant since;
+        try {
+            since = readHeader(previousBackup).generatedAt();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read previous backup", e);
+        }
+        return writeAtomically(targetFile, since);
+    }
+
+    private Path writeAtomically(Path targetFile, Instant since) {
         Path normalizedPath = targetFile.toAbsolutePath();
+        Path tempFile = null;
+        boolean moved = false;
         try {
             Path parent = normalizedPath.getParent();
             if (parent != null) {
                 Files.createDirectories(parent);
             }
 
-            BackupPayload payload = buildPayload();
-            objectMapper.writerWithDefaultPrettyPrinter().writeValue(normalizedPath.toFile(), payload);
+            tempFile = Files.createTempFile(parent, normalizedPath.getFileName().toString(), ".tmp");
+            try (OutputStream output = openOutput(tempFile, isCompressed(normalizedPath))) {
+                writeBackup(output, !isCompressed(normalizedPath), since);
+            }
+            moveIntoPlace(tempFile, normalizedPath);
+            moved = true;
             return normalizedPath;
-        } catch (IOException e) {
+        } catch (IOException | UncheckedIOException e) {
             throw new IllegalStateException("Failed to create database backup", e);
+        } finally {
+            if (tempFile != null && !moved) {
+                deleteQuietly(tempFile);
+            }
+        }
+    }
+
+    @Override
+    public RestoreSummary restoreBackup(Path sourceFile) {
+        Objects.requireNonNull(sourceFile, "sourceFile");
+        return restoreBackups(List.of(sourceFile));
+    }
+
+    @Override
+    public RestoreSummary restoreBackups(List<Path> chain) {
+        Objects.requireNonNull(chain, "chain");
+        if (chain.isEmpty()) {
+            throw new IllegalArgumentException("Backup chain must not be empty");
+        }
+        try {
+            List<Path> orderedChain = orderChain(chain);
+            Map<Long, Long> recipeIds = new HashMap<>();
+            Set<MenuPlanKey> menuPlanEntries = new HashSet<>();
+            RestoreSummary summary = new RestoreSummary(0, 0, 0);
+            for (Path file : orderedChain) {
+                summary = summary.plus(restoreFile(file, recipeIds, menuPlanEntries));
+            }
+            return summary;
+        } catch (IOException | UncheckedIOException e) {
+            throw new IllegalStateException("Failed to restore database backup", e);
+        }
+    }
+
+    /**
+     * Orders the files by their headers: the full backup first, then each increment after the
+     * backup it continues. File names and modification times are not reliable, e.g. after copying
+     * the files. Only the headers are read, so a broken chain is rejected before anything is written.
+     */
+    private List<Path> orderChain(List<Path> files) throws IOException {
+        Path full = null;
+        Instant fullGeneratedAt = null;
+        Map<Instant, Path> incrementsBySince = new HashMap<>();
+        Map<Path, Instant> generatedAtByFile = new HashMap<>();
+        for (Path file : files) {
+            BackupHeader header = readHeader(Objects.requireNonNull(file, "file"));
+            generatedAtByFile.put(file, header.generatedAt());
+            if (!header.incremental()) {
+                if (full != null) {
+                    throw new IllegalArgumentException("Backup chain contains more than one full backup: " + file);
+                }
+                full = file;
+                fullGeneratedAt = header.generatedAt();
+            } else if (incrementsBySince.putIfAbsent(header.since(), file) != null) {
+                throw new IllegalArgumentException("Backup " + file + " continues the same backup as "
+                        + incrementsBySince.get(header.since()));
+            }
+        }
+        if (full == null) {
+            throw new IllegalArgumentException("Backup chain must start with a full backup: " + files.get(0));
         }
+
+        List<Path> ordered = new ArrayList<>(files.size());
+        ordered.add(full);
+        Instant previousGeneratedAt = fullGeneratedAt;
+        while (!incrementsBySince.isEmpty()) {
+            Path next = incrementsBySince.remove(previousGeneratedAt);
+            if (next == null) {
+                throw new IllegalArgumentException("Backup " + incrementsBySince.values().iterator().next()
+                        + " does not continue the previous backup");
+            }
+            ordered.add(next);
+            previousGeneratedAt = generatedAtByFile.get(next);
+        }
+        return ordered;
     }
 
-    private BackupPayload buildPayload() {
-        List<RecipeWithIngredients> recipes = recipeService.getAllRecipes();
-        List<MenuPlanEntry> menuPlanEntries = menuPlanService.getMenuPlan();
-        List<InventoryItem> inventoryItems = inventoryService.getInventory();
+    private BackupHeader readHeader(Path file) throws IOException {
+        try (InputStream input = openInput(file);
+             JsonParser parser = objectMapper.createParser(input)) {
+            startObject(parser);
+            String type = TYPE_FULL;
+            Instant generatedAt = null;
+            Instant since = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                if (parser.nextToken().isStructStart()) {
+                    // The header precedes the first section.
+                    break;
+                }
+                switch (field) {
+                    case "version" -> checkVersion(parser.getText());
+                    case "type" -> type = parser.getText();
+                    case "generatedAt" -> generatedAt = Instant.parse(parser.getText());
+                    case "since" -> since = Instant.parse(parser.getText());
+                    default -> {
+                    }
+                }
+            }
+            if (generatedAt == null) {
+                throw new IllegalArgumentException("Backup " + file + " has no generatedAt timestamp");
+            }
+            return new BackupHeader(TYPE_INCREMENTAL.equals(type), generatedAt, since);
+        }
+    }
 
-        List<RecipeBackup> recipeBackups = recipes.stream()
-                .map(recipe -> new RecipeBackup(
-                        recipe.getRecipe(),
-                        recipe.getIngredients().stream()
-                                .map(IngredientBackup::from)
-                                .collect(Collectors.toUnmodifiableList())))
-                .collect(Collectors.toUnmodifiableList());
+    /**
+     * Restores one file of a chain. Recipes whose backed up id was already restored by an earlier
+     * file are updated instead of created again, and menu plan entries an earlier file already
+     * restored are skipped, so the overlap between increments is applied only once.
+     */
+    private RestoreSummary restoreFile(Path file, Map<Long, Long> recipeIds, Set<MenuPlanKey> menuPlanKeys)
+            throws IOException {
+        try (InputStream input = openInput(file);
+             JsonParser parser = objectMapper.createParser(input)) {
+            startObject(parser);
+            int recipes = 0;
+            int menuPlanEntries = 0;
+            int inventoryItems = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "recipes" -> recipes = inTransaction(() -> restoreRecipes(parser, recipeIds));
+                    case "menuPlan" -> menuPlanEntries = inTransaction(() -> restoreMenuPlan(parser, recipeIds, menuPlanKeys));
+                    case "inventory" -> inventoryItems = inTransaction(() -> restoreInventory(parser));
+                    default -> parser.skipChildren();
+                }
+            }
+            return new RestoreSummary(recipes, menuPlanEntries, inventoryItems);
+        }
+    }
 
-        List<MenuPlanEntryBackup> menuPlanBackups = menuPlanEntries.stream()
-                .map(entry -> new MenuPlanEntryBackup(
-                        entry.getDate().toString(),
-                        entry.getMeal().getName(),
-                        entry.getMeal().getServings()))
-                .collect(Collectors.toUnmodifiableList());
+    static boolean isCompressed(Path file) {
+        return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(GZIP_EXTENSION);
+    }
 
-        List<InventoryItemBackup> inventoryBackups = inventoryItems.stream()
-                .map(item -> new InventoryItemBackup(item.getIngredient(), item.getQuantity(), item.getUnit()))
-                .collect(Collectors.toUnmodifiableList());
+    private OutputStream openOutput(Path file, boolean compressed) throws IOException {
+        OutputStream output = new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE);
+        return compressed ? new GZIPOutputStream(output, BUFFER_SIZE) : output;
+    }
 
-        return new BackupPayload(
-                "1.0",
-                Instant.now().toString(),
-                userContext.getCurrentUsername(),
-                recipeBackups,
-                menuPlanBackups,
-                inventoryBackups);
+    private InputStream openInput(Path file) throws IOException {
+        InputStream input = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE);
+        return isCompressed(file) ? new GZIPInputStream(input, BUFFER_SIZE) : input;
     }
 
-    private record BackupPayload(String version,
-                                 String generatedAt,
-                                 String username,
-                                 List<RecipeBackup> recipes,
-                                 List<MenuPlanEntryBackup> menuPlan,
-                                 List<InventoryItemBackup> inventory) {
+    private void writeBackup(OutputStream output, boolean prettyPrint, Instant since) throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(output, JsonEncoding.UTF8)) {
+            if (prettyPrint) {
+                generator.useDefaultPrettyPrinter();
+            }
+            generator.writeStartObject();
+            generator.writeStringField("version", FORMAT_VERSION);
+            // Taken before any section is read. Transactions still open at this point may commit rows
+            // stamped earlier, which is why the next increment starts MAX_TRANSACTION_DURATION before it.
+            generator.writeStringField("generatedAt", Instant.now().toString());
+            generator.writeStringField("username", userContext.getCurrentUsername());
+            generator.writeStringField("type", since == null ? TYPE_FULL : TYPE_INCREMENTAL);
+            if (since != null) {
+                generator.writeStringField("since", since.toString());
+            }
+
+            Instant changedAfter = since == null ? null : since.minus(MAX_TRANSACTION_DURATION);
+            Consumer<RecipeWithIngredients> recipeWriter = recipe -> writeRecord(generator, RecipeBackup.from(recipe));
+            generator.writeArrayFieldStart("recipes");
+            if (since == null) {
+                recipeService.forEachRecipe(recipeWriter);
+            } else {
+                recipeService.forEachRecipeUpdatedSince(changedAfter, recipeWriter);
+            }
+            generator.writeEndArray();
+
+            List<MenuPlanEntry> menuPlan = since == null
+                    ? menuPlanService.getMenuPlan()
+                    : menuPlanService.getMenuPlanUpdatedSince(changedAfter);
+            generator.writeArrayFieldStart("menuPlan");
+            for (MenuPlanEntry entry : menuPlan) {
+                generator.writeObject(MenuPlanEntryBackup.from(entry));
+            }
+            generator.writeEndArray();
+
+            List<InventoryItem> inventory = since == null
+                    ? inventoryService.getInventory()
+                    : inventoryService.getInventoryUpdatedSince(changedAfter);
+            generator.writeArrayFieldStart("inventory");
+            for (InventoryItem item : inventory) {
+                generator.writeObject(new InventoryItemBackup(item.getIngredient(), item.getQuantity(), item.getUnit()));
+            }
+            generator.writeEndArray();
+
+            generator.writeEndObject();
+        }
+    }
+
+    private static void writeRecord(JsonGenerator generator, Object record) {
+        try {
+            generator.writeObject(record);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void checkVersion(String version) {
+        if (!FORMAT_VERSION.equals(version)) {
+            throw new IllegalArgumentException("Unsupported backup version: " + version);
+        }
+    }
+
+    private int inTransaction(SectionReader reader) {
+        Integer count = transactionOperations.execute(status -> {
+            try {
+                return reader.read();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Persists new recipes in batches and records which new id each backed up recipe id received,
+     * so the menu plan section and later increments can keep their recipe links.
+     */
+    private int restoreRecipes(JsonParser parser, Map<Long, Long> recipeIds) throws IOException {
+        List<RecipeBackup> batch = new ArrayList<>(RESTORE_BATCH_SIZE);
+        int count = 0;
+        for (JsonToken token = startArray(parser); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+            RecipeBackup recipe = objectMapper.readValue(parser, RecipeBackup.class);
+            Long restoredId = recipe.id() == null ? null : recipeIds.get(recipe.id());
+            if (restoredId != null) {
+                updateRecipe(restoredId, recipe.toRecipe());
+                count++;
+                continue;
+            }
+            batch.add(recipe);
+            if (batch.size() == RESTORE_BATCH_SIZE) {
+                count += flushRecipes(batch, recipeIds);
+            }
+        }
+        return count + flushRecipes(batch, recipeIds);
+    }
+
+    private void updateRecipe(long id, RecipeWithIngredients recipeWithIngredients) {
+        Recipe recipe = recipeWithIngredients.getRecipe();
+        recipeService.updateRecipe(id,
+                recipe.getName(),
+                recipe.getCategoryId().orElse(null),
+                recipe.getBaseServings(),
+                recipe.getInstructions(),
+                recipeWithIngredients.getIngredients());
+    }
+
+    private int flushRecipes(List<RecipeBackup> batch, Map<Long, Long> recipeIds) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<RecipeWithIngredients> created = recipeService.createRecipes(batch.stream()
+                .map(RecipeBackup::toRecipe)
+                .collect(Collectors.toUnmodifiableList()));
+        for (int i = 0; i < batch.size(); i++) {
+            Long oldId = batch.get(i).id();
+            if (oldId != null) {
+                recipeIds.put(oldId, created.get(i).getRecipe().getId().orElseThrow());
+            }
+        }
+        int count = batch.size();
+        batch.clear();
+        return count;
+    }
+
+    /**
+     * Restores the menu plan section, skipping entries contained in {@code restoredKeys}, i.e.
+     * restored by an earlier file of the chain, and adds the keys of this section afterwards.
+     */
+    private int restoreMenuPlan(JsonParser parser, Map<Long, Long> recipeIds, Set<MenuPlanKey> restoredKeys)
+            throws IOException {
+        List<MenuPlanEntry> batch = new ArrayList<>(RESTORE_BATCH_SIZE);
+        List<MenuPlanKey> keys = new ArrayList<>();
+        int count = 0;
+        for (JsonToken token = startArray(parser); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+            MenuPlanEntryBackup entry = objectMapper.readValue(parser, MenuPlanEntryBackup.class);
+            MenuPlanKey key = MenuPlanKey.of(entry);
+            if (restoredKeys.contains(key)) {
+                continue;
+            }
+            keys.add(key);
+            // Unknown recipe ids are dropped so the entry falls back to its meal name.
+            Long recipeId = entry.recipeId() == null ? null : recipeIds.get(entry.recipeId());
+            batch.add(new MenuPlanEntry(LocalDate.parse(entry.date()), new Meal(entry.meal(), entry.servings(), recipeId)));
+            if (batch.size() == RESTORE_BATCH_SIZE) {
+                menuPlanService.addMenuPlanEntries(List.copyOf(batch));
+                count += batch.size();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            menuPlanService.addMenuPlanEntries(List.copyOf(batch));
+            count += batch.size();
+        }
+        restoredKeys.addAll(keys);
+        return count;
+    }
+
+    private int restoreInventory(JsonParser parser) throws IOException {
+        List<InventoryItem> batch = new ArrayList<>(RESTORE_BATCH_SIZE);
+        int count = 0;
+        for (JsonToken token = startArray(parser); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+            InventoryItemBackup item = objectMapper.readValue(parser, InventoryItemBackup.class);
+            batch.add(new InventoryItem(item.ingredient(), item.quantity(), item.unit()));
+            if (batch.size() == RESTORE_BATCH_SIZE) {
+                inventoryService.upsertAll(List.copyOf(batch));
+                count += batch.size();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            inventoryService.upsertAll(List.copyOf(batch));
+            count += batch.size();
+        }
+        return count;
+    }
+
+    private static void startObject(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("Backup must be a JSON object");
+        }
+    }
+
+    private static JsonToken startArray(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("Expected an array for section " + parser.currentName());
+        }
+        return parser.nextToken();
+    }
+
+    private static void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // The temporary file is only left behind; the original error is more relevant.
+        }
     }
 
     private record RecipeBackup(Long id,
@@ -110,15 +497,29 @@ public class JsonBackupService implements BackupService {
                                 String createdAt,
                                 String updatedAt,
                                 List<IngredientBackup> ingredients) {
-        private RecipeBackup(Recipe recipe, List<IngredientBackup> ingredients) {
-            this(recipe.getId().orElse(null),
+        private static RecipeBackup from(RecipeWithIngredients recipeWithIngredients) {
+            Recipe recipe = recipeWithIngredients.getRecipe();
+            return new RecipeBackup(recipe.getId().orElse(null),
                     recipe.getName(),
                     recipe.getCategoryId().orElse(null),
                     recipe.getBaseServings(),
                     recipe.getInstructions(),
                     recipe.getCreatedAt().map(Instant::toString).orElse(null),
                     recipe.getUpdatedAt().map(Instant::toString).orElse(null),
-                    ingredients);
+                    recipeWithIngredients.getIngredients().stream()
+                            .map(IngredientBackup::from)
+                            .collect(Collectors.toUnmodifiableList()));
+        }
+
+        private RecipeWithIngredients toRecipe() {
+            Recipe recipe = new Recipe(null, name, categoryId, baseServings, instructions,
+                    createdAt == null ? null : Instant.parse(createdAt),
+                    updatedAt == null ? null : Instant.parse(updatedAt));
+            List<Ingredient> recipeIngredients = ingredients == null ? List.of() : ingredients.stream()
+                    .map(ingredient -> new Ingredient(null, null, ingredient.name(), ingredient.unit(),
+                            ingredient.amountPerServing(), ingredient.notes()))
+                    .collect(Collectors.toUnmodifiableList());
+            return new RecipeWithIngredients(recipe, recipeIngredients);
         }
     }
 
@@ -141,7 +542,33 @@ public class JsonBackupService implements BackupService {
 
     private record MenuPlanEntryBackup(String date,
                                        String meal,
-                                       int servings) {
+                                       int servings,
+                                       Long recipeId) {
+        private static MenuPlanEntryBackup from(MenuPlanEntry entry) {
+            return new MenuPlanEntryBackup(
+                    entry.getDate().toString(),
+                    entry.getMeal().getName(),
+                    entry.getMeal().getServings(),
+                    entry.getMeal().getRecipeId().orElse(null));
+        }
+    }
+
+    private record BackupHeader(boolean incremental, Instant generatedAt, Instant since) {
+    }
+
+    /**
+     * Identifies a menu plan entry the way deleting one does: date, meal name and servings.
+     */
+    private record MenuPlanKey(String date, String meal, int servings) {
+
+        static MenuPlanKey of(MenuPlanEntryBackup entry) {
+            return new MenuPlanKey(entry.date(), entry.meal().trim().toLowerCase(Locale.ROOT), entry.servings());
+        }
+    }
+
+    @FunctionalInterface
+    private interface SectionReader {
+        int read() throws IOException;
     }
 
     private record InventoryItemBackup(String ingredient,
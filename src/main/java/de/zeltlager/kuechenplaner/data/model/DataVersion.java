@@ -0,0 +1,41 @@
+package de.zeltlager.kuechenplaner.data.model;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Fingerprint of a data set made of its row count and the newest {@code updated_at} among the
+ * rows. Inserts and updates move the timestamp and deletes lower the count, so the version changes
+ * whenever the data does, without reading the data itself.
+ */
+public final class DataVersion {
+
+    public static final DataVersion EMPTY = new DataVersion(0, null);
+
+    private final long count;
+    private final Instant lastModified;
+
+    public DataVersion(long count, Instant lastModified) {
+        this.count = count;
+        this.lastModified = lastModified;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public Optional<Instant> getLastModified() {
+        return Optional.ofNullable(lastModified);
+    }
+
+    /**
+     * Returns the version of the union of both data sets, e.g. recipes and their ingredients.
+     */
+    public DataVersion combine(DataVersion other) {
+        Instant newest = lastModified;
+        if (newest == null || (other.lastModified != null && other.lastModified.isAfter(newest))) {
+            newest = other.lastModified;
+        }
+        return new DataVersion(count + other.count, newest);
+    }
+}
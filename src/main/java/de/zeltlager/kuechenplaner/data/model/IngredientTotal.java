@@ -0,0 +1,52 @@
+package de.zeltlager.kuechenplaner.data.model;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Summed amount of one ingredient over all planned servings, as delivered by the repository
+ * before unit canonicalization and categorization. {@link #getRowCount()} tells how many
+ * ingredient rows of planned recipes were summed up, so later changes can be subtracted again.
+ */
+public final class IngredientTotal {
+    private final String name;
+    private final String unit;
+    private final double totalAmount;
+    private final String notes;
+    private final long rowCount;
+
+    public IngredientTotal(String name, String unit, double totalAmount, String notes) {
+        this(name, unit, totalAmount, notes, 1);
+    }
+
+    public IngredientTotal(String name, String unit, double totalAmount, String notes, long rowCount) {
+        this.name = Objects.requireNonNull(name, "name");
+        this.unit = Objects.requireNonNull(unit, "unit");
+        this.totalAmount = totalAmount;
+        this.notes = notes;
+        if (rowCount <= 0) {
+            throw new IllegalArgumentException("rowCount must be greater than zero");
+        }
+        this.rowCount = rowCount;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+
+    public double getTotalAmount() {
+        return totalAmount;
+    }
+
+    public Optional<String> getNotes() {
+        return Optional.ofNullable(notes);
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+}
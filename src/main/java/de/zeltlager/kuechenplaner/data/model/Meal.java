@@ -1,17 +1,25 @@
 package de.zeltlager.kuechenplaner.data.model;
 
 import java.util.Objects;
+import java.util.Optional;
 
 /**
- * Represents a meal that can be served at the camp.
+ * Represents a meal that can be served at the camp. The optional recipe id links the meal to
+ * the recipe it is cooked from, independent of later renames.
  */
 public final class Meal {
     private final String name;
     private final int servings;
+    private final Long recipeId;
 
     public Meal(String name, int servings) {
+        this(name, servings, null);
+    }
+
+    public Meal(String name, int servings, Long recipeId) {
         this.name = Objects.requireNonNull(name, "name");
         this.servings = servings;
+        this.recipeId = recipeId;
     }
 
     public String getName() {
@@ -21,4 +29,8 @@ public final class Meal {
     public int getServings() {
         return servings;
     }
+
+    public Optional<Long> getRecipeId() {
+        return Optional.ofNullable(recipeId);
+    }
 }
@@ -0,0 +1,45 @@
+package de.zeltlager.kuechenplaner.data.model;
+
+import java.util.Objects;
+
+/**
+ * Lightweight row of the recipe overview. Carries only what the list shows so pages of it can be
+ * loaded without fetching instructions or ingredients.
+ */
+public final class RecipeSummary {
+    private final long id;
+    private final String name;
+    private final int baseServings;
+    private final int ingredientCount;
+
+    public RecipeSummary(long id, String name, int baseServings, int ingredientCount) {
+        this.id = id;
+        this.name = Objects.requireNonNull(name, "name");
+        this.baseServings = baseServings;
+        this.ingredientCount = ingredientCount;
+    }
+
+    public static RecipeSummary of(RecipeWithIngredients recipe) {
+        Recipe baseRecipe = recipe.getRecipe();
+        return new RecipeSummary(baseRecipe.getId().orElseThrow(() -> new IllegalArgumentException("Recipe ID must be present")),
+                baseRecipe.getName(),
+                baseRecipe.getBaseServings(),
+                recipe.getIngredients().size());
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getBaseServings() {
+        return baseServings;
+    }
+
+    public int getIngredientCount() {
+        return ingredientCount;
+    }
+}
@@ -0,0 +1,22 @@
+package de.zeltlager.kuechenplaner.data.persistence.entity;
+
+/**
+ * Names of the Hibernate second-level cache regions. Size and expiry of each region are configured
+ * in {@code recipe-cache.conf}.
+ */
+public final class CacheRegions {
+
+    public static final String RECIPES = "recipes";
+    public static final String RECIPE_INGREDIENTS = "recipe-ingredients";
+    public static final String RECIPE_INGREDIENT_LISTS = "recipe-ingredient-lists";
+
+    /**
+     * Results of the recipe queries. Every query is restricted to one user and the user id is part
+     * of the cache key, so each user only ever hits their own entries. Hibernate drops a cached
+     * result as soon as one of the queried tables is written.
+     */
+    public static final String RECIPE_QUERIES = "recipe-queries";
+
+    private CacheRegions() {
+    }
+}
@@ -10,20 +10,30 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
 @Entity
 @Table(name = "menu_plan_entries")
 public class MenuPlanEntryEntity extends AuditableEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "menu_plan_entries_seq")
+    @SequenceGenerator(name = "menu_plan_entries_seq", sequenceName = "menu_plan_entries_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "user_id")
     private UserEntity user;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "recipe_id")
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    private RecipeEntity recipe;
+
     @Column(name = "menu_date", nullable = false)
     private LocalDate date;
 
@@ -45,6 +55,14 @@ public class MenuPlanEntryEntity extends AuditableEntity {
         this.user = user;
     }
 
+    public RecipeEntity getRecipe() {
+        return recipe;
+    }
+
+    public void setRecipe(RecipeEntity recipe) {
+        this.recipe = recipe;
+    }
+
     public LocalDate getDate() {
         return date;
     }
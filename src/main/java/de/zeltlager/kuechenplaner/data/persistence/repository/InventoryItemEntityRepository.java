@@ -1,15 +1,27 @@
 package de.zeltlager.kuechenplaner.data.persistence.repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import de.zeltlager.kuechenplaner.data.model.DataVersion;
 import de.zeltlager.kuechenplaner.data.persistence.entity.InventoryItemEntity;
 
 public interface InventoryItemEntityRepository extends JpaRepository<InventoryItemEntity, Long> {
 
     List<InventoryItemEntity> findAllByUser_IdOrderByIngredientAsc(Long userId);
 
+    List<InventoryItemEntity> findAllByUser_Id(Long userId);
+
+    List<InventoryItemEntity> findAllByUser_IdAndUpdatedAtAfterOrderByIngredientAsc(Long userId, Instant since);
+
+    @Query("select new de.zeltlager.kuechenplaner.data.model.DataVersion(count(i), max(i.updatedAt)) "
+            + "from InventoryItemEntity i where i.user.id = :userId")
+    DataVersion findVersionByUserId(@Param("userId") Long userId);
+
     Optional<InventoryItemEntity> findByUser_IdAndIngredientIgnoreCase(Long userId, String ingredient);
 }
@@ -1,17 +1,72 @@
 package de.zeltlager.kuechenplaner.data.persistence.repository;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import de.zeltlager.kuechenplaner.data.model.DataVersion;
+import de.zeltlager.kuechenplaner.data.model.IngredientTotal;
 import de.zeltlager.kuechenplaner.data.persistence.entity.MenuPlanEntryEntity;
 
 public interface MenuPlanEntryEntityRepository extends JpaRepository<MenuPlanEntryEntity, Long> {
 
-    List<MenuPlanEntryEntity> findAllByUser_IdOrderByDateAsc(Long userId);
+    /**
+     * Joins each entry to its recipe: the linked one, or for entries without a link (e.g. planned
+     * before the recipe existed) the user's oldest recipe with the same name. The resolved recipe id
+     * is {@code coalesce(linked.id, named.id)}.
+     */
+    String RESOLVE_RECIPE = "from MenuPlanEntryEntity m left join m.recipe linked "
+            + "left join RecipeEntity named on linked.id is null and named.user = m.user "
+            + "and lower(named.name) = lower(trim(m.mealName)) "
+            + "and named.id = (select min(candidate.id) from RecipeEntity candidate "
+            + "where candidate.user = m.user and lower(candidate.name) = lower(named.name)) ";
 
-    List<MenuPlanEntryEntity> findByUser_IdAndDateOrderByDateAsc(Long userId, LocalDate date);
+    String SELECT_ROWS = "select new de.zeltlager.kuechenplaner.data.persistence.repository.MenuPlanEntryRow("
+            + "m.date, m.mealName, m.servings, coalesce(linked.id, named.id)) "
+            + RESOLVE_RECIPE;
+
+    @Query(SELECT_ROWS + "where m.user.id = :userId order by m.date asc, m.id asc")
+    List<MenuPlanEntryRow> findRowsByUserId(@Param("userId") Long userId);
+
+    @Query(SELECT_ROWS + "where m.user.id = :userId and m.date = :date order by m.id asc")
+    List<MenuPlanEntryRow> findRowsByUserIdAndDate(@Param("userId") Long userId, @Param("date") LocalDate date);
+
+    @Query(SELECT_ROWS + "where m.user.id = :userId and m.date between :from and :to order by m.date asc, m.id asc")
+    List<MenuPlanEntryRow> findRowsByUserIdAndDateBetween(@Param("userId") Long userId,
+                                                          @Param("from") LocalDate from,
+                                                          @Param("to") LocalDate to);
+
+    @Query(SELECT_ROWS + "where m.user.id = :userId and m.updatedAt > :since order by m.date asc, m.id asc")
+    List<MenuPlanEntryRow> findRowsByUserIdAndUpdatedAtAfter(@Param("userId") Long userId,
+                                                             @Param("since") Instant since);
+
+    /**
+     * Sums ingredient amounts over the planned servings in the database so only one row per
+     * ingredient, unit and note is transferred. The recipe is resolved per entry first, so the
+     * ingredients are looked up through the {@code recipe_id} index of the user's planned recipes
+     * only.
+     */
+    String SUM_INGREDIENTS = "select new de.zeltlager.kuechenplaner.data.model.IngredientTotal("
+            + "i.name, i.unit, sum(i.amountPerServing * m.servings), i.notes, count(i)) "
+            + RESOLVE_RECIPE
+            + "join RecipeIngredientEntity i on i.recipe.id = coalesce(linked.id, named.id) "
+            + "where m.user.id = :userId ";
+
+    @Query(SUM_INGREDIENTS + "group by i.name, i.unit, i.notes")
+    List<IngredientTotal> sumIngredientsByUserId(@Param("userId") Long userId);
+
+    @Query(SUM_INGREDIENTS + "and m.date between :from and :to group by i.name, i.unit, i.notes")
+    List<IngredientTotal> sumIngredientsByUserIdAndDateBetween(@Param("userId") Long userId,
+                                                               @Param("from") LocalDate from,
+                                                               @Param("to") LocalDate to);
+
+    @Query("select new de.zeltlager.kuechenplaner.data.model.DataVersion(count(m), max(m.updatedAt)) "
+            + "from MenuPlanEntryEntity m where m.user.id = :userId")
+    DataVersion findVersionByUserId(@Param("userId") Long userId);
 
     long deleteByUser_IdAndDateAndMealNameIgnoreCaseAndServings(Long userId, LocalDate date, String mealName, int servings);
 }
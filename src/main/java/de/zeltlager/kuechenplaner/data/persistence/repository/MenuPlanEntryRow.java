@@ -0,0 +1,9 @@
+package de.zeltlager.kuechenplaner.data.persistence.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Read projection of a menu plan entry together with the id of the recipe it resolves to.
+ */
+public record MenuPlanEntryRow(LocalDate date, String mealName, int servings, Long recipeId) {
+}
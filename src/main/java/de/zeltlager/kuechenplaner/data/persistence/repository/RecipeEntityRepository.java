@@ -1,20 +1,112 @@
 package de.zeltlager.kuechenplaner.data.persistence.repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.QueryHint;
+
+import de.zeltlager.kuechenplaner.data.model.DataVersion;
+import de.zeltlager.kuechenplaner.data.model.RecipeSummary;
+import de.zeltlager.kuechenplaner.data.persistence.entity.CacheRegions;
 import de.zeltlager.kuechenplaner.data.persistence.entity.RecipeEntity;
 
-public interface RecipeEntityRepository extends JpaRepository<RecipeEntity, Long> {
+public interface RecipeEntityRepository extends JpaRepository<RecipeEntity, Long>, RecipeTextSearch {
+
+    /**
+     * Projects recipes to the columns of the overview list. The ingredient count is a correlated
+     * subquery, so neither ingredients nor instructions are transferred.
+     */
+    String SELECT_SUMMARIES = "select new de.zeltlager.kuechenplaner.data.model.RecipeSummary("
+            + "r.id, r.name, r.baseServings, size(r.ingredients)) "
+            + "from RecipeEntity r where r.user.id = :userId ";
 
     @EntityGraph(attributePaths = "ingredients")
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.RECIPE_QUERIES)})
     List<RecipeEntity> findAllByUser_IdOrderByNameAsc(Long userId);
 
+    /**
+     * Streams the recipes of a user with a forward-only cursor. The id ordering keeps the fetched
+     * ingredient rows of a recipe together. Must be consumed inside a transaction and closed.
+     */
     @EntityGraph(attributePaths = "ingredients")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    Stream<RecipeEntity> streamAllByUser_IdOrderByNameAscIdAsc(Long userId);
+
+    /**
+     * Like {@link #streamAllByUser_IdOrderByNameAscIdAsc(Long)}, limited to recipes whose row or
+     * one of whose ingredient rows was modified after {@code since}.
+     */
+    @EntityGraph(attributePaths = "ingredients")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query("select r from RecipeEntity r where r.user.id = :userId and (r.updatedAt > :since "
+            + "or exists (select i.id from RecipeIngredientEntity i where i.recipe = r and i.updatedAt > :since)) "
+            + "order by r.name asc, r.id asc")
+    Stream<RecipeEntity> streamUpdatedSince(@Param("userId") Long userId, @Param("since") Instant since);
+
+    @EntityGraph(attributePaths = "ingredients")
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.RECIPE_QUERIES)})
     Optional<RecipeEntity> findByIdAndUser_Id(Long id, Long userId);
 
+    @EntityGraph(attributePaths = "ingredients")
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.RECIPE_QUERIES)})
+    List<RecipeEntity> findAllByUser_IdAndIdIn(Long userId, Collection<Long> ids);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.RECIPE_QUERIES)})
+    @Query(SELECT_SUMMARIES + "order by r.name asc, r.id asc")
+    List<RecipeSummary> findSummariesByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.RECIPE_QUERIES)})
+    @Query(SELECT_SUMMARIES + "and r.id in :ids")
+    List<RecipeSummary> findSummariesByUserIdAndIdIn(@Param("userId") Long userId,
+                                                     @Param("ids") Collection<Long> ids);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.RECIPE_QUERIES)})
+    long countByUser_Id(Long userId);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.RECIPE_QUERIES)})
+    @Query("select new de.zeltlager.kuechenplaner.data.model.DataVersion(count(r), max(r.updatedAt)) "
+            + "from RecipeEntity r where r.user.id = :userId")
+    DataVersion findVersionByUserId(@Param("userId") Long userId);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.RECIPE_QUERIES)})
+    @Query("select new de.zeltlager.kuechenplaner.data.model.DataVersion(count(i), max(i.updatedAt)) "
+            + "from RecipeIngredientEntity i where i.recipe.user.id = :userId")
+    DataVersion findIngredientVersionByUserId(@Param("userId") Long userId);
+
+    boolean existsByIdAndUser_Id(Long id, Long userId);
+
+    @Query("select r.id from RecipeEntity r where r.user.id = :userId and r.id in :ids")
+    List<Long> findIdsByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    Optional<RecipeEntity> findFirstByUser_IdAndNameIgnoreCaseOrderByIdAsc(Long userId, String name);
+
+    /**
+     * Batch variant of {@link #findFirstByUser_IdAndNameIgnoreCaseOrderByIdAsc}; {@code names} have
+     * to be lower case.
+     */
+    @Query("select new de.zeltlager.kuechenplaner.data.persistence.repository.RecipeNameRow(lower(r.name), min(r.id)) "
+            + "from RecipeEntity r where r.user.id = :userId and lower(r.name) in :names group by lower(r.name)")
+    List<RecipeNameRow> findFirstIdsByUserIdAndNames(@Param("userId") Long userId,
+                                                     @Param("names") Collection<String> names);
+
     void deleteByIdAndUser_Id(Long id, Long userId);
 }
@@ -0,0 +1,7 @@
+package de.zeltlager.kuechenplaner.data.persistence.repository;
+
+/**
+ * Read projection of a lower-cased recipe name and the oldest recipe carrying it.
+ */
+public record RecipeNameRow(String name, Long recipeId) {
+}
@@ -0,0 +1,16 @@
+package de.zeltlager.kuechenplaner.data.persistence.repository;
+
+import java.util.List;
+
+/**
+ * Repository fragment for the text search over recipe names, instructions and ingredient names.
+ */
+public interface RecipeTextSearch {
+
+    /**
+     * Returns the ids of the user's recipes containing every word of the query, ordered by name.
+     * Words match anywhere, ignoring case, and each word may match a different field, e.g.
+     * {@code "kart salat"} finds "Kartoffelsalat" as well as a salad with potatoes.
+     */
+    List<Long> searchRecipeIds(long userId, String query, int limit, int offset);
+}
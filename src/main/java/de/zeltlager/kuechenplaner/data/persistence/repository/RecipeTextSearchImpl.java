@@ -0,0 +1,58 @@
+package de.zeltlager.kuechenplaner.data.persistence.repository;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Runs the text search as one {@code LIKE} query with a condition per word, the same on every
+ * database and like the in-memory repository. Full-text indexes only match whole words, so they
+ * cannot serve the partial words typed into the search field; on PostgreSQL the trigram indexes of
+ * the vendor migration serve these patterns instead. H2 has no index for infix patterns, so there
+ * the search scans the recipes and ingredients of the current user.
+ */
+class RecipeTextSearchImpl implements RecipeTextSearch {
+
+    private static final String SELECT = "select r.id from RecipeEntity r where r.user.id = :userId";
+
+    private static final String WORD_CONDITION = " and (lower(r.name) like :%1$s escape '!' "
+            + "or lower(r.instructions) like :%1$s escape '!' "
+            + "or exists (select i.id from RecipeIngredientEntity i where i.recipe = r "
+            + "and lower(i.name) like :%1$s escape '!'))";
+
+    private static final String ORDER = " order by r.name, r.id";
+
+    private final EntityManager entityManager;
+
+    RecipeTextSearchImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Long> searchRecipeIds(long userId, String query, int limit, int offset) {
+        List<String> words = Arrays.stream(query.trim().split("\\s+"))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableList());
+        StringBuilder jpql = new StringBuilder(SELECT);
+        for (int i = 0; i < words.size(); i++) {
+            jpql.append(String.format(WORD_CONDITION, "word" + i));
+        }
+        TypedQuery<Long> search = entityManager.createQuery(jpql.append(ORDER).toString(), Long.class)
+                .setParameter("userId", userId)
+                .setFirstResult(offset)
+                .setMaxResults(limit);
+        for (int i = 0; i < words.size(); i++) {
+            search.setParameter("word" + i, "%" + escapeLike(words.get(i)) + "%");
+        }
+        return search.getResultList();
+    }
+
+    private static String escapeLike(String word) {
+        return word.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
@@ -1,7 +1,9 @@
 package de.zeltlager.kuechenplaner.data.repository;
 
+import de.zeltlager.kuechenplaner.data.model.DataVersion;
 import de.zeltlager.kuechenplaner.data.model.InventoryItem;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,7 +14,23 @@ public interface InventoryRepository {
 
     List<InventoryItem> findAll();
 
+    /**
+     * Returns the items that were created or changed after {@code since}, ordered by ingredient.
+     */
+    List<InventoryItem> findUpdatedSince(Instant since);
+
+    /**
+     * Returns the row count and newest modification time of the inventory items without loading them.
+     */
+    DataVersion getVersion();
+
     Optional<InventoryItem> findByIngredient(String ingredient);
 
     void save(InventoryItem item);
+
+    /**
+     * Inserts or updates all given items, matching existing rows by ingredient name ignoring case.
+     * If the same ingredient appears more than once, the last item wins.
+     */
+    void saveAll(List<InventoryItem> items);
 }
@@ -1,7 +1,10 @@
 package de.zeltlager.kuechenplaner.data.repository;
 
+import de.zeltlager.kuechenplaner.data.model.DataVersion;
+import de.zeltlager.kuechenplaner.data.model.IngredientTotal;
 import de.zeltlager.kuechenplaner.data.model.MenuPlanEntry;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -14,7 +17,47 @@ public interface MenuPlanRepository {
 
     List<MenuPlanEntry> findByDate(LocalDate date);
 
-    void save(MenuPlanEntry entry);
+    /**
+     * Returns all entries between {@code from} and {@code to} (both inclusive), ordered by date.
+     */
+    List<MenuPlanEntry> findByDateRange(LocalDate from, LocalDate to);
+
+    /**
+     * Returns the entries that were created or changed after {@code since}, ordered by date.
+     */
+    List<MenuPlanEntry> findUpdatedSince(Instant since);
+
+    /**
+     * Returns the row count and newest modification time of the menu plan entries without loading them.
+     */
+    DataVersion getVersion();
+
+    /**
+     * Sums the ingredient amounts of all planned recipes (amount per serving times planned
+     * servings), grouped by ingredient name, unit and notes.
+     */
+    List<IngredientTotal> sumIngredients();
+
+    /**
+     * Like {@link #sumIngredients()}, restricted to entries between {@code from} and {@code to}.
+     */
+    List<IngredientTotal> sumIngredientsByDateRange(LocalDate from, LocalDate to);
+
+    /**
+     * Stores the entry and links it to its recipe. Meals without a recipe id are linked to the
+     * recipe with the same name, if there is one.
+     *
+     * @return the stored entry including the resolved recipe id
+     */
+    MenuPlanEntry save(MenuPlanEntry entry);
+
+    /**
+     * Stores several entries like {@link #save(MenuPlanEntry)}, resolving all recipes up front.
+     * Nothing is stored if one of the recipe ids does not exist.
+     *
+     * @return the stored entries in the given order
+     */
+    List<MenuPlanEntry> saveAll(List<MenuPlanEntry> entries);
 
     void delete(MenuPlanEntry entry);
 }
@@ -1,11 +1,16 @@
 package de.zeltlager.kuechenplaner.data.repository;
 
+import de.zeltlager.kuechenplaner.data.model.DataVersion;
 import de.zeltlager.kuechenplaner.data.model.Ingredient;
 import de.zeltlager.kuechenplaner.data.model.Recipe;
+import de.zeltlager.kuechenplaner.data.model.RecipeSummary;
 import de.zeltlager.kuechenplaner.data.model.RecipeWithIngredients;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Repository abstraction for persisting recipes including their ingredients.
@@ -14,10 +19,57 @@ public interface RecipeRepository {
 
     RecipeWithIngredients create(Recipe recipe, List<Ingredient> ingredients);
 
+    /**
+     * Persists several new recipes together so the backend can batch the inserts.
+     */
+    List<RecipeWithIngredients> createAll(List<RecipeWithIngredients> recipes);
+
     Optional<RecipeWithIngredients> findById(long id);
 
+    /**
+     * Loads all recipes with the given ids in a single round trip. Unknown ids are skipped.
+     */
+    List<RecipeWithIngredients> findAllByIds(Collection<Long> ids);
+
     List<RecipeWithIngredients> findAll();
 
+    /**
+     * Returns one page of recipe summaries ordered by name, without loading ingredients.
+     */
+    List<RecipeSummary> findSummaries(int page, int pageSize);
+
+    long count();
+
+    /**
+     * Returns the row count and newest modification time of the current user's recipes without
+     * loading them. Ingredient rows count as well, so removing an ingredient changes the version.
+     */
+    DataVersion getVersion();
+
+    /**
+     * Passes all recipes ordered by name to the action one at a time without collecting them
+     * into a list first.
+     */
+    void forEachRecipe(Consumer<RecipeWithIngredients> action);
+
+    /**
+     * Like {@link #forEachRecipe(Consumer)}, limited to recipes that were created or changed after
+     * {@code since}, including changes to their ingredients.
+     */
+    void forEachRecipeUpdatedSince(Instant since, Consumer<RecipeWithIngredients> action);
+
+    /**
+     * Text search over recipe names, instructions and ingredient names, ordered by name. A recipe
+     * matches when it contains every word of the query, ignoring case; words also match parts of
+     * longer words.
+     */
+    List<RecipeWithIngredients> search(String query, int limit, int offset);
+
+    /**
+     * Like {@link #search(String, int, int)}, returning summaries instead of full recipes.
+     */
+    List<RecipeSummary> searchSummaries(String query, int limit, int offset);
+
     RecipeWithIngredients update(Recipe recipe, List<Ingredient> ingredients);
 
     void delete(long id);
@@ -1,6 +1,11 @@
 package de.zeltlager.kuechenplaner.data.repository.jpa;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -8,6 +13,7 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import de.zeltlager.kuechenplaner.data.model.DataVersion;
 import de.zeltlager.kuechenplaner.data.model.InventoryItem;
 import de.zeltlager.kuechenplaner.data.persistence.entity.InventoryItemEntity;
 import de.zeltlager.kuechenplaner.data.persistence.entity.UserEntity;
@@ -32,24 +38,39 @@ public class JpaInventoryRepository implements InventoryRepository {
     @Override
     @Transactional(readOnly = true)
     public List<InventoryItem> findAll() {
-        UserEntity user = userAccountService.ensureCurrentUserEntity();
-        return inventoryItemEntityRepository.findAllByUser_IdOrderByIngredientAsc(user.getId()).stream()
+        long userId = userAccountService.getCurrentUserId();
+        return inventoryItemEntityRepository.findAllByUser_IdOrderByIngredientAsc(userId).stream()
                 .map(this::mapToDomain)
                 .collect(Collectors.toUnmodifiableList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<InventoryItem> findUpdatedSince(Instant since) {
+        long userId = userAccountService.getCurrentUserId();
+        return inventoryItemEntityRepository.findAllByUser_IdAndUpdatedAtAfterOrderByIngredientAsc(userId, since).stream()
+                .map(this::mapToDomain)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DataVersion getVersion() {
+        return inventoryItemEntityRepository.findVersionByUserId(userAccountService.getCurrentUserId());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<InventoryItem> findByIngredient(String ingredient) {
-        UserEntity user = userAccountService.ensureCurrentUserEntity();
+        long userId = userAccountService.getCurrentUserId();
         return inventoryItemEntityRepository
-                .findByUser_IdAndIngredientIgnoreCase(user.getId(), ingredient)
+                .findByUser_IdAndIngredientIgnoreCase(userId, ingredient)
                 .map(this::mapToDomain);
     }
 
     @Override
     public void save(InventoryItem item) {
-        UserEntity user = userAccountService.ensureCurrentUserEntity();
+        UserEntity user = userAccountService.getCurrentUserReference();
         String sanitizedIngredient = sanitize(item.getIngredient());
 
         InventoryItemEntity entity = inventoryItemEntityRepository
@@ -64,10 +85,40 @@ public class JpaInventoryRepository implements InventoryRepository {
         inventoryItemEntityRepository.save(entity);
     }
 
+    @Override
+    public void saveAll(List<InventoryItem> items) {
+        UserEntity user = userAccountService.getCurrentUserReference();
+        Map<String, InventoryItemEntity> entitiesByIngredient = new HashMap<>();
+        for (InventoryItemEntity entity : inventoryItemEntityRepository.findAllByUser_Id(user.getId())) {
+            entitiesByIngredient.put(key(entity.getIngredient()), entity);
+        }
+
+        List<InventoryItemEntity> newEntities = new ArrayList<>();
+        for (InventoryItem item : items) {
+            String sanitizedIngredient = sanitize(item.getIngredient());
+            InventoryItemEntity entity = entitiesByIngredient.computeIfAbsent(key(sanitizedIngredient), key -> {
+                InventoryItemEntity created = new InventoryItemEntity();
+                created.setUser(user);
+                newEntities.add(created);
+                return created;
+            });
+            entity.setIngredient(sanitizedIngredient);
+            entity.setQuantity(item.getQuantity());
+            entity.setUnit(item.getUnit());
+        }
+
+        // Existing rows are managed and get flushed as batched updates on commit.
+        inventoryItemEntityRepository.saveAll(newEntities);
+    }
+
     private InventoryItem mapToDomain(InventoryItemEntity entity) {
         return new InventoryItem(entity.getIngredient(), entity.getQuantity(), entity.getUnit());
     }
 
+    private String key(String ingredient) {
+        return ingredient.toLowerCase(Locale.ROOT);
+    }
+
     private String sanitize(String ingredient) {
         if (ingredient == null) {
             throw new IllegalArgumentException("Ingredient name must not be null");
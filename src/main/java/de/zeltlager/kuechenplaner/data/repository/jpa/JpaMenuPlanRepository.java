@@ -1,18 +1,30 @@
 package de.zeltlager.kuechenplaner.data.repository.jpa;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import de.zeltlager.kuechenplaner.data.model.DataVersion;
+import de.zeltlager.kuechenplaner.data.model.IngredientTotal;
 import de.zeltlager.kuechenplaner.data.model.Meal;
 import de.zeltlager.kuechenplaner.data.model.MenuPlanEntry;
 import de.zeltlager.kuechenplaner.data.persistence.entity.MenuPlanEntryEntity;
+import de.zeltlager.kuechenplaner.data.persistence.entity.RecipeEntity;
 import de.zeltlager.kuechenplaner.data.persistence.entity.UserEntity;
 import de.zeltlager.kuechenplaner.data.persistence.repository.MenuPlanEntryEntityRepository;
+import de.zeltlager.kuechenplaner.data.persistence.repository.MenuPlanEntryRow;
+import de.zeltlager.kuechenplaner.data.persistence.repository.RecipeEntityRepository;
+import de.zeltlager.kuechenplaner.data.persistence.repository.RecipeNameRow;
 import de.zeltlager.kuechenplaner.data.repository.MenuPlanRepository;
 import de.zeltlager.kuechenplaner.user.UserAccountService;
 
@@ -22,52 +34,144 @@ import de.zeltlager.kuechenplaner.user.UserAccountService;
 public class JpaMenuPlanRepository implements MenuPlanRepository {
 
     private final MenuPlanEntryEntityRepository menuPlanEntryEntityRepository;
+    private final RecipeEntityRepository recipeEntityRepository;
     private final UserAccountService userAccountService;
 
     public JpaMenuPlanRepository(MenuPlanEntryEntityRepository menuPlanEntryEntityRepository,
+                                 RecipeEntityRepository recipeEntityRepository,
                                  UserAccountService userAccountService) {
         this.menuPlanEntryEntityRepository = menuPlanEntryEntityRepository;
+        this.recipeEntityRepository = recipeEntityRepository;
         this.userAccountService = userAccountService;
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<MenuPlanEntry> findAll() {
-        UserEntity user = userAccountService.ensureCurrentUserEntity();
-        return menuPlanEntryEntityRepository.findAllByUser_IdOrderByDateAsc(user.getId()).stream()
-                .map(this::mapToDomain)
-                .collect(Collectors.toUnmodifiableList());
+        long userId = userAccountService.getCurrentUserId();
+        return mapRows(menuPlanEntryEntityRepository.findRowsByUserId(userId));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<MenuPlanEntry> findByDate(LocalDate date) {
-        UserEntity user = userAccountService.ensureCurrentUserEntity();
-        return menuPlanEntryEntityRepository.findByUser_IdAndDateOrderByDateAsc(user.getId(), date).stream()
-                .map(this::mapToDomain)
+        long userId = userAccountService.getCurrentUserId();
+        return mapRows(menuPlanEntryEntityRepository.findRowsByUserIdAndDate(userId, date));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MenuPlanEntry> findByDateRange(LocalDate from, LocalDate to) {
+        long userId = userAccountService.getCurrentUserId();
+        return mapRows(menuPlanEntryEntityRepository.findRowsByUserIdAndDateBetween(userId, from, to));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MenuPlanEntry> findUpdatedSince(Instant since) {
+        long userId = userAccountService.getCurrentUserId();
+        return mapRows(menuPlanEntryEntityRepository.findRowsByUserIdAndUpdatedAtAfter(userId, since));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DataVersion getVersion() {
+        return menuPlanEntryEntityRepository.findVersionByUserId(userAccountService.getCurrentUserId());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<IngredientTotal> sumIngredients() {
+        long userId = userAccountService.getCurrentUserId();
+        return menuPlanEntryEntityRepository.sumIngredientsByUserId(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<IngredientTotal> sumIngredientsByDateRange(LocalDate from, LocalDate to) {
+        long userId = userAccountService.getCurrentUserId();
+        return menuPlanEntryEntityRepository.sumIngredientsByUserIdAndDateBetween(userId, from, to);
+    }
+
+    @Override
+    public MenuPlanEntry save(MenuPlanEntry entry) {
+        UserEntity user = userAccountService.getCurrentUserReference();
+        MenuPlanEntryEntity entity = toEntity(user, entry, resolveRecipe(user.getId(), entry.getMeal()));
+        return toEntry(menuPlanEntryEntityRepository.save(entity));
+    }
+
+    @Override
+    public List<MenuPlanEntry> saveAll(List<MenuPlanEntry> entries) {
+        UserEntity user = userAccountService.getCurrentUserReference();
+        Set<Long> linkedIds = new HashSet<>();
+        Set<String> names = new HashSet<>();
+        for (MenuPlanEntry entry : entries) {
+            entry.getMeal().getRecipeId().ifPresentOrElse(linkedIds::add,
+                    () -> names.add(normalizeName(entry.getMeal().getName())));
+        }
+        Set<Long> existingIds = linkedIds.isEmpty() ? Set.of()
+                : new HashSet<>(recipeEntityRepository.findIdsByUserIdAndIdIn(user.getId(), linkedIds));
+        Map<String, Long> idsByName = names.isEmpty() ? Map.of()
+                : recipeEntityRepository.findFirstIdsByUserIdAndNames(user.getId(), names).stream()
+                        .collect(Collectors.toMap(RecipeNameRow::name, RecipeNameRow::recipeId));
+
+        List<MenuPlanEntryEntity> entities = new ArrayList<>(entries.size());
+        for (MenuPlanEntry entry : entries) {
+            Meal meal = entry.getMeal();
+            Long recipeId = meal.getRecipeId().orElseGet(() -> idsByName.get(normalizeName(meal.getName())));
+            if (meal.getRecipeId().isPresent() && !existingIds.contains(recipeId)) {
+                throw new IllegalArgumentException("Recipe with id " + recipeId + " does not exist");
+            }
+            RecipeEntity recipe = recipeId == null ? null : recipeEntityRepository.getReferenceById(recipeId);
+            entities.add(toEntity(user, entry, recipe));
+        }
+        return menuPlanEntryEntityRepository.saveAll(entities).stream()
+                .map(JpaMenuPlanRepository::toEntry)
                 .collect(Collectors.toUnmodifiableList());
     }
 
     @Override
-    public void save(MenuPlanEntry entry) {
-        UserEntity user = userAccountService.ensureCurrentUserEntity();
+    public void delete(MenuPlanEntry entry) {
+        long userId = userAccountService.getCurrentUserId();
+        menuPlanEntryEntityRepository.deleteByUser_IdAndDateAndMealNameIgnoreCaseAndServings(
+                userId, entry.getDate(), entry.getMeal().getName(), entry.getMeal().getServings());
+    }
+
+    private RecipeEntity resolveRecipe(long userId, Meal meal) {
+        if (meal.getRecipeId().isPresent()) {
+            long recipeId = meal.getRecipeId().get();
+            if (!recipeEntityRepository.existsByIdAndUser_Id(recipeId, userId)) {
+                throw new IllegalArgumentException("Recipe with id " + recipeId + " does not exist");
+            }
+            return recipeEntityRepository.getReferenceById(recipeId);
+        }
+        return recipeEntityRepository
+                .findFirstByUser_IdAndNameIgnoreCaseOrderByIdAsc(userId, meal.getName().trim())
+                .orElse(null);
+    }
+
+    private static MenuPlanEntryEntity toEntity(UserEntity user, MenuPlanEntry entry, RecipeEntity recipe) {
         MenuPlanEntryEntity entity = new MenuPlanEntryEntity();
         entity.setUser(user);
+        entity.setRecipe(recipe);
         entity.setDate(entry.getDate());
         entity.setMealName(entry.getMeal().getName());
         entity.setServings(entry.getMeal().getServings());
-        menuPlanEntryEntityRepository.save(entity);
+        return entity;
     }
 
-    @Override
-    public void delete(MenuPlanEntry entry) {
-        UserEntity user = userAccountService.ensureCurrentUserEntity();
-        menuPlanEntryEntityRepository.deleteByUser_IdAndDateAndMealNameIgnoreCaseAndServings(
-                user.getId(), entry.getDate(), entry.getMeal().getName(), entry.getMeal().getServings());
+    private static MenuPlanEntry toEntry(MenuPlanEntryEntity entity) {
+        Long recipeId = entity.getRecipe() == null ? null : entity.getRecipe().getId();
+        return new MenuPlanEntry(entity.getDate(), new Meal(entity.getMealName(), entity.getServings(), recipeId));
     }
 
-    private MenuPlanEntry mapToDomain(MenuPlanEntryEntity entity) {
-        Meal meal = new Meal(entity.getMealName(), entity.getServings());
-        return new MenuPlanEntry(entity.getDate(), meal);
+    private static String normalizeName(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private List<MenuPlanEntry> mapRows(List<MenuPlanEntryRow> rows) {
+        return rows.stream()
+                .map(row -> new MenuPlanEntry(row.date(), new Meal(row.mealName(), row.servings(), row.recipeId())))
+                .collect(Collectors.toUnmodifiableList());
     }
 }
@@ -1,16 +1,31 @@
 package de.zeltlager.kuechenplaner.data.repository.jpa;
 
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import jakarta.persistence.EntityManager;
+
+import org.hibernate.Cache;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import de.zeltlager.kuechenplaner.data.model.DataVersion;
 import de.zeltlager.kuechenplaner.data.model.Ingredient;
 import de.zeltlager.kuechenplaner.data.model.Recipe;
+import de.zeltlager.kuechenplaner.data.model.RecipeSummary;
 import de.zeltlager.kuechenplaner.data.model.RecipeWithIngredients;
 import de.zeltlager.kuechenplaner.data.persistence.entity.RecipeEntity;
 import de.zeltlager.kuechenplaner.data.persistence.entity.RecipeIngredientEntity;
@@ -24,44 +39,158 @@ import de.zeltlager.kuechenplaner.user.UserAccountService;
 @Transactional
 public class JpaRecipeRepository implements RecipeRepository {
 
+    private static final String INGREDIENTS_ROLE = RecipeEntity.class.getName() + ".ingredients";
+
     private final RecipeEntityRepository recipeEntityRepository;
     private final UserAccountService userAccountService;
+    private final EntityManager entityManager;
 
     public JpaRecipeRepository(RecipeEntityRepository recipeEntityRepository,
-                               UserAccountService userAccountService) {
+                               UserAccountService userAccountService,
+                               EntityManager entityManager) {
         this.recipeEntityRepository = recipeEntityRepository;
         this.userAccountService = userAccountService;
+        this.entityManager = entityManager;
     }
 
     @Override
     public RecipeWithIngredients create(Recipe recipe, List<Ingredient> ingredients) {
-        UserEntity user = userAccountService.ensureCurrentUserEntity();
+        UserEntity user = userAccountService.getCurrentUserReference();
         RecipeEntity entity = mapToEntity(recipe, ingredients, user);
         RecipeEntity saved = recipeEntityRepository.save(entity);
         return mapToDomain(saved);
     }
 
+    @Override
+    public List<RecipeWithIngredients> createAll(List<RecipeWithIngredients> recipes) {
+        if (recipes.isEmpty()) {
+            return List.of();
+        }
+        UserEntity user = userAccountService.getCurrentUserReference();
+        List<RecipeEntity> entities = new ArrayList<>(recipes.size());
+        for (RecipeWithIngredients recipe : recipes) {
+            entities.add(mapToEntity(recipe.getRecipe(), recipe.getIngredients(), user));
+        }
+        return recipeEntityRepository.saveAll(entities).stream()
+                .map(this::mapToDomain)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<RecipeWithIngredients> findById(long id) {
-        UserEntity user = userAccountService.ensureCurrentUserEntity();
-        return recipeEntityRepository.findByIdAndUser_Id(id, user.getId()).map(this::mapToDomain);
+        long userId = userAccountService.getCurrentUserId();
+        return recipeEntityRepository.findByIdAndUser_Id(id, userId).map(this::mapToDomain);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RecipeWithIngredients> findAllByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        long userId = userAccountService.getCurrentUserId();
+        return recipeEntityRepository.findAllByUser_IdAndIdIn(userId, ids).stream()
+                .map(this::mapToDomain)
+                .collect(Collectors.toUnmodifiableList());
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<RecipeWithIngredients> findAll() {
-        UserEntity user = userAccountService.ensureCurrentUserEntity();
-        return recipeEntityRepository.findAllByUser_IdOrderByNameAsc(user.getId()).stream()
+        long userId = userAccountService.getCurrentUserId();
+        return recipeEntityRepository.findAllByUser_IdOrderByNameAsc(userId).stream()
                 .map(this::mapToDomain)
                 .collect(Collectors.toUnmodifiableList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<RecipeSummary> findSummaries(int page, int pageSize) {
+        long userId = userAccountService.getCurrentUserId();
+        return List.copyOf(recipeEntityRepository.findSummariesByUserId(userId, PageRequest.of(page, pageSize)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long count() {
+        return recipeEntityRepository.countByUser_Id(userAccountService.getCurrentUserId());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DataVersion getVersion() {
+        long userId = userAccountService.getCurrentUserId();
+        return recipeEntityRepository.findVersionByUserId(userId)
+                .combine(recipeEntityRepository.findIngredientVersionByUserId(userId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachRecipe(Consumer<RecipeWithIngredients> action) {
+        long userId = userAccountService.getCurrentUserId();
+        try (Stream<RecipeEntity> entities = recipeEntityRepository.streamAllByUser_IdOrderByNameAscIdAsc(userId)) {
+            entities.forEach(entity -> {
+                action.accept(mapToDomain(entity));
+                entityManager.detach(entity);
+            });
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachRecipeUpdatedSince(Instant since, Consumer<RecipeWithIngredients> action) {
+        long userId = userAccountService.getCurrentUserId();
+        try (Stream<RecipeEntity> entities = recipeEntityRepository.streamUpdatedSince(userId, since)) {
+            entities.forEach(entity -> {
+                action.accept(mapToDomain(entity));
+                entityManager.detach(entity);
+            });
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RecipeWithIngredients> search(String query, int limit, int offset) {
+        long userId = userAccountService.getCurrentUserId();
+        List<Long> ids = recipeEntityRepository.searchRecipeIds(userId, query, limit, offset);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, RecipeWithIngredients> recipesById = new HashMap<>();
+        for (RecipeEntity entity : recipeEntityRepository.findAllByUser_IdAndIdIn(userId, ids)) {
+            recipesById.put(entity.getId(), mapToDomain(entity));
+        }
+        // The IN query loses the order of the search.
+        return ids.stream()
+                .map(recipesById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RecipeSummary> searchSummaries(String query, int limit, int offset) {
+        long userId = userAccountService.getCurrentUserId();
+        List<Long> ids = recipeEntityRepository.searchRecipeIds(userId, query, limit, offset);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, RecipeSummary> summariesById = new HashMap<>();
+        for (RecipeSummary summary : recipeEntityRepository.findSummariesByUserIdAndIdIn(userId, ids)) {
+            summariesById.put(summary.getId(), summary);
+        }
+        return ids.stream()
+                .map(summariesById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
     @Override
     public RecipeWithIngredients update(Recipe recipe, List<Ingredient> ingredients) {
         long recipeId = recipe.getId().orElseThrow(() -> new IllegalArgumentException("Recipe ID must be present"));
-        UserEntity user = userAccountService.ensureCurrentUserEntity();
-        RecipeEntity entity = recipeEntityRepository.findByIdAndUser_Id(recipeId, user.getId())
+        long userId = userAccountService.getCurrentUserId();
+        RecipeEntity entity = recipeEntityRepository.findByIdAndUser_Id(recipeId, userId)
                 .orElseThrow(() -> new IllegalArgumentException("Recipe with id " + recipeId + " does not exist"));
 
         entity.setName(recipe.getName());
@@ -76,13 +205,32 @@ public class JpaRecipeRepository implements RecipeRepository {
         }
 
         RecipeEntity saved = recipeEntityRepository.save(entity);
+        evictFromCacheAfterCommit(recipeId);
         return mapToDomain(saved);
     }
 
     @Override
     public void delete(long id) {
-        UserEntity user = userAccountService.ensureCurrentUserEntity();
-        recipeEntityRepository.deleteByIdAndUser_Id(id, user.getId());
+        long userId = userAccountService.getCurrentUserId();
+        recipeEntityRepository.deleteByIdAndUser_Id(id, userId);
+        evictFromCacheAfterCommit(id);
+    }
+
+    /**
+     * Drops the cached recipe and its ingredient list once the transaction has committed. Hibernate
+     * updates the second-level cache on flush already; the eviction makes sure the next read goes
+     * to the database even if the write did not pass through the cached entity. The repository is
+     * transactional, so there always is a transaction to register with.
+     */
+    private void evictFromCacheAfterCommit(long recipeId) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache().unwrap(Cache.class);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.evictEntityData(RecipeEntity.class, recipeId);
+                cache.evictCollectionData(INGREDIENTS_ROLE, recipeId);
+            }
+        });
     }
 
     private RecipeEntity mapToEntity(Recipe recipe, List<Ingredient> ingredients, UserEntity user) {
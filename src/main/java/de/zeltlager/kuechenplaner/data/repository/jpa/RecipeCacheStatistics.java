@@ -0,0 +1,70 @@
+package de.zeltlager.kuechenplaner.data.repository.jpa;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import de.zeltlager.kuechenplaner.data.persistence.entity.CacheRegions;
+
+/**
+ * Reads the hit and miss counts of the recipe cache regions from the Hibernate statistics. The
+ * counts cover all users since the application started. Hibernate only collects them with
+ * {@code HIBERNATE_STATISTICS=true}; otherwise no regions are reported.
+ */
+@Component
+@Profile("!memory")
+public class RecipeCacheStatistics {
+
+    private static final List<String> DOMAIN_REGIONS = List.of(
+            CacheRegions.RECIPES,
+            CacheRegions.RECIPE_INGREDIENTS,
+            CacheRegions.RECIPE_INGREDIENT_LISTS);
+
+    private final Statistics statistics;
+
+    public RecipeCacheStatistics(EntityManagerFactory entityManagerFactory) {
+        Objects.requireNonNull(entityManagerFactory, "entityManagerFactory");
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public boolean isEnabled() {
+        return statistics.isStatisticsEnabled();
+    }
+
+    public List<RegionStatistics> getRegionStatistics() {
+        if (!isEnabled()) {
+            return List.of();
+        }
+        List<RegionStatistics> result = new ArrayList<>(DOMAIN_REGIONS.size() + 1);
+        for (String region : DOMAIN_REGIONS) {
+            result.add(RegionStatistics.of(region, statistics.getDomainDataRegionStatistics(region)));
+        }
+        // The query region only exists once the first cacheable query ran.
+        result.add(RegionStatistics.of(CacheRegions.RECIPE_QUERIES,
+                statistics.getQueryRegionStatistics(CacheRegions.RECIPE_QUERIES)));
+        return List.copyOf(result);
+    }
+
+    public record RegionStatistics(String region, long hitCount, long missCount, long putCount,
+            double hitRatio) {
+
+        static RegionStatistics of(String region, CacheRegionStatistics statistics) {
+            if (statistics == null) {
+                return new RegionStatistics(region, 0, 0, 0, 0);
+            }
+            long hits = statistics.getHitCount();
+            long misses = statistics.getMissCount();
+            long lookups = hits + misses;
+            return new RegionStatistics(region, hits, misses, statistics.getPutCount(),
+                    lookups == 0 ? 0 : (double) hits / lookups);
+        }
+    }
+}
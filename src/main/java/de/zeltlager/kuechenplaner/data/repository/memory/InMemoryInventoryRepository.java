@@ -1,43 +1,79 @@
 package de.zeltlager.kuechenplaner.data.repository.memory;
 
+import de.zeltlager.kuechenplaner.data.model.DataVersion;
 import de.zeltlager.kuechenplaner.data.model.InventoryItem;
 import de.zeltlager.kuechenplaner.data.repository.InventoryRepository;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.time.Instant;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 /**
  * Simple in-memory inventory that can be replaced by a persistent implementation later.
+ * Items are keyed by their normalized ingredient name, so the repository is safe to use from
+ * several background workers at once and reads return snapshots. Each item keeps the time of its
+ * last change for incremental backups.
  */
 @Repository
 @Profile("memory")
 public class InMemoryInventoryRepository implements InventoryRepository {
 
-    private final List<InventoryItem> items = new ArrayList<>();
+    private static final Comparator<InventoryItem> BY_INGREDIENT =
+            Comparator.comparing(InventoryItem::getIngredient, String.CASE_INSENSITIVE_ORDER);
+
+    private final Map<String, StoredItem> itemsByIngredient = new ConcurrentHashMap<>();
 
     @Override
     public List<InventoryItem> findAll() {
-        return Collections.unmodifiableList(items);
+        return itemsByIngredient.values().stream()
+                .map(StoredItem::item)
+                .sorted(BY_INGREDIENT)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    @Override
+    public List<InventoryItem> findUpdatedSince(Instant since) {
+        return itemsByIngredient.values().stream()
+                .filter(stored -> stored.updatedAt().isAfter(since))
+                .map(StoredItem::item)
+                .sorted(BY_INGREDIENT)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    @Override
+    public DataVersion getVersion() {
+        return itemsByIngredient.values().stream()
+                .map(stored -> new DataVersion(1, stored.updatedAt()))
+                .reduce(DataVersion.EMPTY, DataVersion::combine);
     }
 
     @Override
     public Optional<InventoryItem> findByIngredient(String ingredient) {
-        return items.stream()
-                .filter(item -> item.getIngredient().equalsIgnoreCase(ingredient))
-                .findFirst();
+        return Optional.ofNullable(itemsByIngredient.get(key(ingredient))).map(StoredItem::item);
     }
 
     @Override
     public void save(InventoryItem item) {
-        findByIngredient(item.getIngredient())
-                .ifPresentOrElse(existing -> {
-                    items.remove(existing);
-                    items.add(item);
-                }, () -> items.add(item));
+        itemsByIngredient.put(key(item.getIngredient()), new StoredItem(item, Instant.now()));
+    }
+
+    @Override
+    public void saveAll(List<InventoryItem> itemsToSave) {
+        itemsToSave.forEach(this::save);
+    }
+
+    private static String key(String ingredient) {
+        return ingredient.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record StoredItem(InventoryItem item, Instant updatedAt) {
     }
 }
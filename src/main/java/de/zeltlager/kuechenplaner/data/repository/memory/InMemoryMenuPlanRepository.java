@@ -1,12 +1,24 @@
 package de.zeltlager.kuechenplaner.data.repository.memory;
 
+import de.zeltlager.kuechenplaner.data.model.DataVersion;
+import de.zeltlager.kuechenplaner.data.model.Ingredient;
+import de.zeltlager.kuechenplaner.data.model.IngredientTotal;
+import de.zeltlager.kuechenplaner.data.model.Meal;
 import de.zeltlager.kuechenplaner.data.model.MenuPlanEntry;
+import de.zeltlager.kuechenplaner.data.model.RecipeWithIngredients;
 import de.zeltlager.kuechenplaner.data.repository.MenuPlanRepository;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.stream.Collectors;
 
 import org.springframework.context.annotation.Profile;
@@ -14,34 +26,146 @@ import org.springframework.stereotype.Repository;
 
 /**
  * In-memory implementation that keeps menu plan data inside the running application.
+ * Entries are indexed by date; each date holds an immutable list that is replaced on every
+ * change, so concurrent readers always see a consistent snapshot. Recipe links behave like the
+ * database foreign key: links to deleted recipes are dropped and unlinked entries fall back to
+ * the recipe with the same name. Entries remember when they were stored for incremental backups.
  */
 @Repository
 @Profile("memory")
 public class InMemoryMenuPlanRepository implements MenuPlanRepository {
 
-    private final List<MenuPlanEntry> entries = new ArrayList<>();
+    private final NavigableMap<LocalDate, List<StoredEntry>> entriesByDate = new ConcurrentSkipListMap<>();
+    private final InMemoryRecipeRepository recipeRepository;
+
+    public InMemoryMenuPlanRepository(InMemoryRecipeRepository recipeRepository) {
+        this.recipeRepository = Objects.requireNonNull(recipeRepository, "recipeRepository");
+    }
 
     @Override
     public List<MenuPlanEntry> findAll() {
-        return Collections.unmodifiableList(entries);
+        return resolve(entriesByDate.values());
     }
 
     @Override
     public List<MenuPlanEntry> findByDate(LocalDate date) {
-        return entries.stream()
-                .filter(entry -> entry.getDate().equals(date))
+        return resolve(List.of(entriesByDate.getOrDefault(date, List.of())));
+    }
+
+    @Override
+    public List<MenuPlanEntry> findByDateRange(LocalDate from, LocalDate to) {
+        return resolve(entriesByDate.subMap(from, true, to, true).values());
+    }
+
+    @Override
+    public List<MenuPlanEntry> findUpdatedSince(Instant since) {
+        return entriesByDate.values().stream()
+                .flatMap(List::stream)
+                .filter(stored -> stored.storedAt().isAfter(since))
+                .map(stored -> resolve(stored.entry()))
                 .collect(Collectors.toUnmodifiableList());
     }
 
     @Override
-    public void save(MenuPlanEntry entry) {
-        entries.add(entry);
+    public DataVersion getVersion() {
+        return entriesByDate.values().stream()
+                .flatMap(List::stream)
+                .map(stored -> new DataVersion(1, stored.storedAt()))
+                .reduce(DataVersion.EMPTY, DataVersion::combine);
+    }
+
+    @Override
+    public List<IngredientTotal> sumIngredients() {
+        return sum(findAll());
+    }
+
+    @Override
+    public List<IngredientTotal> sumIngredientsByDateRange(LocalDate from, LocalDate to) {
+        return sum(findByDateRange(from, to));
+    }
+
+    @Override
+    public MenuPlanEntry save(MenuPlanEntry entry) {
+        Meal meal = entry.getMeal();
+        if (meal.getRecipeId().isPresent() && recipeRepository.findById(meal.getRecipeId().get()).isEmpty()) {
+            throw new IllegalArgumentException("Recipe with id " + meal.getRecipeId().get() + " does not exist");
+        }
+        MenuPlanEntry stored = resolve(entry);
+        entriesByDate.merge(stored.getDate(), List.of(new StoredEntry(stored, Instant.now())), (existing, added) -> {
+            List<StoredEntry> merged = new ArrayList<>(existing);
+            merged.addAll(added);
+            return List.copyOf(merged);
+        });
+        return stored;
+    }
+
+    @Override
+    public List<MenuPlanEntry> saveAll(List<MenuPlanEntry> entries) {
+        for (MenuPlanEntry entry : entries) {
+            Optional<Long> recipeId = entry.getMeal().getRecipeId();
+            if (recipeId.isPresent() && recipeRepository.findById(recipeId.get()).isEmpty()) {
+                throw new IllegalArgumentException("Recipe with id " + recipeId.get() + " does not exist");
+            }
+        }
+        return entries.stream().map(this::save).collect(Collectors.toUnmodifiableList());
     }
 
     @Override
     public void delete(MenuPlanEntry entry) {
-        entries.removeIf(existing -> existing.getDate().equals(entry.getDate())
-                && existing.getMeal().getName().equals(entry.getMeal().getName())
-                && existing.getMeal().getServings() == entry.getMeal().getServings());
+        entriesByDate.computeIfPresent(entry.getDate(), (date, existing) -> {
+            List<StoredEntry> remaining = existing.stream()
+                    .filter(candidate -> !matches(candidate.entry(), entry))
+                    .collect(Collectors.toUnmodifiableList());
+            return remaining.isEmpty() ? null : remaining;
+        });
+    }
+
+    private List<MenuPlanEntry> resolve(Collection<List<StoredEntry>> entriesPerDate) {
+        return entriesPerDate.stream()
+                .flatMap(List::stream)
+                .map(stored -> resolve(stored.entry()))
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    private MenuPlanEntry resolve(MenuPlanEntry entry) {
+        Meal meal = entry.getMeal();
+        Optional<Long> recipeId = meal.getRecipeId()
+                .filter(id -> recipeRepository.findById(id).isPresent())
+                .or(() -> recipeRepository.findIdByName(meal.getName()));
+        if (recipeId.equals(meal.getRecipeId())) {
+            return entry;
+        }
+        return new MenuPlanEntry(entry.getDate(), new Meal(meal.getName(), meal.getServings(), recipeId.orElse(null)));
+    }
+
+    private List<IngredientTotal> sum(List<MenuPlanEntry> entries) {
+        Map<TotalKey, IngredientTotal> totals = new LinkedHashMap<>();
+        for (MenuPlanEntry entry : entries) {
+            Optional<RecipeWithIngredients> recipe = entry.getMeal().getRecipeId().flatMap(recipeRepository::findById);
+            if (recipe.isEmpty()) {
+                continue;
+            }
+            for (Ingredient ingredient : recipe.get().getIngredients()) {
+                String notes = ingredient.getNotes().orElse(null);
+                IngredientTotal row = new IngredientTotal(ingredient.getName(), ingredient.getUnit(),
+                        ingredient.getAmountPerServing() * entry.getMeal().getServings(), notes);
+                totals.merge(new TotalKey(ingredient.getName(), ingredient.getUnit(), notes), row,
+                        (sum, added) -> new IngredientTotal(sum.getName(), sum.getUnit(),
+                                sum.getTotalAmount() + added.getTotalAmount(), notes,
+                                sum.getRowCount() + added.getRowCount()));
+            }
+        }
+        return List.copyOf(totals.values());
+    }
+
+    private static boolean matches(MenuPlanEntry existing, MenuPlanEntry entry) {
+        return existing.getMeal().getName().equals(entry.getMeal().getName())
+                && existing.getMeal().getServings() == entry.getMeal().getServings();
+    }
+
+    private record StoredEntry(MenuPlanEntry entry, Instant storedAt) {
+    }
+
+    private record TotalKey(String name, String unit, String notes) {
     }
 }
@@ -0,0 +1,298 @@
+package de.zeltlager.kuechenplaner.data.repository.memory;
+
+import de.zeltlager.kuechenplaner.data.model.DataVersion;
+import de.zeltlager.kuechenplaner.data.model.Ingredient;
+import de.zeltlager.kuechenplaner.data.model.Recipe;
+import de.zeltlager.kuechenplaner.data.model.RecipeSummary;
+import de.zeltlager.kuechenplaner.data.model.RecipeWithIngredients;
+import de.zeltlager.kuechenplaner.data.repository.RecipeRepository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+/**
+ * In-memory recipe store for the {@code memory} profile. Recipes are kept by id together with a
+ * name index ordered like the JPA queries (name, then id), an index from normalized names to recipe
+ * ids and an inverted index from normalized ingredient names to recipe ids. Writes are serialized,
+ * reads never block.
+ */
+@Repository
+@Profile("memory")
+public class InMemoryRecipeRepository implements RecipeRepository {
+
+    private final Map<Long, RecipeWithIngredients> recipesById = new ConcurrentHashMap<>();
+    private final NavigableSet<NameKey> nameIndex = new ConcurrentSkipListSet<>();
+    private final Map<String, NavigableSet<Long>> recipeIdsByName = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> recipeIdsByIngredient = new ConcurrentHashMap<>();
+    private final AtomicLong nextRecipeId = new AtomicLong(1);
+    private final AtomicLong nextIngredientId = new AtomicLong(1);
+    private final Object writeLock = new Object();
+
+    @Override
+    public RecipeWithIngredients create(Recipe recipe, List<Ingredient> ingredients) {
+        Instant now = Instant.now();
+        RecipeWithIngredients stored = copy(nextRecipeId.getAndIncrement(), recipe, ingredients, now, now);
+        synchronized (writeLock) {
+            index(stored);
+        }
+        return stored;
+    }
+
+    @Override
+    public List<RecipeWithIngredients> createAll(List<RecipeWithIngredients> recipes) {
+        List<RecipeWithIngredients> created = new ArrayList<>(recipes.size());
+        for (RecipeWithIngredients recipe : recipes) {
+            created.add(create(recipe.getRecipe(), recipe.getIngredients()));
+        }
+        return List.copyOf(created);
+    }
+
+    @Override
+    public Optional<RecipeWithIngredients> findById(long id) {
+        return Optional.ofNullable(recipesById.get(id));
+    }
+
+    @Override
+    public List<RecipeWithIngredients> findAllByIds(Collection<Long> ids) {
+        return ids.stream()
+                .map(recipesById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    @Override
+    public List<RecipeWithIngredients> findAll() {
+        List<RecipeWithIngredients> recipes = new ArrayList<>(recipesById.size());
+        forEachRecipe(recipes::add);
+        return List.copyOf(recipes);
+    }
+
+    @Override
+    public void forEachRecipe(Consumer<RecipeWithIngredients> action) {
+        for (NameKey key : nameIndex) {
+            RecipeWithIngredients recipe = recipesById.get(key.id());
+            if (recipe != null) {
+                action.accept(recipe);
+            }
+        }
+    }
+
+    @Override
+    public void forEachRecipeUpdatedSince(Instant since, Consumer<RecipeWithIngredients> action) {
+        forEachRecipe(recipe -> {
+            if (recipe.getRecipe().getUpdatedAt().map(updatedAt -> updatedAt.isAfter(since)).orElse(true)) {
+                action.accept(recipe);
+            }
+        });
+    }
+
+    @Override
+    public List<RecipeSummary> findSummaries(int page, int pageSize) {
+        long offset = (long) page * pageSize;
+        List<RecipeSummary> summaries = new ArrayList<>(pageSize);
+        for (NameKey key : nameIndex) {
+            if (summaries.size() == pageSize) {
+                break;
+            }
+            RecipeWithIngredients recipe = recipesById.get(key.id());
+            if (recipe == null) {
+                continue;
+            }
+            if (offset > 0) {
+                offset--;
+            } else {
+                summaries.add(RecipeSummary.of(recipe));
+            }
+        }
+        return List.copyOf(summaries);
+    }
+
+    @Override
+    public long count() {
+        return recipesById.size();
+    }
+
+    @Override
+    public DataVersion getVersion() {
+        return recipesById.values().stream()
+                .map(recipe -> new DataVersion(1 + recipe.getIngredients().size(),
+                        recipe.getRecipe().getUpdatedAt().orElse(null)))
+                .reduce(DataVersion.EMPTY, DataVersion::combine);
+    }
+
+    @Override
+    public List<RecipeWithIngredients> search(String query, int limit, int offset) {
+        List<String> words = Arrays.stream(query.trim().split("\\s+"))
+                .filter(word -> !word.isEmpty())
+                .map(InMemoryRecipeRepository::normalize)
+                .collect(Collectors.toUnmodifiableList());
+        List<RecipeWithIngredients> matches = new ArrayList<>();
+        int skipped = 0;
+        for (NameKey key : nameIndex) {
+            RecipeWithIngredients recipe = recipesById.get(key.id());
+            if (recipe == null || !containsAll(recipe, words)) {
+                continue;
+            }
+            if (skipped < offset) {
+                skipped++;
+            } else if (matches.size() < limit) {
+                matches.add(recipe);
+            } else {
+                break;
+            }
+        }
+        return List.copyOf(matches);
+    }
+
+    @Override
+    public List<RecipeSummary> searchSummaries(String query, int limit, int offset) {
+        return search(query, limit, offset).stream()
+                .map(RecipeSummary::of)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * Returns all recipes using the given ingredient, ordered by name. The ingredient name is
+     * matched exactly after trimming and ignoring case.
+     */
+    public List<RecipeWithIngredients> findAllByIngredientName(String ingredientName) {
+        Set<Long> ids = recipeIdsByIngredient.getOrDefault(normalize(ingredientName), Set.of());
+        return ids.stream()
+                .map(recipesById::get)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing((RecipeWithIngredients recipe) -> recipe.getRecipe().getName())
+                        .thenComparing(recipe -> recipe.getRecipe().getId().orElseThrow()))
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * Returns the id of the oldest recipe with the given name, ignoring case and surrounding blanks.
+     */
+    public Optional<Long> findIdByName(String name) {
+        NavigableSet<Long> ids = recipeIdsByName.get(normalize(name));
+        // ceiling() instead of first(): a concurrent delete may empty the set after the lookup.
+        return ids == null ? Optional.empty() : Optional.ofNullable(ids.ceiling(Long.MIN_VALUE));
+    }
+
+    @Override
+    public RecipeWithIngredients update(Recipe recipe, List<Ingredient> ingredients) {
+        long recipeId = recipe.getId().orElseThrow(() -> new IllegalArgumentException("Recipe ID must be present"));
+        synchronized (writeLock) {
+            RecipeWithIngredients existing = recipesById.get(recipeId);
+            if (existing == null) {
+                throw new IllegalArgumentException("Recipe with id " + recipeId + " does not exist");
+            }
+            RecipeWithIngredients updated = copy(recipeId, recipe, ingredients,
+                    existing.getRecipe().getCreatedAt().orElse(null), Instant.now());
+            unindex(existing);
+            index(updated);
+            return updated;
+        }
+    }
+
+    @Override
+    public void delete(long id) {
+        synchronized (writeLock) {
+            RecipeWithIngredients existing = recipesById.get(id);
+            if (existing != null) {
+                unindex(existing);
+            }
+        }
+    }
+
+    private void index(RecipeWithIngredients recipe) {
+        long id = recipe.getRecipe().getId().orElseThrow();
+        recipesById.put(id, recipe);
+        nameIndex.add(new NameKey(recipe.getRecipe().getName(), id));
+        recipeIdsByName
+                .computeIfAbsent(normalize(recipe.getRecipe().getName()), key -> new ConcurrentSkipListSet<>())
+                .add(id);
+        for (Ingredient ingredient : recipe.getIngredients()) {
+            recipeIdsByIngredient
+                    .computeIfAbsent(normalize(ingredient.getName()), key -> ConcurrentHashMap.newKeySet())
+                    .add(id);
+        }
+    }
+
+    private void unindex(RecipeWithIngredients recipe) {
+        long id = recipe.getRecipe().getId().orElseThrow();
+        nameIndex.remove(new NameKey(recipe.getRecipe().getName(), id));
+        recipeIdsByName.computeIfPresent(normalize(recipe.getRecipe().getName()), (key, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+        for (Ingredient ingredient : recipe.getIngredients()) {
+            recipeIdsByIngredient.computeIfPresent(normalize(ingredient.getName()), (key, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+        recipesById.remove(id);
+    }
+
+    private RecipeWithIngredients copy(long id, Recipe recipe, List<Ingredient> ingredients,
+                                       Instant createdAt, Instant updatedAt) {
+        Recipe stored = new Recipe(id,
+                recipe.getName(),
+                recipe.getCategoryId().orElse(null),
+                recipe.getBaseServings(),
+                recipe.getInstructions(),
+                createdAt,
+                updatedAt);
+        List<Ingredient> storedIngredients = ingredients.stream()
+                .map(ingredient -> new Ingredient(
+                        nextIngredientId.getAndIncrement(),
+                        id,
+                        ingredient.getName(),
+                        ingredient.getUnit(),
+                        ingredient.getAmountPerServing(),
+                        ingredient.getNotes().orElse(null)))
+                .collect(Collectors.toUnmodifiableList());
+        return new RecipeWithIngredients(stored, storedIngredients);
+    }
+
+    private static boolean containsAll(RecipeWithIngredients recipe, List<String> words) {
+        String recipeText = normalize(recipe.getRecipe().getName() + " " + recipe.getRecipe().getInstructions());
+        for (String word : words) {
+            boolean found = recipeText.contains(word) || recipe.getIngredients().stream()
+                    .anyMatch(ingredient -> normalize(ingredient.getName()).contains(word));
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record NameKey(String name, long id) implements Comparable<NameKey> {
+
+        private static final Comparator<NameKey> ORDER =
+                Comparator.comparing(NameKey::name).thenComparingLong(NameKey::id);
+
+        @Override
+        public int compareTo(NameKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package de.zeltlager.kuechenplaner.logic;
+
+import de.zeltlager.kuechenplaner.data.model.InventoryItem;
+import de.zeltlager.kuechenplaner.data.model.MenuPlanEntry;
+import de.zeltlager.kuechenplaner.data.model.RecipeSummary;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Change published on the {@link ChangeEventBus} after a service wrote to the database. Each event
+ * carries the affected rows, so listeners can update exactly those instead of reloading everything.
+ */
+public sealed interface ChangeEvent
+        permits ChangeEvent.RecipesChanged, ChangeEvent.MenuPlanChanged, ChangeEvent.InventoryChanged {
+
+    enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    Type type();
+
+    /**
+     * Recipes were created, e.g. by one import batch, updated or deleted.
+     */
+    record RecipesChanged(Type type, List<RecipeSummary> recipes) implements ChangeEvent {
+
+        public RecipesChanged {
+            Objects.requireNonNull(type, "type");
+            recipes = List.copyOf(recipes);
+        }
+    }
+
+    /**
+     * Menu plan entries were added, e.g. by a restore, or deleted.
+     */
+    record MenuPlanChanged(Type type, List<MenuPlanEntry> entries) implements ChangeEvent {
+
+        public MenuPlanChanged {
+            Objects.requireNonNull(type, "type");
+            entries = List.copyOf(entries);
+        }
+
+        public MenuPlanChanged(Type type, MenuPlanEntry entry) {
+            this(type, List.of(entry));
+        }
+    }
+
+    /**
+     * Inventory items were created or updated; the inventory is keyed by ingredient, so both are
+     * reported as {@link Type#UPDATED}.
+     */
+    record InventoryChanged(List<InventoryItem> items) implements ChangeEvent {
+
+        public InventoryChanged {
+            items = List.copyOf(items);
+        }
+
+        @Override
+        public Type type() {
+            return Type.UPDATED;
+        }
+    }
+}
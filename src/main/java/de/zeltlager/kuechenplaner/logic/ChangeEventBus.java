@@ -0,0 +1,145 @@
+package de.zeltlager.kuechenplaner.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Distributes {@link ChangeEvent}s from the services to the Swing panels and the SSE endpoint.
+ * Listeners are called synchronously on the thread delivering the event, so UI listeners have to
+ * hand the event over to the event dispatch thread themselves and the SSE endpoint sends on its own
+ * threads.
+ * <p>
+ * Events published inside a transaction, e.g. a section of a backup restore, are held back until
+ * the transaction commits and dropped if it rolls back, so listeners never see rows that were not
+ * stored. Consecutive events of the same kind are merged on the way, up to
+ * {@link #MAX_ROWS_PER_EVENT} rows each, so a transaction writing row by row still produces one
+ * event per batch.
+ */
+@Component
+public class ChangeEventBus {
+
+    static final int MAX_ROWS_PER_EVENT = RecipeService.DEFAULT_IMPORT_BATCH_SIZE;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChangeEventBus.class);
+
+    private final List<Consumer<ChangeEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    public void addListener(Consumer<ChangeEvent> listener) {
+        listeners.add(Objects.requireNonNull(listener, "listener"));
+    }
+
+    public void removeListener(Consumer<ChangeEvent> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Lets publishers skip building events nobody receives, e.g. the summaries of a large import.
+     */
+    public boolean hasListeners() {
+        return !listeners.isEmpty();
+    }
+
+    /**
+     * Notifies all listeners, right away or, inside a transaction, once it has committed. The
+     * change is already stored by then, so a failing listener is logged and does not fail the
+     * caller or keep the other listeners from being notified.
+     */
+    public void publish(ChangeEvent event) {
+        Objects.requireNonNull(event, "event");
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deliver(event);
+            return;
+        }
+        PendingEvents pending = (PendingEvents) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingEvents();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.add(event);
+    }
+
+    private void deliver(ChangeEvent event) {
+        for (Consumer<ChangeEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Change listener failed for {}", event, e);
+            }
+        }
+    }
+
+    /**
+     * Returns both events as one, or {@code null} if they differ in kind or type or the merged
+     * event would exceed {@link #MAX_ROWS_PER_EVENT} rows.
+     */
+    static ChangeEvent merge(ChangeEvent first, ChangeEvent second) {
+        if (first.type() != second.type() || rows(first) + rows(second) > MAX_ROWS_PER_EVENT) {
+            return null;
+        }
+        if (first instanceof ChangeEvent.RecipesChanged a && second instanceof ChangeEvent.RecipesChanged b) {
+            return new ChangeEvent.RecipesChanged(first.type(), concat(a.recipes(), b.recipes()));
+        }
+        if (first instanceof ChangeEvent.MenuPlanChanged a && second instanceof ChangeEvent.MenuPlanChanged b) {
+            return new ChangeEvent.MenuPlanChanged(first.type(), concat(a.entries(), b.entries()));
+        }
+        if (first instanceof ChangeEvent.InventoryChanged a && second instanceof ChangeEvent.InventoryChanged b) {
+            return new ChangeEvent.InventoryChanged(concat(a.items(), b.items()));
+        }
+        return null;
+    }
+
+    private static int rows(ChangeEvent event) {
+        if (event instanceof ChangeEvent.RecipesChanged recipesChanged) {
+            return recipesChanged.recipes().size();
+        }
+        if (event instanceof ChangeEvent.MenuPlanChanged menuPlanChanged) {
+            return menuPlanChanged.entries().size();
+        }
+        return ((ChangeEvent.InventoryChanged) event).items().size();
+    }
+
+    private static <T> List<T> concat(List<T> first, List<T> second) {
+        List<T> all = new ArrayList<>(first.size() + second.size());
+        all.addAll(first);
+        all.addAll(second);
+        return all;
+    }
+
+    /**
+     * Events of one transaction, delivered after it committed.
+     */
+    private final class PendingEvents implements TransactionSynchronization {
+
+        private final List<ChangeEvent> events = new ArrayList<>();
+
+        void add(ChangeEvent event) {
+            int last = events.size() - 1;
+            ChangeEvent merged = last < 0 ? null : merge(events.get(last), event);
+            if (merged != null) {
+                events.set(last, merged);
+            } else {
+                events.add(event);
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            events.forEach(ChangeEventBus.this::deliver);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ChangeEventBus.this);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package de.zeltlager.kuechenplaner.logic;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Assigns shopping list categories to ingredients based on keywords in their names.
+ */
+final class IngredientCategorizer {
+    private final List<CategoryRule> rules;
+    private final KeywordMatcher matcher;
+
+    IngredientCategorizer() {
+        rules = List.of(
+                new CategoryRule("Obst & Gemüse", List.of("apfel", "banane", "birne", "karotte", "möhre", "paprika", "tomate", "gurke", "zwiebel", "salat", "kartoffel")),
+                new CategoryRule("Milchprodukte", List.of("milch", "käse", "quark", "joghurt", "butter", "sahne")),
+                new CategoryRule("Fleisch & Fisch", List.of("hähnchen", "rind", "schwein", "fleisch", "fisch", "lachs")),
+                new CategoryRule("Backwaren", List.of("brot", "brötchen", "toast", "croissant", "kuchen")),
+                new CategoryRule("Getränke", List.of("wasser", "saft", "tee", "kaffee"))
+        );
+        matcher = new KeywordMatcher(rules.stream()
+                .map(rule -> rule.keywords().stream().map(IngredientNames::normalize).toList())
+                .toList());
+    }
+
+    Optional<String> categorize(String ingredientName) {
+        int group = matcher.firstMatchingGroup(IngredientNames.normalize(ingredientName));
+        return group < 0 ? Optional.empty() : Optional.of(rules.get(group).category());
+    }
+
+    private record CategoryRule(String category, List<String> keywords) {
+    }
+}
@@ -0,0 +1,36 @@
+package de.zeltlager.kuechenplaner.logic;
+
+import java.util.Objects;
+
+/**
+ * Identifies a shopping list line by normalized ingredient name and display unit.
+ */
+final class IngredientKey {
+    private final String name;
+    private final String unit;
+
+    private IngredientKey(String name, String unit) {
+        this.name = name;
+        this.unit = unit;
+    }
+
+    static IngredientKey from(String name, String unit) {
+        return new IngredientKey(IngredientNames.normalize(name), IngredientNames.normalize(unit));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IngredientKey other)) {
+            return false;
+        }
+        return name.equals(other.name) && unit.equals(other.unit);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, unit);
+    }
+}
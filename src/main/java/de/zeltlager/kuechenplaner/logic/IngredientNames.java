@@ -0,0 +1,53 @@
+package de.zeltlager.kuechenplaner.logic;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Normalizes ingredient names and units so that spelling variants aggregate into the same entry.
+ * Results are memoized because the same handful of names and units repeats across every recipe.
+ */
+final class IngredientNames {
+
+    private static final int CACHE_LIMIT = 10_000;
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Map<String, String> CACHE = new ConcurrentHashMap<>();
+
+    private IngredientNames() {
+    }
+
+    static String normalize(String value) {
+        String cached = CACHE.get(value);
+        if (cached != null) {
+            return cached;
+        }
+        String normalized = normalizeUncached(value);
+        if (CACHE.size() >= CACHE_LIMIT) {
+            CACHE.clear();
+        }
+        CACHE.put(value, normalized);
+        return normalized;
+    }
+
+    static String normalizeUncached(String value) {
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        if (!isAscii(normalized)) {
+            normalized = Normalizer.normalize(normalized, Normalizer.Form.NFD);
+            normalized = COMBINING_MARKS.matcher(normalized).replaceAll("");
+            normalized = normalized.replace("ß", "ss");
+        }
+        return normalized;
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,7 +1,9 @@
 package de.zeltlager.kuechenplaner.logic;
 
+import de.zeltlager.kuechenplaner.data.model.DataVersion;
 import de.zeltlager.kuechenplaner.data.model.InventoryItem;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,7 +14,22 @@ public interface InventoryService {
 
     List<InventoryItem> getInventory();
 
+    /**
+     * Returns the items created or changed after {@code since}.
+     */
+    List<InventoryItem> getInventoryUpdatedSince(Instant since);
+
+    /**
+     * Returns a version that changes whenever an item is added, changed or removed.
+     */
+    DataVersion getInventoryVersion();
+
     Optional<InventoryItem> getInventoryItem(String ingredient);
 
     void upsertInventoryItem(InventoryItem item);
+
+    /**
+     * Inserts or updates all given items in one go, e.g. after a stock take.
+     */
+    void upsertAll(List<InventoryItem> items);
 }
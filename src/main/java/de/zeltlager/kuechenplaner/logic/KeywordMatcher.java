@@ -0,0 +1,96 @@
+package de.zeltlager.kuechenplaner.logic;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+
+/**
+ * Aho–Corasick automaton that finds keywords of several prioritized groups in a single pass
+ * over the input text.
+ */
+final class KeywordMatcher {
+
+    private static final int NO_MATCH = Integer.MAX_VALUE;
+
+    private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+    private final int[] failure;
+    private final int[] bestGroup;
+
+    /**
+     * @param keywordGroups keyword groups in priority order; the index of a group is reported on a match
+     */
+    KeywordMatcher(List<List<String>> keywordGroups) {
+        Objects.requireNonNull(keywordGroups, "keywordGroups");
+        List<Integer> outputs = new ArrayList<>();
+        transitions.add(new HashMap<>());
+        outputs.add(NO_MATCH);
+
+        for (int group = 0; group < keywordGroups.size(); group++) {
+            for (String keyword : keywordGroups.get(group)) {
+                if (keyword.isEmpty()) {
+                    throw new IllegalArgumentException("keywords must not be empty");
+                }
+                int state = 0;
+                for (int i = 0; i < keyword.length(); i++) {
+                    char ch = keyword.charAt(i);
+                    Integer next = transitions.get(state).get(ch);
+                    if (next == null) {
+                        next = transitions.size();
+                        transitions.add(new HashMap<>());
+                        outputs.add(NO_MATCH);
+                        transitions.get(state).put(ch, next);
+                    }
+                    state = next;
+                }
+                outputs.set(state, Math.min(outputs.get(state), group));
+            }
+        }
+
+        failure = new int[transitions.size()];
+        bestGroup = new int[transitions.size()];
+        for (int state = 0; state < bestGroup.length; state++) {
+            bestGroup[state] = outputs.get(state);
+        }
+
+        Queue<Integer> queue = new ArrayDeque<>(transitions.get(0).values());
+        while (!queue.isEmpty()) {
+            int state = queue.remove();
+            for (Map.Entry<Character, Integer> edge : transitions.get(state).entrySet()) {
+                int child = edge.getValue();
+                int fallback = failure[state];
+                Integer target = state == 0 ? null : transitions.get(fallback).get(edge.getKey());
+                while (target == null && fallback != 0) {
+                    fallback = failure[fallback];
+                    target = transitions.get(fallback).get(edge.getKey());
+                }
+                failure[child] = target == null || target == child ? 0 : target;
+                bestGroup[child] = Math.min(bestGroup[child], bestGroup[failure[child]]);
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the highest-priority group with a keyword contained in the text, or
+     * {@code -1} if no keyword occurs.
+     */
+    int firstMatchingGroup(String text) {
+        int state = 0;
+        int best = NO_MATCH;
+        for (int i = 0; i < text.length() && best != 0; i++) {
+            char ch = text.charAt(i);
+            Integer next = transitions.get(state).get(ch);
+            while (next == null && state != 0) {
+                state = failure[state];
+                next = transitions.get(state).get(ch);
+            }
+            state = next == null ? 0 : next;
+            best = Math.min(best, bestGroup[state]);
+        }
+        return best == NO_MATCH ? -1 : best;
+    }
+}
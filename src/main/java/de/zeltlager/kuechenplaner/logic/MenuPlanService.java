@@ -1,7 +1,10 @@
 package de.zeltlager.kuechenplaner.logic;
 
+import de.zeltlager.kuechenplaner.data.model.DataVersion;
 import de.zeltlager.kuechenplaner.data.model.MenuPlanEntry;
+import de.zeltlager.kuechenplaner.data.model.ShoppingListItem;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -14,7 +17,54 @@ public interface MenuPlanService {
 
     List<MenuPlanEntry> getMenuPlan(LocalDate date);
 
-    void addMenuPlanEntry(MenuPlanEntry entry);
+    /**
+     * Returns the menu plan between {@code from} and {@code to}, both inclusive.
+     */
+    List<MenuPlanEntry> getMenuPlan(LocalDate from, LocalDate to);
+
+    /**
+     * Returns the entries created or changed after {@code since}.
+     */
+    List<MenuPlanEntry> getMenuPlanUpdatedSince(Instant since);
+
+    /**
+     * Returns a version that changes whenever an entry is added, changed or removed. Recipe
+     * changes are not included, although they affect recipe links and shopping lists.
+     */
+    DataVersion getMenuPlanVersion();
+
+    /**
+     * Generates the shopping list for the whole plan. Amounts are summed by the repository and
+     * only canonicalized and categorized here.
+     */
+    List<ShoppingListItem> generateShoppingList();
+
+    /**
+     * Generates the shopping list for the entries between {@code from} and {@code to}, both inclusive.
+     */
+    List<ShoppingListItem> generateShoppingList(LocalDate from, LocalDate to);
+
+    /**
+     * Like {@link #generateShoppingList()}, returning the totals as an aggregator that later menu
+     * plan changes can be applied to.
+     */
+    ShoppingListAggregator aggregateShoppingList();
+
+    /**
+     * Like {@link #generateShoppingList(LocalDate, LocalDate)}, returning the totals as an
+     * aggregator that later menu plan changes can be applied to.
+     */
+    ShoppingListAggregator aggregateShoppingList(LocalDate from, LocalDate to);
+
+    /**
+     * Adds the entry to the plan and returns it with the recipe it was linked to.
+     */
+    MenuPlanEntry addMenuPlanEntry(MenuPlanEntry entry);
+
+    /**
+     * Adds several entries at once, e.g. from a backup, and returns them with their recipes.
+     */
+    List<MenuPlanEntry> addMenuPlanEntries(List<MenuPlanEntry> entries);
 
     void deleteMenuPlanEntry(MenuPlanEntry entry);
 }
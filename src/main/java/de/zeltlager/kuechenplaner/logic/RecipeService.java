@@ -1,29 +1,88 @@
 package de.zeltlager.kuechenplaner.logic;
 
+import de.zeltlager.kuechenplaner.data.model.DataVersion;
 import de.zeltlager.kuechenplaner.data.model.Ingredient;
+import de.zeltlager.kuechenplaner.data.model.RecipeSummary;
 import de.zeltlager.kuechenplaner.data.model.RecipeWithIngredients;
 import de.zeltlager.kuechenplaner.data.model.ShoppingListItem;
 
 import java.io.Reader;
 import java.io.Writer;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 
 /**
  * Service API for managing recipes and their ingredients.
  */
 public interface RecipeService {
 
+    /**
+     * Number of recipes persisted together by {@link #importRecipesInBatches}.
+     */
+    int DEFAULT_IMPORT_BATCH_SIZE = 200;
+
     List<RecipeWithIngredients> getAllRecipes();
 
+    /**
+     * Returns one zero-based page of recipe summaries ordered by name. Ingredients are only counted,
+     * not loaded.
+     */
+    List<RecipeSummary> getRecipeSummaries(int page, int pageSize);
+
+    long countRecipes();
+
+    /**
+     * Returns a version that changes whenever a recipe or one of its ingredients is added, changed
+     * or removed.
+     */
+    DataVersion getRecipesVersion();
+
     Optional<RecipeWithIngredients> getRecipe(long id);
 
+    /**
+     * Passes all recipes ordered by name to the action one at a time, reading them from a
+     * repository cursor instead of loading the whole list.
+     */
+    void forEachRecipe(Consumer<RecipeWithIngredients> action);
+
+    /**
+     * Like {@link #forEachRecipe(Consumer)}, limited to recipes created or changed after {@code since}.
+     */
+    void forEachRecipeUpdatedSince(Instant since, Consumer<RecipeWithIngredients> action);
+
+    /**
+     * Searches recipe names, instructions and ingredient names for all words of the query, also
+     * as parts of longer words, and returns one page of matches. A blank query matches nothing.
+     */
+    List<RecipeWithIngredients> search(String query, int limit, int offset);
+
+    /**
+     * Like {@link #search(String, int, int)}, returning summaries for list views.
+     */
+    List<RecipeSummary> searchSummaries(String query, int limit, int offset);
+
+    /**
+     * Loads the recipes with the given ids in one query. Unknown ids are skipped.
+     */
+    List<RecipeWithIngredients> getRecipes(Collection<Long> ids);
+
     RecipeWithIngredients createRecipe(String name,
                                        Long categoryId,
                                        int baseServings,
                                        String instructions,
                                        List<Ingredient> ingredients);
 
+    /**
+     * Creates several recipes in one repository call, e.g. when restoring a backup. The result
+     * has the same order as the input.
+     */
+    List<RecipeWithIngredients> createRecipes(List<RecipeWithIngredients> recipes);
+
     RecipeWithIngredients updateRecipe(long id,
                                        String name,
                                        Long categoryId,
@@ -52,6 +111,45 @@ public interface RecipeService {
      */
     List<RecipeWithIngredients> importRecipes(Reader reader, ImportFormat format);
 
+    /**
+     * Imports recipes while the input is still being read and persists them in batches. Batches
+     * that were already stored remain stored if a later part of the input turns out to be invalid.
+     * The rows of a CSV recipe may be spread over the input, so CSV input is grouped by recipe in
+     * memory before the first batch is stored; {@link #importCsvFile} streams CSV files instead.
+     *
+     * @param reader           the reader providing the external recipe data
+     * @param format           the format of the external data source
+     * @param batchSize        the number of recipes persisted together
+     * @param progressListener receives the number of recipes imported so far after every batch
+     * @return the number of imported recipes
+     */
+    int importRecipesInBatches(Reader reader, ImportFormat format, int batchSize, IntConsumer progressListener);
+
+    /**
+     * Imports a CSV file in batches. A first pass validates all rows and checks whether the rows of
+     * each recipe are contiguous, as the CSV export writes them; nothing is stored if a row is
+     * invalid. Contiguous files are then streamed, so only one recipe is held in memory at a time;
+     * other files are grouped by recipe in memory like {@link #importRecipes}.
+     *
+     * @param file             the CSV file, encoded in UTF-8
+     * @param batchSize        the number of recipes persisted together
+     * @param progressListener receives the number of recipes imported so far after every batch
+     * @return the number of imported recipes
+     */
+    int importCsvFile(Path file, int batchSize, IntConsumer progressListener);
+
+    /**
+     * Imports a Meal-Master archive file. The file is memory-mapped, split at the {@code MMMMM}
+     * recipe headers and the recipes are parsed in parallel; they are persisted in batches in the
+     * order in which they appear in the file.
+     *
+     * @param file             the Meal-Master archive
+     * @param batchSize        the number of recipes persisted together
+     * @param progressListener receives the number of recipes imported so far after every batch
+     * @return the number of imported recipes
+     */
+    int importMealMasterArchive(Path file, int batchSize, IntConsumer progressListener);
+
     enum ExportFormat {
         CSV,
         PLAIN_TEXT
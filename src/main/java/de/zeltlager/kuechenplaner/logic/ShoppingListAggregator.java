@@ -0,0 +1,148 @@
+package de.zeltlager.kuechenplaner.logic;
+
+import de.zeltlager.kuechenplaner.data.model.Ingredient;
+import de.zeltlager.kuechenplaner.data.model.IngredientTotal;
+import de.zeltlager.kuechenplaner.data.model.RecipeWithIngredients;
+import de.zeltlager.kuechenplaner.data.model.ShoppingListItem;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps running totals per {@link IngredientKey} for a shopping list. Amounts are converted to a
+ * canonical unit and merged per ingredient name and unit, so totals of the same ingredient in
+ * {@code g} and {@code kg} end up in one item.
+ * <p>
+ * The list is seeded with recipe servings or with repository totals; menu plan entries added or
+ * deleted afterwards are applied as deltas, so an edit only costs the ingredients of the affected
+ * recipe. Every item counts the ingredient rows it was summed from and disappears once the last
+ * one was subtracted. Not thread-safe; the shopping list panel confines it to the event dispatch
+ * thread.
+ */
+public final class ShoppingListAggregator {
+
+    private static final UnitConverter UNIT_CONVERTER = new UnitConverter();
+    private static final IngredientCategorizer INGREDIENT_CATEGORIZER = new IngredientCategorizer();
+    private static final Comparator<ShoppingListItem> ITEM_ORDER = Comparator
+            .comparing((ShoppingListItem item) -> item.getCategory()
+                    .map(value -> value.toLowerCase(Locale.ROOT))
+                    .orElse("\uFFFF"))
+            .thenComparing(item -> item.getName().toLowerCase(Locale.ROOT));
+
+    private final Map<IngredientKey, IngredientAggregation> aggregations = new LinkedHashMap<>();
+
+    /**
+     * Adds servings of a recipe to the shopping list.
+     *
+     * @param recipe   the recipe including its ingredients
+     * @param servings the number of servings to add
+     */
+    public void addServings(RecipeWithIngredients recipe, int servings) {
+        Objects.requireNonNull(recipe, "recipe");
+        validateServings(servings);
+        for (Ingredient ingredient : recipe.getIngredients()) {
+            apply(ingredient.getName(), ingredient.getUnit(), ingredient.getAmountPerServing() * servings,
+                    ingredient.getNotes().orElse(null), 1);
+        }
+    }
+
+    /**
+     * Subtracts servings of a recipe that were added before, directly or as part of a repository
+     * total. The recipe must have the same ingredients as when it was added.
+     *
+     * @param recipe   the recipe including its ingredients
+     * @param servings the number of servings to subtract
+     */
+    public void removeServings(RecipeWithIngredients recipe, int servings) {
+        Objects.requireNonNull(recipe, "recipe");
+        validateServings(servings);
+        for (Ingredient ingredient : recipe.getIngredients()) {
+            apply(ingredient.getName(), ingredient.getUnit(), -ingredient.getAmountPerServing() * servings,
+                    ingredient.getNotes().orElse(null), -1);
+        }
+    }
+
+    /**
+     * Adds an ingredient total that was already summed by the repository.
+     *
+     * @param total the summed ingredient amount in its original unit
+     */
+    public void addIngredientTotal(IngredientTotal total) {
+        Objects.requireNonNull(total, "total");
+        apply(total.getName(), total.getUnit(), total.getTotalAmount(), total.getNotes().orElse(null),
+                total.getRowCount());
+    }
+
+    /**
+     * Returns the current shopping list sorted by category and ingredient name.
+     */
+    public List<ShoppingListItem> getItems() {
+        return aggregations.values().stream()
+                .map(IngredientAggregation::toShoppingListItem)
+                .sorted(ITEM_ORDER)
+                .collect(Collectors.toList());
+    }
+
+    private void apply(String name, String unit, double amount, String note, long rows) {
+        UnitConverter.ConvertedAmount convertedAmount = UNIT_CONVERTER.convert(unit, amount);
+        String displayUnit = convertedAmount.unit();
+        IngredientKey key = IngredientKey.from(name, displayUnit);
+        IngredientAggregation aggregation = aggregations.computeIfAbsent(key,
+                unused -> new IngredientAggregation(
+                        name,
+                        displayUnit,
+                        INGREDIENT_CATEGORIZER.categorize(name).orElse(null)));
+        aggregation.add(convertedAmount.amount(), note, rows);
+        if (aggregation.isEmpty()) {
+            aggregations.remove(key);
+        }
+    }
+
+    private static void validateServings(int servings) {
+        if (servings <= 0) {
+            throw new IllegalArgumentException("servings must be greater than zero");
+        }
+    }
+
+    private static final class IngredientAggregation {
+        private final String name;
+        private final String unit;
+        private final String category;
+        private double totalAmount;
+        private long rows;
+        private final Map<String, Long> notes = new LinkedHashMap<>();
+
+        private IngredientAggregation(String name, String unit, String category) {
+            this.name = name;
+            this.unit = unit;
+            this.category = category;
+        }
+
+        private void add(double amount, String note, long rowDelta) {
+            totalAmount += amount;
+            rows += rowDelta;
+            String trimmed = note == null ? "" : note.trim();
+            if (!trimmed.isEmpty()) {
+                long count = notes.getOrDefault(trimmed, 0L) + rowDelta;
+                if (count > 0) {
+                    notes.put(trimmed, count);
+                } else {
+                    notes.remove(trimmed);
+                }
+            }
+        }
+
+        private boolean isEmpty() {
+            return rows <= 0;
+        }
+
+        private ShoppingListItem toShoppingListItem() {
+            return new ShoppingListItem(name, unit, totalAmount, List.copyOf(notes.keySet()), category);
+        }
+    }
+}
@@ -1,24 +1,35 @@
 package de.zeltlager.kuechenplaner.logic;
 
+import de.zeltlager.kuechenplaner.data.model.DataVersion;
 import de.zeltlager.kuechenplaner.data.model.InventoryItem;
 import de.zeltlager.kuechenplaner.data.repository.InventoryRepository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 /**
- * Default implementation delegating to an {@link InventoryRepository}.
+ * Default implementation delegating to an {@link InventoryRepository}. Saved items are published
+ * on the {@link ChangeEventBus}.
  */
 @Service
 public class SimpleInventoryService implements InventoryService {
 
     private final InventoryRepository inventoryRepository;
+    private final ChangeEventBus changeEventBus;
 
     public SimpleInventoryService(InventoryRepository inventoryRepository) {
+        this(inventoryRepository, new ChangeEventBus());
+    }
+
+    @Autowired
+    public SimpleInventoryService(InventoryRepository inventoryRepository, ChangeEventBus changeEventBus) {
         this.inventoryRepository = Objects.requireNonNull(inventoryRepository, "inventoryRepository");
+        this.changeEventBus = Objects.requireNonNull(changeEventBus, "changeEventBus");
     }
 
     @Override
@@ -26,6 +37,16 @@ public class SimpleInventoryService implements InventoryService {
         return inventoryRepository.findAll();
     }
 
+    @Override
+    public List<InventoryItem> getInventoryUpdatedSince(Instant since) {
+        return inventoryRepository.findUpdatedSince(Objects.requireNonNull(since, "since"));
+    }
+
+    @Override
+    public DataVersion getInventoryVersion() {
+        return inventoryRepository.getVersion();
+    }
+
     @Override
     public Optional<InventoryItem> getInventoryItem(String ingredient) {
         return inventoryRepository.findByIngredient(Objects.requireNonNull(ingredient, "ingredient"));
@@ -34,5 +55,17 @@ public class SimpleInventoryService implements InventoryService {
     @Override
     public void upsertInventoryItem(InventoryItem item) {
         inventoryRepository.save(Objects.requireNonNull(item, "item"));
+        changeEventBus.publish(new ChangeEvent.InventoryChanged(List.of(item)));
+    }
+
+    @Override
+    public void upsertAll(List<InventoryItem> items) {
+        Objects.requireNonNull(items, "items");
+        if (items.isEmpty()) {
+            return;
+        }
+        items.forEach(item -> Objects.requireNonNull(item, "item"));
+        inventoryRepository.saveAll(items);
+        changeEventBus.publish(new ChangeEvent.InventoryChanged(items));
     }
 }
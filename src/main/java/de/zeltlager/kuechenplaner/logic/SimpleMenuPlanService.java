@@ -1,24 +1,37 @@
 package de.zeltlager.kuechenplaner.logic;
 
+import de.zeltlager.kuechenplaner.data.model.IngredientTotal;
+import de.zeltlager.kuechenplaner.data.model.DataVersion;
 import de.zeltlager.kuechenplaner.data.model.MenuPlanEntry;
+import de.zeltlager.kuechenplaner.data.model.ShoppingListItem;
 import de.zeltlager.kuechenplaner.data.repository.MenuPlanRepository;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Objects;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 /**
- * Default implementation delegating to a {@link MenuPlanRepository}.
+ * Default implementation delegating to a {@link MenuPlanRepository}. Added and deleted entries are
+ * published on the {@link ChangeEventBus}.
  */
 @Service
 public class SimpleMenuPlanService implements MenuPlanService {
 
     private final MenuPlanRepository menuPlanRepository;
+    private final ChangeEventBus changeEventBus;
 
     public SimpleMenuPlanService(MenuPlanRepository menuPlanRepository) {
+        this(menuPlanRepository, new ChangeEventBus());
+    }
+
+    @Autowired
+    public SimpleMenuPlanService(MenuPlanRepository menuPlanRepository, ChangeEventBus changeEventBus) {
         this.menuPlanRepository = Objects.requireNonNull(menuPlanRepository, "menuPlanRepository");
+        this.changeEventBus = Objects.requireNonNull(changeEventBus, "changeEventBus");
     }
 
     @Override
@@ -32,12 +45,77 @@ public class SimpleMenuPlanService implements MenuPlanService {
     }
 
     @Override
-    public void addMenuPlanEntry(MenuPlanEntry entry) {
-        menuPlanRepository.save(Objects.requireNonNull(entry, "entry"));
+    public List<MenuPlanEntry> getMenuPlanUpdatedSince(Instant since) {
+        return menuPlanRepository.findUpdatedSince(Objects.requireNonNull(since, "since"));
+    }
+
+    @Override
+    public DataVersion getMenuPlanVersion() {
+        return menuPlanRepository.getVersion();
+    }
+
+    @Override
+    public List<MenuPlanEntry> getMenuPlan(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return menuPlanRepository.findByDateRange(from, to);
+    }
+
+    @Override
+    public List<ShoppingListItem> generateShoppingList() {
+        return aggregateShoppingList().getItems();
+    }
+
+    @Override
+    public List<ShoppingListItem> generateShoppingList(LocalDate from, LocalDate to) {
+        return aggregateShoppingList(from, to).getItems();
+    }
+
+    @Override
+    public ShoppingListAggregator aggregateShoppingList() {
+        return aggregate(menuPlanRepository.sumIngredients());
+    }
+
+    @Override
+    public ShoppingListAggregator aggregateShoppingList(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return aggregate(menuPlanRepository.sumIngredientsByDateRange(from, to));
+    }
+
+    @Override
+    public MenuPlanEntry addMenuPlanEntry(MenuPlanEntry entry) {
+        MenuPlanEntry saved = menuPlanRepository.save(Objects.requireNonNull(entry, "entry"));
+        changeEventBus.publish(new ChangeEvent.MenuPlanChanged(ChangeEvent.Type.CREATED, saved));
+        return saved;
+    }
+
+    @Override
+    public List<MenuPlanEntry> addMenuPlanEntries(List<MenuPlanEntry> entries) {
+        Objects.requireNonNull(entries, "entries").forEach(entry -> Objects.requireNonNull(entry, "entry"));
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+        List<MenuPlanEntry> saved = menuPlanRepository.saveAll(entries);
+        changeEventBus.publish(new ChangeEvent.MenuPlanChanged(ChangeEvent.Type.CREATED, saved));
+        return saved;
     }
 
     @Override
     public void deleteMenuPlanEntry(MenuPlanEntry entry) {
         menuPlanRepository.delete(Objects.requireNonNull(entry, "entry"));
+        changeEventBus.publish(new ChangeEvent.MenuPlanChanged(ChangeEvent.Type.DELETED, entry));
+    }
+
+    private static ShoppingListAggregator aggregate(List<IngredientTotal> totals) {
+        ShoppingListAggregator aggregator = new ShoppingListAggregator();
+        totals.forEach(aggregator::addIngredientTotal);
+        return aggregator;
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        Objects.requireNonNull(from, "from");
+        Objects.requireNonNull(to, "to");
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
     }
 }
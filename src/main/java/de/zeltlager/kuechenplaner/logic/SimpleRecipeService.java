@@ -1,7 +1,9 @@
 package de.zeltlager.kuechenplaner.logic;
 
+import de.zeltlager.kuechenplaner.data.model.DataVersion;
 import de.zeltlager.kuechenplaner.data.model.Ingredient;
 import de.zeltlager.kuechenplaner.data.model.Recipe;
+import de.zeltlager.kuechenplaner.data.model.RecipeSummary;
 import de.zeltlager.kuechenplaner.data.model.RecipeWithIngredients;
 import de.zeltlager.kuechenplaner.data.model.ShoppingListItem;
 import de.zeltlager.kuechenplaner.data.repository.RecipeRepository;
@@ -10,37 +12,57 @@ import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.io.Writer;
-import java.text.Normalizer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.text.NumberFormat;
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collection;
 import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 /**
  * Default implementation of {@link RecipeService} that delegates to a {@link RecipeRepository}.
+ * Created, updated and deleted recipes are published on the {@link ChangeEventBus}.
  */
 @Service
 public final class SimpleRecipeService implements RecipeService {
 
     private final RecipeRepository recipeRepository;
-    private static final UnitConverter UNIT_CONVERTER = new UnitConverter();
-    private static final IngredientCategorizer INGREDIENT_CATEGORIZER = new IngredientCategorizer();
+    private final ChangeEventBus changeEventBus;
 
     public SimpleRecipeService(RecipeRepository recipeRepository) {
+        this(recipeRepository, new ChangeEventBus());
+    }
+
+    @Autowired
+    public SimpleRecipeService(RecipeRepository recipeRepository, ChangeEventBus changeEventBus) {
         this.recipeRepository = Objects.requireNonNull(recipeRepository, "recipeRepository");
+        this.changeEventBus = Objects.requireNonNull(changeEventBus, "changeEventBus");
     }
 
     @Override
@@ -48,17 +70,97 @@ public final class SimpleRecipeService implements RecipeService {
         return recipeRepository.findAll();
     }
 
+    @Override
+    public List<RecipeSummary> getRecipeSummaries(int page, int pageSize) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return recipeRepository.findSummaries(page, pageSize);
+    }
+
+    @Override
+    public long countRecipes() {
+        return recipeRepository.count();
+    }
+
+    @Override
+    public DataVersion getRecipesVersion() {
+        return recipeRepository.getVersion();
+    }
+
     @Override
     public Optional<RecipeWithIngredients> getRecipe(long id) {
         return recipeRepository.findById(id);
     }
 
+    @Override
+    public void forEachRecipe(Consumer<RecipeWithIngredients> action) {
+        recipeRepository.forEachRecipe(Objects.requireNonNull(action, "action"));
+    }
+
+    @Override
+    public void forEachRecipeUpdatedSince(Instant since, Consumer<RecipeWithIngredients> action) {
+        recipeRepository.forEachRecipeUpdatedSince(Objects.requireNonNull(since, "since"),
+                Objects.requireNonNull(action, "action"));
+    }
+
+    @Override
+    public List<RecipeWithIngredients> search(String query, int limit, int offset) {
+        String trimmed = validateSearch(query, limit, offset);
+        if (trimmed.isEmpty()) {
+            return List.of();
+        }
+        return recipeRepository.search(trimmed, limit, offset);
+    }
+
+    @Override
+    public List<RecipeSummary> searchSummaries(String query, int limit, int offset) {
+        String trimmed = validateSearch(query, limit, offset);
+        if (trimmed.isEmpty()) {
+            return List.of();
+        }
+        return recipeRepository.searchSummaries(trimmed, limit, offset);
+    }
+
+    private static String validateSearch(String query, int limit, int offset) {
+        Objects.requireNonNull(query, "query");
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative");
+        }
+        return query.trim();
+    }
+
+    @Override
+    public List<RecipeWithIngredients> getRecipes(Collection<Long> ids) {
+        Objects.requireNonNull(ids, "ids");
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return recipeRepository.findAllByIds(ids);
+    }
+
     @Override
     public RecipeWithIngredients createRecipe(String name,
                                               Long categoryId,
                                               int baseServings,
                                               String instructions,
                                               List<Ingredient> ingredients) {
+        RecipeWithIngredients created = insertRecipe(name, categoryId, baseServings, instructions, ingredients);
+        publishRecipes(ChangeEvent.Type.CREATED, List.of(created));
+        return created;
+    }
+
+    private RecipeWithIngredients insertRecipe(String name,
+                                               Long categoryId,
+                                               int baseServings,
+                                               String instructions,
+                                               List<Ingredient> ingredients) {
         validateBaseServings(baseServings);
         List<Ingredient> normalizedIngredients = normalizeNewIngredients(ingredients);
         Instant now = Instant.now();
@@ -66,6 +168,31 @@ public final class SimpleRecipeService implements RecipeService {
         return recipeRepository.create(recipe, normalizedIngredients);
     }
 
+    @Override
+    public List<RecipeWithIngredients> createRecipes(List<RecipeWithIngredients> recipes) {
+        Objects.requireNonNull(recipes, "recipes");
+        if (recipes.isEmpty()) {
+            return List.of();
+        }
+        Instant now = Instant.now();
+        List<RecipeWithIngredients> newRecipes = new ArrayList<>(recipes.size());
+        for (RecipeWithIngredients recipe : recipes) {
+            Recipe source = Objects.requireNonNull(recipe, "recipe").getRecipe();
+            validateBaseServings(source.getBaseServings());
+            Recipe newRecipe = new Recipe(null,
+                    source.getName(),
+                    source.getCategoryId().orElse(null),
+                    source.getBaseServings(),
+                    source.getInstructions(),
+                    source.getCreatedAt().orElse(now),
+                    source.getUpdatedAt().orElse(now));
+            newRecipes.add(new RecipeWithIngredients(newRecipe, normalizeNewIngredients(recipe.getIngredients())));
+        }
+        List<RecipeWithIngredients> created = recipeRepository.createAll(newRecipes);
+        publishRecipes(ChangeEvent.Type.CREATED, created);
+        return created;
+    }
+
     @Override
     public RecipeWithIngredients updateRecipe(long id,
                                               String name,
@@ -86,12 +213,19 @@ public final class SimpleRecipeService implements RecipeService {
                 instructions,
                 existing.getRecipe().getCreatedAt().orElse(null),
                 Instant.now());
-        return recipeRepository.update(updatedRecipe, normalizedIngredients);
+        RecipeWithIngredients updated = recipeRepository.update(updatedRecipe, normalizedIngredients);
+        publishRecipes(ChangeEvent.Type.UPDATED, List.of(updated));
+        return updated;
     }
 
     @Override
     public void deleteRecipe(long id) {
+        // Loaded first so listeners learn the name, e.g. to match menu entries planned by name.
+        Optional<RecipeWithIngredients> existing = changeEventBus.hasListeners()
+                ? recipeRepository.findById(id)
+                : Optional.empty();
         recipeRepository.delete(id);
+        existing.ifPresent(recipe -> publishRecipes(ChangeEvent.Type.DELETED, List.of(recipe)));
     }
 
     @Override
@@ -107,36 +241,21 @@ public final class SimpleRecipeService implements RecipeService {
             servingsByRecipe.merge(selection.recipeId(), selection.servings(), Integer::sum);
         }
 
-        Map<IngredientKey, IngredientAggregation> aggregations = new LinkedHashMap<>();
+        Map<Long, RecipeWithIngredients> recipesById = new HashMap<>();
+        for (RecipeWithIngredients recipe : recipeRepository.findAllByIds(servingsByRecipe.keySet())) {
+            recipe.getRecipe().getId().ifPresent(id -> recipesById.put(id, recipe));
+        }
+
+        ShoppingListAggregator aggregator = new ShoppingListAggregator();
         for (Map.Entry<Long, Integer> entry : servingsByRecipe.entrySet()) {
             long recipeId = entry.getKey();
-            RecipeWithIngredients recipe = recipeRepository.findById(recipeId)
-                    .orElseThrow(() -> new IllegalArgumentException("Recipe with id " + recipeId + " does not exist"));
-
-            int servings = entry.getValue();
-            for (Ingredient ingredient : recipe.getIngredients()) {
-                ConvertedAmount convertedAmount = UNIT_CONVERTER.convert(ingredient.getUnit(),
-                        ingredient.getAmountPerServing() * servings);
-                String displayUnit = convertedAmount.unit();
-                IngredientKey key = IngredientKey.from(ingredient.getName(), displayUnit);
-                IngredientAggregation aggregation = aggregations.computeIfAbsent(key,
-                        unused -> new IngredientAggregation(
-                                ingredient.getName(),
-                                displayUnit,
-                                INGREDIENT_CATEGORIZER.categorize(ingredient.getName()).orElse(null)));
-                aggregation.addAmount(convertedAmount.amount());
-                ingredient.getNotes().ifPresent(aggregation::addNote);
+            RecipeWithIngredients recipe = recipesById.get(recipeId);
+            if (recipe == null) {
+                throw new IllegalArgumentException("Recipe with id " + recipeId + " does not exist");
             }
+            aggregator.addServings(recipe, entry.getValue());
         }
-
-        return aggregations.values().stream()
-                .map(IngredientAggregation::toShoppingListItem)
-                .sorted(Comparator
-                        .comparing((ShoppingListItem item) -> item.getCategory()
-                                .map(value -> value.toLowerCase(Locale.ROOT))
-                                .orElse("\uFFFF"))
-                        .thenComparing(item -> item.getName().toLowerCase(Locale.ROOT)))
-                .collect(Collectors.toList());
+        return aggregator.getItems();
     }
 
     @Override
@@ -144,14 +263,14 @@ public final class SimpleRecipeService implements RecipeService {
         Objects.requireNonNull(writer, "writer");
         Objects.requireNonNull(format, "format");
 
-        List<RecipeWithIngredients> recipes = recipeRepository.findAll();
+        BufferedWriter bufferedWriter = writer instanceof BufferedWriter bw ? bw : new BufferedWriter(writer);
         try {
             switch (format) {
-                case CSV -> writeRecipesAsCsv(writer, recipes);
-                case PLAIN_TEXT -> writeRecipesAsPlainText(writer, recipes);
+                case CSV -> writeRecipesAsCsv(bufferedWriter);
+                case PLAIN_TEXT -> writeRecipesAsPlainText(bufferedWriter);
                 default -> throw new IllegalArgumentException("Unsupported export format: " + format);
             }
-            writer.flush();
+            bufferedWriter.flush();
         } catch (IOException e) {
             throw new IllegalArgumentException("Failed to export recipes", e);
         }
@@ -187,7 +306,7 @@ public final class SimpleRecipeService implements RecipeService {
                             ingredient.amountPerServing(),
                             ingredient.notes()))
                     .toList();
-            RecipeWithIngredients created = createRecipe(
+            RecipeWithIngredients created = insertRecipe(
                     imported.name(),
                     imported.categoryId().orElse(null),
                     imported.baseServings(),
@@ -195,114 +314,247 @@ public final class SimpleRecipeService implements RecipeService {
                     ingredients);
             persisted.add(created);
         }
+        publishRecipes(ChangeEvent.Type.CREATED, persisted);
         return List.copyOf(persisted);
     }
 
-    private void writeRecipesAsCsv(Writer writer, List<RecipeWithIngredients> recipes) throws IOException {
-        BufferedWriter bufferedWriter = writer instanceof BufferedWriter bw ? bw : new BufferedWriter(writer);
-        bufferedWriter.write("recipe_id;name;category_id;base_servings;instructions;ingredient_name;ingredient_unit;ingredient_amount_per_serving;ingredient_amount_total;ingredient_notes");
-        bufferedWriter.newLine();
-        if (recipes.isEmpty()) {
-            bufferedWriter.flush();
-            return;
+    @Override
+    public int importRecipesInBatches(Reader reader, ImportFormat format, int batchSize, IntConsumer progressListener) {
+        Objects.requireNonNull(reader, "reader");
+        Objects.requireNonNull(format, "format");
+        Objects.requireNonNull(progressListener, "progressListener");
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be greater than zero");
         }
-        for (RecipeWithIngredients recipe : recipes) {
-            Recipe baseRecipe = recipe.getRecipe();
-            List<Ingredient> ingredients = recipe.getIngredients();
-            String recipeId = baseRecipe.getId().map(String::valueOf).orElse("");
-            String categoryId = baseRecipe.getCategoryId().map(String::valueOf).orElse("");
-            String baseServings = Integer.toString(baseRecipe.getBaseServings());
-            String instructions = sanitizeInstructions(baseRecipe.getInstructions());
-            if (ingredients.isEmpty()) {
-                writeCsvLine(bufferedWriter,
-                        recipeId,
-                        baseRecipe.getName(),
-                        categoryId,
-                        baseServings,
-                        instructions,
-                        "",
-                        "",
-                        "",
-                        "",
-                        "");
-                bufferedWriter.newLine();
-                continue;
+
+        RecipeBatch batch = new RecipeBatch(batchSize, progressListener);
+        try {
+            switch (format) {
+                case CSV -> parseCsv(reader).forEach(batch);
+                case MEAL_MASTER -> parseMealMaster(reader, batch);
+                default -> throw new IllegalArgumentException("Unsupported import format: " + format);
             }
-            for (Ingredient ingredient : ingredients) {
-                double amountPerServing = ingredient.getAmountPerServing();
-                double totalAmount = amountPerServing * baseRecipe.getBaseServings();
-                writeCsvLine(bufferedWriter,
-                        recipeId,
-                        baseRecipe.getName(),
-                        categoryId,
-                        baseServings,
-                        instructions,
-                        ingredient.getName(),
-                        ingredient.getUnit(),
-                        formatDecimal(amountPerServing),
-                        formatDecimal(totalAmount),
-                        ingredient.getNotes().orElse(""));
-                bufferedWriter.newLine();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to read recipe import data", e);
+        }
+        batch.flush();
+        return batch.imported;
+    }
+
+    @Override
+    public int importCsvFile(Path file, int batchSize, IntConsumer progressListener) {
+        Objects.requireNonNull(file, "file");
+        Objects.requireNonNull(progressListener, "progressListener");
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be greater than zero");
+        }
+
+        RecipeBatch batch = new RecipeBatch(batchSize, progressListener);
+        try {
+            CsvContiguityCheck check = new CsvContiguityCheck();
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                readCsvRows(reader, check);
             }
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                if (check.contiguous) {
+                    streamCsv(reader, batch);
+                } else {
+                    parseCsv(reader).forEach(batch);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to read recipe import data", e);
         }
-        bufferedWriter.flush();
+        batch.flush();
+        return batch.imported;
     }
 
-    private void writeRecipesAsPlainText(Writer writer, List<RecipeWithIngredients> recipes) throws IOException {
-        BufferedWriter bufferedWriter = writer instanceof BufferedWriter bw ? bw : new BufferedWriter(writer);
+    @Override
+    public int importMealMasterArchive(Path file, int batchSize, IntConsumer progressListener) {
+        Objects.requireNonNull(file, "file");
+        Objects.requireNonNull(progressListener, "progressListener");
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be greater than zero");
+        }
+
+        RecipeBatch batch = new RecipeBatch(batchSize, progressListener);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Meal-Master archive is too large: " + file);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int[] boundaries = findMealMasterBoundaries(buffer);
+            int chunkCount = boundaries.length - 1;
+            for (int windowStart = 0; windowStart < chunkCount; windowStart += batchSize) {
+                int windowEnd = Math.min(windowStart + batchSize, chunkCount);
+                List<List<ImportedRecipe>> parsed = IntStream.range(windowStart, windowEnd)
+                        .parallel()
+                        .mapToObj(index -> parseMealMasterChunk(buffer, boundaries[index], boundaries[index + 1]))
+                        .toList();
+                parsed.forEach(recipes -> recipes.forEach(batch));
+            }
+        } catch (IOException | UncheckedIOException e) {
+            throw new IllegalArgumentException("Failed to read recipe import data", e);
+        }
+        batch.flush();
+        return batch.imported;
+    }
+
+    private void publishRecipes(ChangeEvent.Type type, List<RecipeWithIngredients> recipes) {
+        if (recipes.isEmpty() || !changeEventBus.hasListeners()) {
+            return;
+        }
+        List<RecipeSummary> summaries = recipes.stream()
+                .map(RecipeSummary::of)
+                .collect(Collectors.toUnmodifiableList());
+        changeEventBus.publish(new ChangeEvent.RecipesChanged(type, summaries));
+    }
+
+    private RecipeWithIngredients toNewRecipe(ImportedRecipe imported) {
+        validateBaseServings(imported.baseServings());
+        List<Ingredient> ingredients = imported.ingredients().stream()
+                .map(ingredient -> new Ingredient(
+                        null,
+                        null,
+                        ingredient.name(),
+                        ingredient.unit(),
+                        ingredient.amountPerServing(),
+                        ingredient.notes()))
+                .toList();
+        Instant now = Instant.now();
+        Recipe recipe = new Recipe(null,
+                imported.name(),
+                imported.categoryId().orElse(null),
+                imported.baseServings(),
+                imported.instructions(),
+                now,
+                now);
+        return new RecipeWithIngredients(recipe, ingredients);
+    }
+
+    private void writeRecipesAsCsv(BufferedWriter writer) throws IOException {
+        writer.write("recipe_id;name;category_id;base_servings;instructions;ingredient_name;ingredient_unit;ingredient_amount_per_serving;ingredient_amount_total;ingredient_notes");
+        writer.newLine();
+        writeEachRecipe(recipe -> writeRecipeAsCsv(writer, recipe));
+    }
+
+    private void writeRecipeAsCsv(BufferedWriter writer, RecipeWithIngredients recipe) throws IOException {
+        Recipe baseRecipe = recipe.getRecipe();
+        List<Ingredient> ingredients = recipe.getIngredients();
+        String recipeId = baseRecipe.getId().map(String::valueOf).orElse("");
+        String categoryId = baseRecipe.getCategoryId().map(String::valueOf).orElse("");
+        String baseServings = Integer.toString(baseRecipe.getBaseServings());
+        String instructions = sanitizeInstructions(baseRecipe.getInstructions());
+        if (ingredients.isEmpty()) {
+            writeCsvLine(writer,
+                    recipeId,
+                    baseRecipe.getName(),
+                    categoryId,
+                    baseServings,
+                    instructions,
+                    "",
+                    "",
+                    "",
+                    "",
+                    "");
+            writer.newLine();
+            return;
+        }
+        for (Ingredient ingredient : ingredients) {
+            double amountPerServing = ingredient.getAmountPerServing();
+            double totalAmount = amountPerServing * baseRecipe.getBaseServings();
+            writeCsvLine(writer,
+                    recipeId,
+                    baseRecipe.getName(),
+                    categoryId,
+                    baseServings,
+                    instructions,
+                    ingredient.getName(),
+                    ingredient.getUnit(),
+                    formatDecimal(amountPerServing),
+                    formatDecimal(totalAmount),
+                    ingredient.getNotes().orElse(""));
+            writer.newLine();
+        }
+    }
+
+    private void writeRecipesAsPlainText(BufferedWriter writer) throws IOException {
         NumberFormat numberFormat = NumberFormat.getNumberInstance(Locale.GERMANY);
         numberFormat.setMaximumFractionDigits(2);
         numberFormat.setMinimumFractionDigits(0);
         numberFormat.setGroupingUsed(false);
 
-        for (int i = 0; i < recipes.size(); i++) {
-            RecipeWithIngredients recipe = recipes.get(i);
-            Recipe baseRecipe = recipe.getRecipe();
-            bufferedWriter.write(baseRecipe.getName());
-            bufferedWriter.newLine();
-            bufferedWriter.write("Kategorie-ID: " + baseRecipe.getCategoryId().map(String::valueOf).orElse("-"));
-            bufferedWriter.newLine();
-            bufferedWriter.write("Portionen: " + baseRecipe.getBaseServings());
-            bufferedWriter.newLine();
-            bufferedWriter.write("Zutaten:");
-            bufferedWriter.newLine();
-            if (recipe.getIngredients().isEmpty()) {
-                bufferedWriter.write("  (keine Zutaten erfasst)");
-                bufferedWriter.newLine();
-            } else {
-                for (Ingredient ingredient : recipe.getIngredients()) {
-                    double totalAmount = ingredient.getAmountPerServing() * baseRecipe.getBaseServings();
-                    StringBuilder line = new StringBuilder();
-                    line.append("  - ").append(numberFormat.format(totalAmount));
-                    if (!ingredient.getUnit().isBlank()) {
-                        line.append(' ').append(ingredient.getUnit());
-                    }
-                    line.append(' ').append(ingredient.getName());
-                    ingredient.getNotes().ifPresent(notes -> line.append(" (").append(notes).append(')'));
-                    bufferedWriter.write(line.toString());
-                    bufferedWriter.newLine();
-                }
+        AtomicBoolean first = new AtomicBoolean(true);
+        writeEachRecipe(recipe -> {
+            if (!first.getAndSet(false)) {
+                writer.newLine();
+                writer.write("----------------------------------------");
+                writer.newLine();
+                writer.newLine();
             }
-            bufferedWriter.write("Anleitung:");
-            bufferedWriter.newLine();
-            String instructions = baseRecipe.getInstructions().strip();
-            if (instructions.isEmpty()) {
-                bufferedWriter.write("  (keine Anleitung vorhanden)");
-                bufferedWriter.newLine();
-            } else {
-                for (String instructionLine : instructions.split("\\r?\\n")) {
-                    bufferedWriter.write("  " + instructionLine);
-                    bufferedWriter.newLine();
+            writeRecipeAsPlainText(writer, recipe, numberFormat);
+        });
+    }
+
+    private void writeRecipeAsPlainText(BufferedWriter writer,
+                                        RecipeWithIngredients recipe,
+                                        NumberFormat numberFormat) throws IOException {
+        Recipe baseRecipe = recipe.getRecipe();
+        writer.write(baseRecipe.getName());
+        writer.newLine();
+        writer.write("Kategorie-ID: " + baseRecipe.getCategoryId().map(String::valueOf).orElse("-"));
+        writer.newLine();
+        writer.write("Portionen: " + baseRecipe.getBaseServings());
+        writer.newLine();
+        writer.write("Zutaten:");
+        writer.newLine();
+        if (recipe.getIngredients().isEmpty()) {
+            writer.write("  (keine Zutaten erfasst)");
+            writer.newLine();
+        } else {
+            for (Ingredient ingredient : recipe.getIngredients()) {
+                double totalAmount = ingredient.getAmountPerServing() * baseRecipe.getBaseServings();
+                StringBuilder line = new StringBuilder();
+                line.append("  - ").append(numberFormat.format(totalAmount));
+                if (!ingredient.getUnit().isBlank()) {
+                    line.append(' ').append(ingredient.getUnit());
                 }
+                line.append(' ').append(ingredient.getName());
+                ingredient.getNotes().ifPresent(notes -> line.append(" (").append(notes).append(')'));
+                writer.write(line.toString());
+                writer.newLine();
             }
-            if (i + 1 < recipes.size()) {
-                bufferedWriter.newLine();
-                bufferedWriter.write("----------------------------------------");
-                bufferedWriter.newLine();
-                bufferedWriter.newLine();
+        }
+        writer.write("Anleitung:");
+        writer.newLine();
+        String instructions = baseRecipe.getInstructions().strip();
+        if (instructions.isEmpty()) {
+            writer.write("  (keine Anleitung vorhanden)");
+            writer.newLine();
+        } else {
+            for (String instructionLine : instructions.split("\\r?\\n")) {
+                writer.write("  " + instructionLine);
+                writer.newLine();
             }
         }
-        bufferedWriter.flush();
+    }
+
+    /**
+     * Streams all recipes from the repository into the given writer callback, one recipe at a time.
+     */
+    private void writeEachRecipe(RecipeWriter recipeWriter) throws IOException {
+        try {
+            recipeRepository.forEachRecipe(recipe -> {
+                try {
+                    recipeWriter.write(recipe);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
     }
 
     private String sanitizeInstructions(String instructions) {
@@ -340,6 +592,20 @@ public final class SimpleRecipeService implements RecipeService {
     }
 
     private List<ImportedRecipe> parseCsv(Reader reader) throws IOException {
+        Map<String, CsvRecipeBuilder> recipes = new LinkedHashMap<>();
+        readCsvRows(reader, row -> recipes.computeIfAbsent(row.key(), unused -> new CsvRecipeBuilder(row)).addRow(row));
+        return recipes.values().stream()
+                .map(CsvRecipeBuilder::build)
+                .collect(Collectors.toList());
+    }
+
+    private void streamCsv(Reader reader, Consumer<ImportedRecipe> recipeConsumer) throws IOException {
+        StreamingCsvCollector collector = new StreamingCsvCollector(recipeConsumer);
+        readCsvRows(reader, collector);
+        collector.finish();
+    }
+
+    private void readCsvRows(Reader reader, Consumer<CsvRow> rowConsumer) throws IOException {
         BufferedReader bufferedReader = reader instanceof BufferedReader br ? br : new BufferedReader(reader);
         String headerLine;
         while ((headerLine = bufferedReader.readLine()) != null) {
@@ -349,7 +615,7 @@ public final class SimpleRecipeService implements RecipeService {
         }
 
         if (headerLine == null) {
-            return List.of();
+            return;
         }
 
         char delimiter = detectCsvDelimiter(headerLine);
@@ -365,7 +631,6 @@ public final class SimpleRecipeService implements RecipeService {
 
         CsvColumn column = CsvColumn.fromHeaderIndex(headerIndex);
 
-        Map<String, CsvRecipeBuilder> recipes = new LinkedHashMap<>();
         String line;
         int lineNumber = 1;
         while ((line = bufferedReader.readLine()) != null) {
@@ -421,18 +686,10 @@ public final class SimpleRecipeService implements RecipeService {
                     : "";
 
             String key = name.toLowerCase(Locale.ROOT) + '\u0000' + instructions;
-            Long categoryIdFinal = categoryId;
-            int baseServingsFinal = baseServings;
-            String instructionsFinal = instructions;
-            CsvRecipeBuilder builder = recipes.computeIfAbsent(key,
-                    unused -> new CsvRecipeBuilder(name, categoryIdFinal, baseServingsFinal, instructionsFinal));
-            builder.ensureCompatibility(categoryId, baseServings, instructions, lineNumber);
-            builder.addIngredient(new ImportedIngredient(ingredientName, ingredientUnit, amountPerServing, notes.isEmpty() ? null : notes));
+            rowConsumer.accept(new CsvRow(key, name, categoryId, baseServings, instructions,
+                    new ImportedIngredient(ingredientName, ingredientUnit, amountPerServing, notes.isEmpty() ? null : notes),
+                    lineNumber));
         }
-
-        return recipes.values().stream()
-                .map(CsvRecipeBuilder::build)
-                .collect(Collectors.toList());
     }
 
     private char detectCsvDelimiter(String line) {
@@ -529,16 +786,21 @@ public final class SimpleRecipeService implements RecipeService {
     }
 
     private List<ImportedRecipe> parseMealMaster(Reader reader) throws IOException {
-        BufferedReader bufferedReader = reader instanceof BufferedReader br ? br : new BufferedReader(reader);
         List<ImportedRecipe> recipes = new ArrayList<>();
+        parseMealMaster(reader, recipes::add);
+        return List.copyOf(recipes);
+    }
+
+    private void parseMealMaster(Reader reader, Consumer<ImportedRecipe> recipeConsumer) throws IOException {
+        BufferedReader bufferedReader = reader instanceof BufferedReader br ? br : new BufferedReader(reader);
         MealMasterBuilder builder = null;
         MealMasterSection section = MealMasterSection.HEADER;
         boolean headerHasContent = false;
         String line;
         while ((line = bufferedReader.readLine()) != null) {
             if (line.startsWith("MMMMM")) {
-                if (builder != null) {
-                    recipes.add(builder.build());
+                if (builder != null && !builder.isEmpty()) {
+                    recipeConsumer.accept(builder.build());
                 }
                 builder = new MealMasterBuilder();
                 section = MealMasterSection.HEADER;
@@ -593,10 +855,48 @@ public final class SimpleRecipeService implements RecipeService {
             }
         }
 
-        if (builder != null) {
-            recipes.add(builder.build());
+        if (builder != null && !builder.isEmpty()) {
+            recipeConsumer.accept(builder.build());
         }
-        return List.copyOf(recipes);
+    }
+
+    private int[] findMealMasterBoundaries(ByteBuffer buffer) {
+        IntStream.Builder boundaries = IntStream.builder();
+        int limit = buffer.limit();
+        boolean lineStart = true;
+        for (int i = 0; i < limit; i++) {
+            byte current = buffer.get(i);
+            if (lineStart && current == 'M' && isMealMasterHeader(buffer, i)) {
+                boundaries.add(i);
+            }
+            lineStart = current == '\n';
+        }
+        boundaries.add(limit);
+        return boundaries.build().toArray();
+    }
+
+    private boolean isMealMasterHeader(ByteBuffer buffer, int position) {
+        if (position + 5 > buffer.limit()) {
+            return false;
+        }
+        for (int i = 0; i < 5; i++) {
+            if (buffer.get(position + i) != 'M') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<ImportedRecipe> parseMealMasterChunk(ByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        List<ImportedRecipe> recipes = new ArrayList<>(1);
+        try {
+            parseMealMaster(new StringReader(new String(bytes, StandardCharsets.UTF_8)), recipes::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return recipes;
     }
 
     private int parseYield(String rawYield) {
@@ -708,6 +1008,122 @@ public final class SimpleRecipeService implements RecipeService {
     private record MealMasterIngredient(String name, String unit, double amount) {
     }
 
+    @FunctionalInterface
+    private interface RecipeWriter {
+        void write(RecipeWithIngredients recipe) throws IOException;
+    }
+
+    private record CsvRow(String key,
+                          String name,
+                          Long categoryId,
+                          int baseServings,
+                          String instructions,
+                          ImportedIngredient ingredient,
+                          int lineNumber) {
+    }
+
+    /**
+     * Checks whether the rows of each CSV recipe are contiguous. Only a 64-bit hash of each
+     * finished recipe's key is kept; a hash collision merely reports the file as not contiguous.
+     */
+    private static final class CsvContiguityCheck implements Consumer<CsvRow> {
+        private final Set<Long> completedKeys = new HashSet<>();
+        private String currentKey;
+        private boolean contiguous = true;
+
+        @Override
+        public void accept(CsvRow row) {
+            if (row.key().equals(currentKey)) {
+                return;
+            }
+            if (currentKey != null) {
+                completedKeys.add(hash(currentKey));
+            }
+            currentKey = row.key();
+            if (completedKeys.contains(hash(currentKey))) {
+                contiguous = false;
+            }
+        }
+
+        private static long hash(String key) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < key.length(); i++) {
+                hash = (hash ^ key.charAt(i)) * 0x100000001b3L;
+            }
+            return hash;
+        }
+    }
+
+    /**
+     * Emits a CSV recipe as soon as a row of the next recipe starts. Requires the rows of each
+     * recipe to be contiguous, which {@link CsvContiguityCheck} verifies beforehand.
+     */
+    private static final class StreamingCsvCollector implements Consumer<CsvRow> {
+        private final Consumer<ImportedRecipe> recipeConsumer;
+        private CsvRecipeBuilder current;
+        private String currentKey;
+
+        private StreamingCsvCollector(Consumer<ImportedRecipe> recipeConsumer) {
+            this.recipeConsumer = recipeConsumer;
+        }
+
+        @Override
+        public void accept(CsvRow row) {
+            if (row.key().equals(currentKey)) {
+                current.addRow(row);
+                return;
+            }
+            finish();
+            current = new CsvRecipeBuilder(row);
+            currentKey = row.key();
+            current.addRow(row);
+        }
+
+        private void finish() {
+            if (current != null) {
+                recipeConsumer.accept(current.build());
+                current = null;
+                currentKey = null;
+            }
+        }
+    }
+
+    /**
+     * Collects imported recipes and persists them through {@link RecipeRepository#createAll(List)}
+     * whenever a batch is full.
+     */
+    private final class RecipeBatch implements Consumer<ImportedRecipe> {
+        private final int batchSize;
+        private final IntConsumer progressListener;
+        private final List<RecipeWithIngredients> pending;
+        private int imported;
+
+        private RecipeBatch(int batchSize, IntConsumer progressListener) {
+            this.batchSize = batchSize;
+            this.progressListener = progressListener;
+            this.pending = new ArrayList<>(batchSize);
+        }
+
+        @Override
+        public void accept(ImportedRecipe recipe) {
+            pending.add(toNewRecipe(recipe));
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<RecipeWithIngredients> created = recipeRepository.createAll(List.copyOf(pending));
+            publishRecipes(ChangeEvent.Type.CREATED, created);
+            imported += pending.size();
+            pending.clear();
+            progressListener.accept(imported);
+        }
+    }
+
     private static final class CsvRecipeBuilder {
         private final String name;
         private final Long categoryId;
@@ -715,11 +1131,16 @@ public final class SimpleRecipeService implements RecipeService {
         private final String instructions;
         private final List<ImportedIngredient> ingredients = new ArrayList<>();
 
-        private CsvRecipeBuilder(String name, Long categoryId, int baseServings, String instructions) {
-            this.name = name;
-            this.categoryId = categoryId;
-            this.baseServings = baseServings > 0 ? baseServings : 1;
-            this.instructions = instructions;
+        private CsvRecipeBuilder(CsvRow row) {
+            this.name = row.name();
+            this.categoryId = row.categoryId();
+            this.baseServings = row.baseServings() > 0 ? row.baseServings() : 1;
+            this.instructions = row.instructions();
+        }
+
+        private void addRow(CsvRow row) {
+            ensureCompatibility(row.categoryId(), row.baseServings(), row.instructions(), row.lineNumber());
+            addIngredient(row.ingredient());
         }
 
         private void ensureCompatibility(Long categoryId, int baseServings, String instructions, int lineNumber) {
@@ -772,6 +1193,10 @@ public final class SimpleRecipeService implements RecipeService {
             instructions.add(line);
         }
 
+        private boolean isEmpty() {
+            return name == null && ingredients.isEmpty() && instructions.length() == 0;
+        }
+
         private ImportedRecipe build() {
             if (name == null || name.isBlank()) {
                 throw new IllegalArgumentException("MealMaster recipe is missing a title");
@@ -860,14 +1285,6 @@ public final class SimpleRecipeService implements RecipeService {
         }
     }
 
-    private static String normalizeText(String value) {
-        String normalized = Normalizer.normalize(value.trim(), Normalizer.Form.NFD);
-        normalized = normalized.replaceAll("\\p{M}", "");
-        normalized = normalized.toLowerCase(Locale.ROOT);
-        normalized = normalized.replace("ß", "ss");
-        return normalized;
-    }
-
     private void validateBaseServings(int baseServings) {
         if (baseServings <= 0) {
             throw new IllegalArgumentException("Base servings must be greater than zero");
@@ -911,128 +1328,4 @@ public final class SimpleRecipeService implements RecipeService {
         }
         return List.copyOf(result);
     }
-
-    private static final class IngredientKey {
-        private final String name;
-        private final String unit;
-
-        private IngredientKey(String name, String unit) {
-            this.name = name;
-            this.unit = unit;
-        }
-
-        static IngredientKey from(String name, String unit) {
-            return new IngredientKey(normalizeText(name), normalizeText(unit));
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) {
-                return true;
-            }
-            if (!(o instanceof IngredientKey other)) {
-                return false;
-            }
-            return name.equals(other.name) && unit.equals(other.unit);
-        }
-
-        @Override
-        public int hashCode() {
-            return Objects.hash(name, unit);
-        }
-    }
-
-    private static final class IngredientAggregation {
-        private final String name;
-        private final String unit;
-        private final String category;
-        private double totalAmount;
-        private final LinkedHashSet<String> notes = new LinkedHashSet<>();
-
-        private IngredientAggregation(String name, String unit, String category) {
-            this.name = name;
-            this.unit = unit;
-            this.category = category;
-        }
-
-        private void addAmount(double amount) {
-            totalAmount += amount;
-        }
-
-        private void addNote(String note) {
-            String trimmed = note.trim();
-            if (!trimmed.isEmpty()) {
-                notes.add(trimmed);
-            }
-        }
-
-        private ShoppingListItem toShoppingListItem() {
-            return new ShoppingListItem(name, unit, totalAmount, List.copyOf(notes), category);
-        }
-    }
-
-    private static final class UnitConverter {
-        private final Map<String, ConversionRule> conversions;
-
-        private UnitConverter() {
-            Map<String, ConversionRule> map = new LinkedHashMap<>();
-            register(map, "g", "g", 1.0);
-            register(map, "gramm", "g", 1.0);
-            register(map, "kg", "g", 1_000.0);
-            register(map, "kilogramm", "g", 1_000.0);
-            register(map, "ml", "ml", 1.0);
-            register(map, "milliliter", "ml", 1.0);
-            register(map, "l", "ml", 1_000.0);
-            register(map, "liter", "ml", 1_000.0);
-            this.conversions = Map.copyOf(map);
-        }
-
-        private void register(Map<String, ConversionRule> map, String unit, String canonicalUnit, double factor) {
-            map.put(normalizeText(unit), new ConversionRule(canonicalUnit, factor));
-        }
-
-        private ConvertedAmount convert(String unit, double amount) {
-            String trimmedUnit = unit.trim();
-            ConversionRule rule = conversions.get(normalizeText(unit));
-            if (rule == null) {
-                return new ConvertedAmount(amount, trimmedUnit);
-            }
-            return new ConvertedAmount(amount * rule.factor(), rule.canonicalUnit());
-        }
-    }
-
-    private record ConversionRule(String canonicalUnit, double factor) {
-    }
-
-    private record ConvertedAmount(double amount, String unit) {
-    }
-
-    private static final class IngredientCategorizer {
-        private final List<CategoryRule> rules;
-
-        private IngredientCategorizer() {
-            rules = List.of(
-                    new CategoryRule("Obst & Gemüse", List.of("apfel", "banane", "birne", "karotte", "möhre", "paprika", "tomate", "gurke", "zwiebel", "salat", "kartoffel")),
-                    new CategoryRule("Milchprodukte", List.of("milch", "käse", "quark", "joghurt", "butter", "sahne")),
-                    new CategoryRule("Fleisch & Fisch", List.of("hähnchen", "rind", "schwein", "fleisch", "fisch", "lachs")),
-                    new CategoryRule("Backwaren", List.of("brot", "brötchen", "toast", "croissant", "kuchen")),
-                    new CategoryRule("Getränke", List.of("wasser", "saft", "tee", "kaffee"))
-            );
-        }
-
-        private Optional<String> categorize(String ingredientName) {
-            String normalized = normalizeText(ingredientName);
-            for (CategoryRule rule : rules) {
-                for (String keyword : rule.keywords()) {
-                    if (normalized.contains(keyword)) {
-                        return Optional.of(rule.category());
-                    }
-                }
-            }
-            return Optional.empty();
-        }
-    }
-
-    private record CategoryRule(String category, List<String> keywords) {
-    }
 }
@@ -0,0 +1,43 @@
+package de.zeltlager.kuechenplaner.logic;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Converts ingredient amounts into canonical units (gram and millilitre) where possible.
+ */
+final class UnitConverter {
+    private final Map<String, ConversionRule> conversions;
+
+    UnitConverter() {
+        Map<String, ConversionRule> map = new LinkedHashMap<>();
+        register(map, "g", "g", 1.0);
+        register(map, "gramm", "g", 1.0);
+        register(map, "kg", "g", 1_000.0);
+        register(map, "kilogramm", "g", 1_000.0);
+        register(map, "ml", "ml", 1.0);
+        register(map, "milliliter", "ml", 1.0);
+        register(map, "l", "ml", 1_000.0);
+        register(map, "liter", "ml", 1_000.0);
+        this.conversions = Map.copyOf(map);
+    }
+
+    private void register(Map<String, ConversionRule> map, String unit, String canonicalUnit, double factor) {
+        map.put(IngredientNames.normalize(unit), new ConversionRule(canonicalUnit, factor));
+    }
+
+    ConvertedAmount convert(String unit, double amount) {
+        String trimmedUnit = unit.trim();
+        ConversionRule rule = conversions.get(IngredientNames.normalize(unit));
+        if (rule == null) {
+            return new ConvertedAmount(amount, trimmedUnit);
+        }
+        return new ConvertedAmount(amount * rule.factor(), rule.canonicalUnit());
+    }
+
+    private record ConversionRule(String canonicalUnit, double factor) {
+    }
+
+    record ConvertedAmount(double amount, String unit) {
+    }
+}
@@ -0,0 +1,78 @@
+package de.zeltlager.kuechenplaner.ui;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import javax.swing.SwingUtilities;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the background work of the Swing panels on virtual threads and hands the results back to
+ * the event dispatch thread. Unlike the shared pool of {@code SwingWorker}, which runs at most ten
+ * workers at a time, every task gets its own thread, so a burst of reloads does not queue up
+ * behind slow database calls.
+ * <p>
+ * Panels submit through their own {@link BackgroundTasks}, which cancel and coalesce their tasks.
+ */
+@Component
+public class BackgroundExecutor implements AutoCloseable {
+
+    private final ExecutorService executorService;
+
+    public BackgroundExecutor() {
+        this(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    BackgroundExecutor(ExecutorService executorService) {
+        this.executorService = Objects.requireNonNull(executorService, "executorService");
+    }
+
+    /**
+     * Creates the task group of one panel.
+     */
+    public BackgroundTasks newTasks() {
+        return new BackgroundTasks(this);
+    }
+
+    /**
+     * Runs {@code work} in the background and calls {@code onSuccess} or {@code onFailure} on the
+     * event dispatch thread, unless the task was cancelled in the meantime. Errors are reported
+     * like exceptions, so a panel never waits forever for its callback. {@code onFinished} runs on
+     * the event dispatch thread afterwards in any case, also for cancelled tasks.
+     */
+    <T> void execute(BackgroundTasks.Task task, Callable<T> work, Consumer<? super T> onSuccess,
+                     Consumer<? super Throwable> onFailure, Runnable onFinished) {
+        executorService.execute(() -> {
+            Runnable callback;
+            if (task.isCancelled()) {
+                callback = () -> { };
+            } else {
+                try {
+                    T result = work.call();
+                    callback = () -> onSuccess.accept(result);
+                } catch (Throwable e) {
+                    callback = () -> onFailure.accept(e);
+                }
+            }
+            Runnable taskCallback = callback;
+            SwingUtilities.invokeLater(() -> {
+                try {
+                    if (task.complete()) {
+                        taskCallback.run();
+                    }
+                } finally {
+                    onFinished.run();
+                }
+            });
+        });
+    }
+
+    @Override
+    public void close() {
+        executorService.shutdownNow();
+    }
+}
@@ -0,0 +1,131 @@
+package de.zeltlager.kuechenplaner.ui;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * The background tasks of one panel, created by {@link BackgroundExecutor#newTasks()}. Tasks
+ * submitted under a key are coalesced: at most one task per key runs at a time, and while it runs
+ * only the newest submission is kept and started once the running task has finished. A reload
+ * requested ten times during a slow database call therefore runs twice, not ten times. The
+ * superseded running task's callbacks are dropped. Cancelling only drops callbacks and does not
+ * interrupt the worker thread, so a database call in progress is never aborted halfway.
+ * <p>
+ * Must be used on the event dispatch thread, where all callbacks run as well.
+ */
+public final class BackgroundTasks {
+
+    private final BackgroundExecutor executor;
+    private final Map<String, KeySlot> slots = new HashMap<>();
+
+    BackgroundTasks(BackgroundExecutor executor) {
+        this.executor = Objects.requireNonNull(executor, "executor");
+    }
+
+    /**
+     * Runs a task that is neither superseded nor cancelled by other tasks, e.g. saving an entry.
+     */
+    public <T> void run(Callable<T> work, Consumer<? super T> onSuccess, Consumer<? super Throwable> onFailure) {
+        executor.execute(new Task(), work, onSuccess, onFailure, () -> { });
+    }
+
+    /**
+     * Runs a task that replaces the running task of the same key; only the newest one calls back.
+     * If a task of the key is still running, this one starts after it, replacing any other task
+     * waiting for it.
+     */
+    public <T> void runLatest(String key, Callable<T> work, Consumer<? super T> onSuccess,
+                              Consumer<? super Throwable> onFailure) {
+        Objects.requireNonNull(key, "key");
+        KeySlot slot = slots.computeIfAbsent(key, ignored -> new KeySlot());
+        Runnable start = () -> {
+            Task task = new Task();
+            slot.running = task;
+            executor.execute(task, work, onSuccess, onFailure, () -> finished(key, slot));
+        };
+        if (slot.running == null) {
+            start.run();
+        } else {
+            slot.running.cancel();
+            slot.pending = start;
+        }
+    }
+
+    /**
+     * Whether a task of the given key has not called back yet.
+     */
+    public boolean isRunning(String key) {
+        KeySlot slot = slots.get(key);
+        return slot != null && (slot.pending != null || !slot.running.isCancelled());
+    }
+
+    public void cancel(String key) {
+        KeySlot slot = slots.get(key);
+        if (slot != null) {
+            slot.cancel();
+        }
+    }
+
+    /**
+     * Cancels all keyed tasks of the panel, e.g. when its data is about to be replaced anyway.
+     */
+    public void cancelAll() {
+        slots.values().forEach(KeySlot::cancel);
+    }
+
+    private void finished(String key, KeySlot slot) {
+        Runnable next = slot.pending;
+        slot.pending = null;
+        slot.running = null;
+        if (next != null) {
+            next.run();
+        } else {
+            slots.remove(key, slot);
+        }
+    }
+
+    /**
+     * The running task of one key and the newest task waiting for it.
+     */
+    private static final class KeySlot {
+
+        private Task running;
+        private Runnable pending;
+
+        void cancel() {
+            pending = null;
+            running.cancel();
+        }
+    }
+
+    /**
+     * State of one submitted task: running, completed or cancelled.
+     */
+    static final class Task {
+
+        private static final int RUNNING = 0;
+        private static final int COMPLETED = 1;
+        private static final int CANCELLED = 2;
+
+        private final AtomicInteger state = new AtomicInteger(RUNNING);
+
+        boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        /**
+         * Marks the task as completed; returns {@code false} if it was cancelled before.
+         */
+        boolean complete() {
+            return state.compareAndSet(RUNNING, COMPLETED);
+        }
+
+        void cancel() {
+            state.compareAndSet(RUNNING, CANCELLED);
+        }
+    }
+}
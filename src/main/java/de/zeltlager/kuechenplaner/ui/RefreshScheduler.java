@@ -0,0 +1,93 @@
+package de.zeltlager.kuechenplaner.ui;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import javax.swing.Timer;
+
+/**
+ * Decides when the views of a window reload their data. Changes only mark a view as dirty: the
+ * visible view reloads shortly afterwards, so that a burst of changes, e.g. an import in batches,
+ * results in a single reload, while hidden views reload once they are shown again.
+ * <p>
+ * Like the views it reloads, the scheduler is confined to the event dispatch thread.
+ *
+ * @param <V> the key identifying a view
+ */
+public final class RefreshScheduler<V> {
+
+    public static final int DEFAULT_COALESCE_MILLIS = 200;
+
+    private final Map<V, Runnable> reloaders = new LinkedHashMap<>();
+    private final Set<V> dirtyViews = new HashSet<>();
+    private final Timer coalesceTimer;
+    private V visibleView;
+
+    public RefreshScheduler() {
+        this(DEFAULT_COALESCE_MILLIS);
+    }
+
+    public RefreshScheduler(int coalesceMillis) {
+        coalesceTimer = new Timer(coalesceMillis, event -> reloadVisibleView());
+        coalesceTimer.setRepeats(false);
+    }
+
+    /**
+     * Registers how the given view reloads. Views without a reload, e.g. forms without data, need
+     * no registration and are never marked dirty.
+     */
+    public void register(V view, Runnable reload) {
+        reloaders.put(Objects.requireNonNull(view, "view"), Objects.requireNonNull(reload, "reload"));
+    }
+
+    public void markDirty(V view) {
+        if (!reloaders.containsKey(view)) {
+            return;
+        }
+        dirtyViews.add(view);
+        if (view.equals(visibleView)) {
+            scheduleReload();
+        }
+    }
+
+    /**
+     * Marks every view as dirty, e.g. after the user switched or a backup was restored.
+     */
+    public void markAllDirty() {
+        dirtyViews.addAll(reloaders.keySet());
+        if (dirtyViews.contains(visibleView)) {
+            scheduleReload();
+        }
+    }
+
+    /**
+     * Records the view as the visible one and reloads it right away if it missed changes while it
+     * was hidden.
+     */
+    public void show(V view) {
+        visibleView = Objects.requireNonNull(view, "view");
+        if (dirtyViews.remove(view)) {
+            reloaders.get(view).run();
+        }
+    }
+
+    public boolean isDirty(V view) {
+        return dirtyViews.contains(view);
+    }
+
+    private void scheduleReload() {
+        // Restarting on every change could postpone the reload indefinitely during a long burst.
+        if (!coalesceTimer.isRunning()) {
+            coalesceTimer.start();
+        }
+    }
+
+    private void reloadVisibleView() {
+        if (visibleView != null && dirtyViews.remove(visibleView)) {
+            reloaders.get(visibleView).run();
+        }
+    }
+}
@@ -2,7 +2,9 @@ package de.zeltlager.kuechenplaner.user;
 
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Sort;
@@ -18,10 +20,12 @@ public class UserAccountService {
 
     private final UserEntityRepository userEntityRepository;
     private final UserContext userContext;
+    private final Map<String, Long> userIdsByUsername = new ConcurrentHashMap<>();
 
     public UserAccountService(UserEntityRepository userEntityRepository, UserContext userContext) {
         this.userEntityRepository = userEntityRepository;
         this.userContext = userContext;
+        userContext.addListener(username -> userIdsByUsername.clear());
     }
 
     @EventListener(ApplicationReadyEvent.class)
@@ -35,6 +39,31 @@ public class UserAccountService {
         return ensureUserExists(username, username);
     }
 
+    /**
+     * Returns the id of the current user. Ids are cached per username until the current user
+     * changes, so repository calls do not have to look the user up again.
+     */
+    @Transactional
+    public long getCurrentUserId() {
+        String username = userContext.getCurrentUsername();
+        String normalized = normalize(username);
+        Long cached = userIdsByUsername.get(normalized);
+        if (cached != null) {
+            return cached;
+        }
+        long id = ensureUserExists(username, username).getId();
+        userIdsByUsername.put(normalized, id);
+        return id;
+    }
+
+    /**
+     * Returns an uninitialized reference to the current user for associating new entities.
+     */
+    @Transactional
+    public UserEntity getCurrentUserReference() {
+        return userEntityRepository.getReferenceById(getCurrentUserId());
+    }
+
     @Transactional
     public UserEntity ensureUserExists(String username, String displayName) {
         String normalized = normalize(username);
@@ -0,0 +1,14 @@
+ALTER TABLE menu_plan_entries ADD COLUMN recipe_id BIGINT;
+
+ALTER TABLE menu_plan_entries
+    ADD CONSTRAINT fk_menu_plan_entries_recipe FOREIGN KEY (recipe_id) REFERENCES recipes (id) ON DELETE SET NULL;
+
+CREATE INDEX idx_menu_plan_entries_recipe ON menu_plan_entries(recipe_id);
+
+UPDATE menu_plan_entries
+SET recipe_id = (
+    SELECT MIN(r.id)
+    FROM recipes r
+    WHERE r.user_id = menu_plan_entries.user_id
+      AND LOWER(r.name) = LOWER(TRIM(menu_plan_entries.meal_name))
+);
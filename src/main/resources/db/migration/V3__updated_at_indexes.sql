@@ -0,0 +1,3 @@
+CREATE INDEX idx_recipes_user_updated ON recipes(user_id, updated_at);
+CREATE INDEX idx_inventory_items_user_updated ON inventory_items(user_id, updated_at);
+CREATE INDEX idx_menu_plan_entries_user_updated ON menu_plan_entries(user_id, updated_at);
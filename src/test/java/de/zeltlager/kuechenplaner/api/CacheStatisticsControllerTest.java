@@ -0,0 +1,45 @@
+package de.zeltlager.kuechenplaner.api;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import de.zeltlager.kuechenplaner.api.exception.GlobalExceptionHandler;
+import de.zeltlager.kuechenplaner.data.repository.jpa.RecipeCacheStatistics;
+
+@WebMvcTest(controllers = CacheStatisticsController.class)
+@Import(GlobalExceptionHandler.class)
+class CacheStatisticsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RecipeCacheStatistics recipeCacheStatistics;
+
+    @Test
+    void listsHitsAndMissesPerRegion() throws Exception {
+        when(recipeCacheStatistics.getRegionStatistics()).thenReturn(List.of(
+                new RecipeCacheStatistics.RegionStatistics("recipes", 30, 10, 12, 0.75),
+                new RecipeCacheStatistics.RegionStatistics("recipe-queries", 0, 0, 0, 0)));
+
+        mockMvc.perform(get("/api/cache-statistics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].region").value("recipes"))
+                .andExpect(jsonPath("$[0].hitCount").value(30))
+                .andExpect(jsonPath("$[0].missCount").value(10))
+                .andExpect(jsonPath("$[0].hitRatio").value(0.75))
+                .andExpect(jsonPath("$[1].region").value("recipe-queries"))
+                .andExpect(jsonPath("$[1].putCount").value(0));
+    }
+}
@@ -0,0 +1,60 @@
+package de.zeltlager.kuechenplaner.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import de.zeltlager.kuechenplaner.api.exception.GlobalExceptionHandler;
+import de.zeltlager.kuechenplaner.data.model.InventoryItem;
+import de.zeltlager.kuechenplaner.data.model.Meal;
+import de.zeltlager.kuechenplaner.data.model.MenuPlanEntry;
+import de.zeltlager.kuechenplaner.logic.ChangeEvent;
+import de.zeltlager.kuechenplaner.logic.ChangeEventBus;
+
+@WebMvcTest(controllers = ChangeEventController.class)
+@Import({GlobalExceptionHandler.class, ChangeEventBus.class})
+class ChangeEventControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ChangeEventBus changeEventBus;
+
+    @Test
+    void streamsPublishedChangesAsNamedEvents() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        changeEventBus.publish(new ChangeEvent.MenuPlanChanged(ChangeEvent.Type.CREATED, List.of(
+                new MenuPlanEntry(LocalDate.of(2024, 7, 1), new Meal("Eintopf", 40, 3L)),
+                new MenuPlanEntry(LocalDate.of(2024, 7, 2), new Meal("Nudeln", 40)))));
+        changeEventBus.publish(new ChangeEvent.InventoryChanged(List.of(new InventoryItem("Mehl", 5, "kg"))));
+
+        // Events are sent on the client's own thread.
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(result.getResponse().getContentAsString())
+                        .contains("event:menu-plan")
+                        .contains("\"type\":\"CREATED\"")
+                        .contains("\"date\":\"2024-07-01\"")
+                        .contains("\"recipeId\":3")
+                        .contains("\"date\":\"2024-07-02\"")
+                        .contains("event:inventory")
+                        .contains("\"ingredient\":\"Mehl\""));
+        String body = result.getResponse().getContentAsString();
+        assertThat(body.indexOf("event:menu-plan")).isLessThan(body.indexOf("event:inventory"));
+    }
+}
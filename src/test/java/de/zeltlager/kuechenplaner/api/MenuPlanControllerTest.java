@@ -0,0 +1,94 @@
+package de.zeltlager.kuechenplaner.api;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import de.zeltlager.kuechenplaner.api.exception.GlobalExceptionHandler;
+import de.zeltlager.kuechenplaner.data.model.DataVersion;
+import de.zeltlager.kuechenplaner.data.model.Meal;
+import de.zeltlager.kuechenplaner.data.model.MenuPlanEntry;
+import de.zeltlager.kuechenplaner.data.model.ShoppingListItem;
+import de.zeltlager.kuechenplaner.logic.MenuPlanService;
+import de.zeltlager.kuechenplaner.logic.RecipeService;
+
+@WebMvcTest(controllers = {MenuPlanController.class, ShoppingListController.class})
+@Import(GlobalExceptionHandler.class)
+class MenuPlanControllerTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 7, 1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private MenuPlanService menuPlanService;
+
+    @MockBean
+    private RecipeService recipeService;
+
+    @BeforeEach
+    void setUp() {
+        when(menuPlanService.getMenuPlanVersion()).thenReturn(new DataVersion(3, Instant.parse("2024-07-01T08:00:00Z")));
+        when(recipeService.getRecipesVersion()).thenReturn(new DataVersion(10, Instant.parse("2024-06-30T18:00:00Z")));
+    }
+
+    @Test
+    void pagesMenuPlanOfDateRange() throws Exception {
+        when(menuPlanService.getMenuPlan(MONDAY, MONDAY.plusDays(1))).thenReturn(List.of(
+                new MenuPlanEntry(MONDAY, new Meal("Eintopf", 40, 1L)),
+                new MenuPlanEntry(MONDAY, new Meal("Stockbrot", 40)),
+                new MenuPlanEntry(MONDAY.plusDays(1), new Meal("Nudeln", 40, 2L))));
+
+        mockMvc.perform(get("/api/menu-plan")
+                        .param("from", "2024-07-01").param("to", "2024-07-02")
+                        .param("page", "1").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].date").value("2024-07-02"))
+                .andExpect(jsonPath("$.content[0].recipeId").value(2))
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void rejectsIncompleteDateRange() throws Exception {
+        mockMvc.perform(get("/api/menu-plan").param("from", "2024-07-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("bad_request"));
+
+        verify(menuPlanService, never()).getMenuPlan();
+    }
+
+    @Test
+    void shoppingListIsNotGeneratedAgainForMatchingETag() throws Exception {
+        when(menuPlanService.generateShoppingList()).thenReturn(List.of(
+                new ShoppingListItem("Kartoffeln", "kg", 12.5, List.of(), "Gemüse")));
+
+        String eTag = mockMvc.perform(get("/api/shopping-list"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Kartoffeln"))
+                .andExpect(jsonPath("$[0].category").value("Gemüse"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/shopping-list").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        verify(menuPlanService).generateShoppingList();
+    }
+}
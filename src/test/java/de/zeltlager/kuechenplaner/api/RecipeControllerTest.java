@@ -0,0 +1,110 @@
+package de.zeltlager.kuechenplaner.api;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import de.zeltlager.kuechenplaner.api.exception.GlobalExceptionHandler;
+import de.zeltlager.kuechenplaner.data.model.DataVersion;
+import de.zeltlager.kuechenplaner.data.model.RecipeSummary;
+import de.zeltlager.kuechenplaner.logic.RecipeService;
+
+@WebMvcTest(controllers = RecipeController.class)
+@Import(GlobalExceptionHandler.class)
+class RecipeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RecipeService recipeService;
+
+    @BeforeEach
+    void setUp() {
+        when(recipeService.getRecipesVersion()).thenReturn(new DataVersion(3, Instant.parse("2024-07-01T08:00:00Z")));
+    }
+
+    @Test
+    void listsPageWithStrongETagAndAnswersRepeatedPollWithNotModified() throws Exception {
+        when(recipeService.countRecipes()).thenReturn(3L);
+        when(recipeService.getRecipeSummaries(0, 2)).thenReturn(List.of(
+                new RecipeSummary(1L, "Eintopf", 20, 5),
+                new RecipeSummary(2L, "Stockbrot", 10, 3)));
+
+        String eTag = mockMvc.perform(get("/api/recipes").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Eintopf"))
+                .andExpect(jsonPath("$.content[1].ingredientCount").value(3))
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/recipes").param("size", "2").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag));
+
+        verify(recipeService).getRecipeSummaries(anyInt(), anyInt());
+    }
+
+    @Test
+    void changedVersionInvalidatesETag() throws Exception {
+        when(recipeService.countRecipes()).thenReturn(0L);
+        when(recipeService.getRecipeSummaries(0, 50)).thenReturn(List.of());
+        String eTag = mockMvc.perform(get("/api/recipes"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        when(recipeService.getRecipesVersion()).thenReturn(new DataVersion(2, Instant.parse("2024-07-01T08:00:00Z")));
+
+        mockMvc.perform(get("/api/recipes").header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void searchFetchesOneExtraMatchToDetectNextPage() throws Exception {
+        when(recipeService.searchSummaries("kartoffel", 2, 1)).thenReturn(List.of(
+                new RecipeSummary(4L, "Kartoffelsalat", 10, 4),
+                new RecipeSummary(5L, "Kartoffelsuppe", 10, 6)));
+
+        mockMvc.perform(get("/api/recipes").param("q", " kartoffel ").param("page", "1").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(4))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    void rejectsInvalidPageSize() throws Exception {
+        mockMvc.perform(get("/api/recipes").param("size", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("validation_error"));
+
+        verify(recipeService, never()).getRecipeSummaries(anyInt(), anyInt());
+    }
+
+    @Test
+    void unknownRecipeIsNotFound() throws Exception {
+        when(recipeService.getRecipe(42L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/recipes/42"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("resource_not_found"));
+    }
+}
@@ -15,18 +15,33 @@ import de.zeltlager.kuechenplaner.user.UserContext;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -54,9 +69,13 @@ class JsonBackupServiceTest {
         Recipe recipe = new Recipe(1L, "Suppe", null, 4, "Kochen", Instant.parse("2024-01-01T10:00:00Z"), Instant.parse("2024-01-02T10:00:00Z"));
         Ingredient ingredient = new Ingredient(2L, 1L, "Kartoffel", "g", 100.0, "mehlig");
         RecipeWithIngredients recipeWithIngredients = new RecipeWithIngredients(recipe, List.of(ingredient));
-        when(recipeService.getAllRecipes()).thenReturn(List.of(recipeWithIngredients));
+        doAnswer(invocation -> {
+            Consumer<RecipeWithIngredients> action = invocation.getArgument(0);
+            action.accept(recipeWithIngredients);
+            return null;
+        }).when(recipeService).forEachRecipe(any());
 
-        MenuPlanEntry menuPlanEntry = new MenuPlanEntry(LocalDate.of(2024, 7, 1), new Meal("Mittag", 50));
+        MenuPlanEntry menuPlanEntry = new MenuPlanEntry(LocalDate.of(2024, 7, 1), new Meal("Mittag", 50, 1L));
         when(menuPlanService.getMenuPlan()).thenReturn(List.of(menuPlanEntry));
 
         InventoryItem inventoryItem = new InventoryItem("Milch", 5, "l");
@@ -64,7 +83,8 @@ class JsonBackupServiceTest {
 
         when(userContext.getCurrentUsername()).thenReturn("koch");
 
-        JsonBackupService service = new JsonBackupService(recipeService, menuPlanService, inventoryService, objectMapper, userContext);
+        JsonBackupService service = new JsonBackupService(recipeService, menuPlanService, inventoryService, objectMapper, userContext,
+                TransactionOperations.withoutTransaction());
         Path target = tempDir.resolve("backup.json");
 
         Path written = service.createBackup(target);
@@ -78,17 +98,55 @@ class JsonBackupServiceTest {
         assertThat(recipeNode.get("name").asText()).isEqualTo("Suppe");
         assertThat(recipeNode.get("ingredients")).hasSize(1);
         assertThat(root.get("menuPlan")).hasSize(1);
+        assertThat(root.get("menuPlan").get(0).get("recipeId").asLong()).isEqualTo(1L);
         assertThat(root.get("inventory")).hasSize(1);
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files).containsExactly(written);
+        }
+    }
+
+    @Test
+    void createBackupCompressesGzipTargets() throws IOException {
+        when(menuPlanService.getMenuPlan()).thenReturn(List.of());
+        when(inventoryService.getInventory()).thenReturn(List.of(new InventoryItem("Mehl", 10, "kg")));
+        when(userContext.getCurrentUsername()).thenReturn("koch");
+
+        JsonBackupService service = new JsonBackupService(recipeService, menuPlanService, inventoryService, objectMapper, userContext,
+                TransactionOperations.withoutTransaction());
+        Path written = service.createBackup(tempDir.resolve("backup.json.gz"));
+
+        try (InputStream input = new GZIPInputStream(Files.newInputStream(written))) {
+            JsonNode root = objectMapper.readTree(input);
+            assertThat(root.get("recipes")).isEmpty();
+            assertThat(root.get("inventory").get(0).get("ingredient").asText()).isEqualTo("Mehl");
+        }
+    }
+
+    @Test
+    void createBackupKeepsExistingFileWhenWritingFails() throws IOException {
+        Path target = tempDir.resolve("backup.json");
+        Files.writeString(target, "previous");
+        when(userContext.getCurrentUsername()).thenReturn("koch");
+        when(menuPlanService.getMenuPlan()).thenThrow(new IllegalStateException("database down"));
+
+        JsonBackupService service = new JsonBackupService(recipeService, menuPlanService, inventoryService, objectMapper, userContext,
+                TransactionOperations.withoutTransaction());
+
+        assertThrows(IllegalStateException.class, () -> service.createBackup(target));
+        assertThat(Files.readString(target)).isEqualTo("previous");
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files).containsExactly(target);
+        }
     }
 
     @Test
     void createBackupCreatesParentDirectories() throws IOException {
-        when(recipeService.getAllRecipes()).thenReturn(List.of());
         when(menuPlanService.getMenuPlan()).thenReturn(List.of());
         when(inventoryService.getInventory()).thenReturn(List.of());
         when(userContext.getCurrentUsername()).thenReturn("user");
 
-        JsonBackupService service = new JsonBackupService(recipeService, menuPlanService, inventoryService, objectMapper, userContext);
+        JsonBackupService service = new JsonBackupService(recipeService, menuPlanService, inventoryService, objectMapper, userContext,
+                TransactionOperations.withoutTransaction());
         Path nested = tempDir.resolve(Path.of("backups", "daily", "backup.json"));
 
         Path written = service.createBackup(nested);
@@ -98,7 +156,161 @@ class JsonBackupServiceTest {
 
     @Test
     void createBackupRejectsNullTarget() {
-        JsonBackupService service = new JsonBackupService(recipeService, menuPlanService, inventoryService, objectMapper, userContext);
+        JsonBackupService service = new JsonBackupService(recipeService, menuPlanService, inventoryService, objectMapper, userContext,
+                TransactionOperations.withoutTransaction());
         assertThrows(NullPointerException.class, () -> service.createBackup(null));
     }
+
+    @Test
+    void restoreBackupRemapsRecipeIdsAndRestoresAllSections() throws IOException {
+        Path source = tempDir.resolve("backup.json.gz");
+        String json = """
+                {"version":"1.0","generatedAt":"2024-07-01T08:00:00Z","username":"koch",
+                 "recipes":[{"id":7,"name":"Suppe","categoryId":null,"baseServings":4,"instructions":"Kochen",
+                   "createdAt":"2024-01-01T10:00:00Z","updatedAt":"2024-01-02T10:00:00Z",
+                   "ingredients":[{"id":3,"recipeId":7,"name":"Kartoffel","unit":"g","amountPerServing":100.0,"notes":null}]}],
+                 "menuPlan":[{"date":"2024-07-01","meal":"Mittag","servings":50,"recipeId":7},
+                   {"date":"2024-07-02","meal":"Abend","servings":40,"recipeId":99}],
+                 "inventory":[{"ingredient":"Milch","quantity":5,"unit":"l"}]}
+                """;
+        try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(source))) {
+            output.write(json.getBytes(StandardCharsets.UTF_8));
+        }
+        when(recipeService.createRecipes(any())).thenAnswer(invocation -> {
+            List<RecipeWithIngredients> recipes = invocation.getArgument(0);
+            RecipeWithIngredients recipe = recipes.get(0);
+            return List.of(new RecipeWithIngredients(new Recipe(21L, recipe.getRecipe().getName(), null, 4,
+                    "Kochen", null, null), recipe.getIngredients()));
+        });
+
+        JsonBackupService service = new JsonBackupService(recipeService, menuPlanService, inventoryService, objectMapper, userContext,
+                TransactionOperations.withoutTransaction());
+        BackupService.RestoreSummary summary = service.restoreBackup(source);
+
+        assertThat(summary).isEqualTo(new BackupService.RestoreSummary(1, 2, 1));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<MenuPlanEntry>> entries = ArgumentCaptor.forClass(List.class);
+        verify(menuPlanService).addMenuPlanEntries(entries.capture());
+        assertThat(entries.getValue()).hasSize(2);
+        assertThat(entries.getValue().get(0).getMeal().getRecipeId()).contains(21L);
+        assertThat(entries.getValue().get(1).getMeal().getRecipeId()).isEmpty();
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<InventoryItem>> items = ArgumentCaptor.forClass(List.class);
+        verify(inventoryService).upsertAll(items.capture());
+        assertThat(items.getValue()).extracting(InventoryItem::getIngredient).containsExactly("Milch");
+    }
+
+    @Test
+    void restoreBackupRejectsUnknownVersion() throws IOException {
+        Path source = tempDir.resolve("backup.json");
+        Files.writeString(source, "{\"version\":\"9.0\",\"recipes\":[]}");
+
+        JsonBackupService service = new JsonBackupService(recipeService, menuPlanService, inventoryService, objectMapper, userContext,
+                TransactionOperations.withoutTransaction());
+
+        assertThrows(IllegalArgumentException.class, () -> service.restoreBackup(source));
+    }
+
+    @Test
+    void createIncrementalBackupWritesOnlyRowsChangedSincePreviousBackup() throws IOException {
+        Path previous = tempDir.resolve("full.json");
+        Files.writeString(previous, "{\"version\":\"1.0\",\"generatedAt\":\"2024-07-01T08:00:00Z\",\"recipes\":[]}");
+        // Rows committed after the previous backup may have been stamped before it.
+        Instant changedAfter = Instant.parse("2024-07-01T08:00:00Z").minus(JsonBackupService.MAX_TRANSACTION_DURATION);
+        when(menuPlanService.getMenuPlanUpdatedSince(changedAfter)).thenReturn(List.of());
+        when(inventoryService.getInventoryUpdatedSince(changedAfter)).thenReturn(List.of(new InventoryItem("Mehl", 10, "kg")));
+        when(userContext.getCurrentUsername()).thenReturn("koch");
+
+        JsonBackupService service = new JsonBackupService(recipeService, menuPlanService, inventoryService, objectMapper, userContext,
+                TransactionOperations.withoutTransaction());
+        Path written = service.createIncrementalBackup(tempDir.resolve("delta.json"), previous);
+
+        JsonNode root = objectMapper.readTree(written.toFile());
+        assertThat(root.get("type").asText()).isEqualTo("incremental");
+        assertThat(root.get("since").asText()).isEqualTo("2024-07-01T08:00:00Z");
+        assertThat(root.get("inventory")).hasSize(1);
+        verify(recipeService).forEachRecipeUpdatedSince(eq(changedAfter), any());
+    }
+
+    @Test
+    void restoreBackupsRejectsIncrementThatDoesNotContinueTheChain() throws IOException {
+        Path full = tempDir.resolve("full.json");
+        Files.writeString(full, "{\"version\":\"1.0\",\"generatedAt\":\"2024-07-01T08:00:00Z\",\"type\":\"full\"}");
+        Path delta = tempDir.resolve("delta.json");
+        Files.writeString(delta, "{\"version\":\"1.0\",\"generatedAt\":\"2024-07-01T10:00:00Z\","
+                + "\"type\":\"incremental\",\"since\":\"2024-07-01T09:00:00Z\",\"inventory\":[]}");
+
+        JsonBackupService service = new JsonBackupService(recipeService, menuPlanService, inventoryService, objectMapper, userContext,
+                TransactionOperations.withoutTransaction());
+
+        assertThrows(IllegalArgumentException.class, () -> service.restoreBackups(List.of(full, delta)));
+        assertThrows(IllegalArgumentException.class, () -> service.restoreBackups(List.of(delta)));
+    }
+
+    @Test
+    void restoreBackupsAppliesFilesInTheOrderOfTheirHeaders() throws IOException {
+        Path full = tempDir.resolve("full.json");
+        Files.writeString(full, "{\"version\":\"1.0\",\"generatedAt\":\"2024-07-01T08:00:00Z\",\"type\":\"full\","
+                + "\"inventory\":[{\"ingredient\":\"Mehl\",\"quantity\":1,\"unit\":\"kg\"}]}");
+        Path first = tempDir.resolve("delta-1.json");
+        Files.writeString(first, "{\"version\":\"1.0\",\"generatedAt\":\"2024-07-01T10:00:00Z\",\"type\":\"incremental\","
+                + "\"since\":\"2024-07-01T08:00:00Z\","
+                + "\"inventory\":[{\"ingredient\":\"Mehl\",\"quantity\":2,\"unit\":\"kg\"}]}");
+        Path second = tempDir.resolve("delta-2.json");
+        Files.writeString(second, "{\"version\":\"1.0\",\"generatedAt\":\"2024-07-01T12:00:00Z\",\"type\":\"incremental\","
+                + "\"since\":\"2024-07-01T10:00:00Z\","
+                + "\"inventory\":[{\"ingredient\":\"Mehl\",\"quantity\":3,\"unit\":\"kg\"}]}");
+        // Modification times in reverse order, e.g. after copying the files.
+        Files.setLastModifiedTime(full, FileTime.from(Instant.parse("2024-07-03T00:00:00Z")));
+        Files.setLastModifiedTime(first, FileTime.from(Instant.parse("2024-07-02T00:00:00Z")));
+        Files.setLastModifiedTime(second, FileTime.from(Instant.parse("2024-07-01T00:00:00Z")));
+
+        JsonBackupService service = new JsonBackupService(recipeService, menuPlanService, inventoryService, objectMapper, userContext,
+                TransactionOperations.withoutTransaction());
+        service.restoreBackups(List.of(second, full, first));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<InventoryItem>> items = ArgumentCaptor.forClass(List.class);
+        verify(inventoryService, times(3)).upsertAll(items.capture());
+        assertThat(items.getAllValues())
+                .extracting(batch -> batch.get(0).getQuantity())
+                .containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void restoreBackupsAppliesOverlapOfIncrementOnlyOnce() throws IOException {
+        Path full = tempDir.resolve("full.json");
+        Files.writeString(full, """
+                {"version":"1.0","generatedAt":"2024-07-01T08:00:00Z","type":"full",
+                 "recipes":[{"id":7,"name":"Eintopf","baseServings":4,"instructions":"Kochen","ingredients":[]}],
+                 "menuPlan":[{"date":"2024-07-01","meal":"Eintopf","servings":50,"recipeId":7}]}
+                """);
+        Path delta = tempDir.resolve("delta.json");
+        Files.writeString(delta, """
+                {"version":"1.0","generatedAt":"2024-07-01T10:00:00Z","type":"incremental","since":"2024-07-01T08:00:00Z",
+                 "recipes":[{"id":7,"name":"Eintopf","baseServings":4,"instructions":"Kochen","ingredients":[]}],
+                 "menuPlan":[{"date":"2024-07-01","meal":"eintopf ","servings":50,"recipeId":7},
+                   {"date":"2024-07-02","meal":"Eintopf","servings":50,"recipeId":7}]}
+                """);
+        when(recipeService.createRecipes(any())).thenAnswer(invocation -> {
+            List<RecipeWithIngredients> recipes = invocation.getArgument(0);
+            return List.of(new RecipeWithIngredients(new Recipe(21L, "Eintopf", null, 4, "Kochen", null, null),
+                    recipes.get(0).getIngredients()));
+        });
+
+        JsonBackupService service = new JsonBackupService(recipeService, menuPlanService, inventoryService, objectMapper, userContext,
+                TransactionOperations.withoutTransaction());
+        BackupService.RestoreSummary summary = service.restoreBackups(List.of(full, delta));
+
+        assertThat(summary).isEqualTo(new BackupService.RestoreSummary(2, 2, 0));
+        verify(recipeService).createRecipes(any());
+        verify(recipeService).updateRecipe(eq(21L), eq("Eintopf"), any(), eq(4), eq("Kochen"), any());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<MenuPlanEntry>> entries = ArgumentCaptor.forClass(List.class);
+        verify(menuPlanService, times(2)).addMenuPlanEntries(entries.capture());
+        assertThat(entries.getAllValues())
+                .extracting(batch -> batch.get(0).getDate())
+                .containsExactly(LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 2));
+        assertThat(entries.getAllValues().get(1)).hasSize(1);
+    }
 }
@@ -0,0 +1,109 @@
+package de.zeltlager.kuechenplaner.data.repository.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import de.zeltlager.kuechenplaner.config.PersistenceConfig;
+import de.zeltlager.kuechenplaner.data.model.Ingredient;
+import de.zeltlager.kuechenplaner.data.model.IngredientTotal;
+import de.zeltlager.kuechenplaner.data.model.Meal;
+import de.zeltlager.kuechenplaner.data.model.MenuPlanEntry;
+import de.zeltlager.kuechenplaner.data.model.Recipe;
+import de.zeltlager.kuechenplaner.user.CurrentUserAuditorAware;
+import de.zeltlager.kuechenplaner.user.UserAccountService;
+import de.zeltlager.kuechenplaner.user.UserContext;
+
+@DataJpaTest
+@Import({JpaMenuPlanRepository.class, JpaRecipeRepository.class, UserAccountService.class, UserContext.class,
+        PersistenceConfig.class, CurrentUserAuditorAware.class})
+class JpaMenuPlanRepositoryTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 7, 1);
+    private static final LocalDate TUESDAY = MONDAY.plusDays(1);
+
+    @Autowired
+    private JpaMenuPlanRepository menuPlanRepository;
+
+    @Autowired
+    private JpaRecipeRepository recipeRepository;
+
+    @Autowired
+    private UserContext userContext;
+
+    @Test
+    void sumsIngredientsOfLinkedAndNameResolvedRecipesOfCurrentUserOnly() {
+        userContext.setCurrentUsername("andere-gruppe");
+        recipeRepository.create(recipe("Eintopf"), List.of(ingredient("Kartoffeln", "kg", 1.0)));
+        userContext.setCurrentUsername("camp-admin");
+
+        long pastaId = recipeRepository.create(recipe("Nudeln"),
+                        List.of(ingredient("Nudeln", "g", 100), ingredient("Kartoffeln", "kg", 0.5)))
+                .getRecipe().getId().orElseThrow();
+        menuPlanRepository.save(new MenuPlanEntry(MONDAY, new Meal("Nudeln", 10)));
+        // Planned before the recipe exists, so the entry stays unlinked and is resolved by name.
+        menuPlanRepository.save(new MenuPlanEntry(TUESDAY, new Meal("Eintopf ", 20)));
+        long stewId = recipeRepository.create(recipe("eintopf"), List.of(ingredient("Kartoffeln", "kg", 0.25)))
+                .getRecipe().getId().orElseThrow();
+        recipeRepository.create(recipe("Eintopf"), List.of(ingredient("Lauch", "Stück", 1)));
+
+        assertThat(menuPlanRepository.sumIngredients())
+                .extracting(IngredientTotal::getName, IngredientTotal::getUnit, IngredientTotal::getTotalAmount,
+                        IngredientTotal::getRowCount)
+                .containsExactlyInAnyOrder(
+                        tuple("Nudeln", "g", 1000.0, 1L),
+                        tuple("Kartoffeln", "kg", 10.0, 2L));
+        assertThat(menuPlanRepository.sumIngredientsByDateRange(TUESDAY, TUESDAY))
+                .extracting(IngredientTotal::getName, IngredientTotal::getUnit, IngredientTotal::getTotalAmount)
+                .containsExactly(tuple("Kartoffeln", "kg", 5.0));
+        assertThat(menuPlanRepository.findAll())
+                .extracting(entry -> entry.getMeal().getRecipeId())
+                .containsExactly(Optional.of(pastaId), Optional.of(stewId));
+    }
+
+    @Test
+    void saveAllLinksByIdOrOldestRecipeWithSameName() {
+        long stewId = recipeRepository.create(recipe("Eintopf"), List.of(ingredient("Lauch", "Stück", 1)))
+                .getRecipe().getId().orElseThrow();
+        recipeRepository.create(recipe("eintopf"), List.of(ingredient("Lauch", "Stück", 2)));
+        long pastaId = recipeRepository.create(recipe("Nudeln"), List.of(ingredient("Nudeln", "g", 100)))
+                .getRecipe().getId().orElseThrow();
+
+        List<MenuPlanEntry> saved = menuPlanRepository.saveAll(List.of(
+                new MenuPlanEntry(MONDAY, new Meal(" EINTOPF", 20)),
+                new MenuPlanEntry(MONDAY, new Meal("Abendbrot", 30, pastaId)),
+                new MenuPlanEntry(TUESDAY, new Meal("Salat", 10))));
+
+        assertThat(saved)
+                .extracting(entry -> entry.getMeal().getRecipeId())
+                .containsExactly(Optional.of(stewId), Optional.of(pastaId), Optional.empty());
+        assertThat(menuPlanRepository.findAll()).hasSize(3);
+    }
+
+    @Test
+    void saveAllStoresNothingIfOneRecipeIdIsUnknown() {
+        assertThatThrownBy(() -> menuPlanRepository.saveAll(List.of(
+                new MenuPlanEntry(MONDAY, new Meal("Nudeln", 10)),
+                new MenuPlanEntry(TUESDAY, new Meal("Eintopf", 20, 999L)))))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(menuPlanRepository.findAll()).isEmpty();
+    }
+
+    private static Recipe recipe(String name) {
+        return new Recipe(null, name, null, 10, "Kochen", null, null);
+    }
+
+    private static Ingredient ingredient(String name, String unit, double amountPerServing) {
+        return new Ingredient(null, null, name, unit, amountPerServing, null);
+    }
+}
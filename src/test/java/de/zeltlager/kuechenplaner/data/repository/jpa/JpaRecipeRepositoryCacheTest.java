@@ -0,0 +1,115 @@
+package de.zeltlager.kuechenplaner.data.repository.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import de.zeltlager.kuechenplaner.config.PersistenceConfig;
+import de.zeltlager.kuechenplaner.data.model.Ingredient;
+import de.zeltlager.kuechenplaner.data.model.Recipe;
+import de.zeltlager.kuechenplaner.data.model.RecipeSummary;
+import de.zeltlager.kuechenplaner.data.model.RecipeWithIngredients;
+import de.zeltlager.kuechenplaner.data.persistence.entity.CacheRegions;
+import de.zeltlager.kuechenplaner.user.CurrentUserAuditorAware;
+import de.zeltlager.kuechenplaner.user.UserAccountService;
+import de.zeltlager.kuechenplaner.user.UserContext;
+
+/**
+ * Runs the repository against the configured second-level cache. Starting the context already
+ * proves that {@code recipe-cache.conf} defines every region, since a missing one fails the
+ * start. Each repository call commits on its own, like in the application, so the cache is
+ * filled and invalidated as it would be there.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({JpaRecipeRepository.class, RecipeCacheStatistics.class, UserAccountService.class, UserContext.class,
+        PersistenceConfig.class, CurrentUserAuditorAware.class})
+class JpaRecipeRepositoryCacheTest {
+
+    @Autowired
+    private JpaRecipeRepository repository;
+
+    @Autowired
+    private RecipeCacheStatistics cacheStatistics;
+
+    @Test
+    void repeatedReadsHitTheCacheAndUpdatesAreReadBack() {
+        long id = id(repository.create(recipe(null, "Linseneintopf", 20), List.of(ingredient("Linsen", 2.0))));
+        try {
+            repository.findById(id);
+            long queryHits = region(CacheRegions.RECIPE_QUERIES).hitCount();
+
+            RecipeWithIngredients cached = repository.findById(id).orElseThrow();
+
+            assertThat(cached.getRecipe().getName()).isEqualTo("Linseneintopf");
+            assertThat(region(CacheRegions.RECIPE_QUERIES).hitCount()).isGreaterThan(queryHits);
+            assertThat(region(CacheRegions.RECIPES).putCount()).isPositive();
+
+            repository.update(recipe(id, "Linsensuppe", 40),
+                    List.of(ingredient("Linsen", 4.0), ingredient("Karotten", 1.0)));
+            RecipeWithIngredients updated = repository.findById(id).orElseThrow();
+
+            assertThat(updated.getRecipe().getName()).isEqualTo("Linsensuppe");
+            assertThat(updated.getRecipe().getBaseServings()).isEqualTo(40);
+            assertThat(updated.getIngredients())
+                    .extracting(Ingredient::getName, Ingredient::getAmountPerServing)
+                    .containsExactlyInAnyOrder(tuple("Linsen", 4.0), tuple("Karotten", 1.0));
+            assertThat(repository.findSummaries(0, 10))
+                    .extracting(RecipeSummary::getName, RecipeSummary::getIngredientCount)
+                    .containsExactly(tuple("Linsensuppe", 2));
+        } finally {
+            repository.delete(id);
+        }
+    }
+
+    @Test
+    void deletedRecipesAreNotReadFromTheCache() {
+        long id = id(repository.create(recipe(null, "Kartoffelsalat", 10), List.of(ingredient("Kartoffeln", 3.0))));
+        repository.findById(id);
+        repository.findSummaries(0, 10);
+        assertThat(repository.count()).isEqualTo(1);
+
+        repository.delete(id);
+
+        assertThat(repository.findById(id)).isEmpty();
+        assertThat(repository.findAllByIds(List.of(id))).isEmpty();
+        assertThat(repository.findSummaries(0, 10)).isEmpty();
+        assertThat(repository.count()).isZero();
+    }
+
+    @Test
+    void reportsEveryRecipeRegion() {
+        assertThat(cacheStatistics.isEnabled()).isTrue();
+        assertThat(cacheStatistics.getRegionStatistics())
+                .extracting(RecipeCacheStatistics.RegionStatistics::region)
+                .containsExactly(CacheRegions.RECIPES, CacheRegions.RECIPE_INGREDIENTS,
+                        CacheRegions.RECIPE_INGREDIENT_LISTS, CacheRegions.RECIPE_QUERIES);
+    }
+
+    private RecipeCacheStatistics.RegionStatistics region(String name) {
+        return cacheStatistics.getRegionStatistics().stream()
+                .filter(statistics -> statistics.region().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static long id(RecipeWithIngredients recipe) {
+        return recipe.getRecipe().getId().orElseThrow();
+    }
+
+    private static Recipe recipe(Long id, String name, int baseServings) {
+        return new Recipe(id, name, null, baseServings, "Kochen", null, null);
+    }
+
+    private static Ingredient ingredient(String name, double amountPerServing) {
+        return new Ingredient(null, null, name, "kg", amountPerServing, null);
+    }
+}
@@ -0,0 +1,132 @@
+package de.zeltlager.kuechenplaner.data.repository.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import de.zeltlager.kuechenplaner.RecipeTableModel;
+import de.zeltlager.kuechenplaner.config.PersistenceConfig;
+import de.zeltlager.kuechenplaner.data.model.Ingredient;
+import de.zeltlager.kuechenplaner.data.model.Recipe;
+import de.zeltlager.kuechenplaner.data.model.RecipeSummary;
+import de.zeltlager.kuechenplaner.data.model.RecipeWithIngredients;
+import de.zeltlager.kuechenplaner.user.CurrentUserAuditorAware;
+import de.zeltlager.kuechenplaner.user.UserAccountService;
+import de.zeltlager.kuechenplaner.user.UserContext;
+
+/**
+ * Runs the text search against the H2 database, with the same expectations as the in-memory
+ * repository, and checks the ids handed out by the pooled sequences.
+ */
+@DataJpaTest
+@Import({JpaRecipeRepository.class, UserAccountService.class, UserContext.class, PersistenceConfig.class,
+        CurrentUserAuditorAware.class})
+class JpaRecipeRepositoryTest {
+
+    @Autowired
+    private JpaRecipeRepository repository;
+
+    @Autowired
+    private UserContext userContext;
+
+    @Test
+    void searchMatchesEveryWordAndPagesByName() {
+        long stew = id(repository.create(recipe("Linseneintopf", "Kochen"), List.of(ingredient("Linsen"))));
+        long salad = id(repository.create(recipe("Kartoffelsalat", "Schneiden"), List.of(ingredient("Kartoffeln"))));
+        long soup = id(repository.create(recipe("Kartoffelsuppe", "Kochen"),
+                List.of(ingredient("Kartoffeln"), ingredient("Lauch"))));
+
+        assertThat(ids(repository.search("kartoffel", 10, 0))).containsExactly(salad, soup);
+        assertThat(ids(repository.search("kartoffel", 1, 1))).containsExactly(soup);
+        assertThat(ids(repository.search("Kartoffel LAUCH", 10, 0))).containsExactly(soup);
+        assertThat(ids(repository.search("linsen", 10, 0))).containsExactly(stew);
+    }
+
+    @Test
+    void searchMatchesPartialWordsAcrossNameInstructionsAndIngredients() {
+        long salad = id(repository.create(recipe("Kartoffelsalat", "Pellen und schneiden"),
+                List.of(ingredient("Kartoffeln"), ingredient("Essig"))));
+        long pasta = id(repository.create(recipe("Nudeln mit Soße", "Kochen"), List.of(ingredient("Tomaten"))));
+
+        assertThat(ids(repository.search("kart", 10, 0))).containsExactly(salad);
+        assertThat(ids(repository.search("salat ESS pell", 10, 0))).containsExactly(salad);
+        assertThat(ids(repository.search("nudel tomate koch", 10, 0))).containsExactly(pasta);
+        assertThat(repository.search("nudel essig", 10, 0)).isEmpty();
+        assertThat(repository.searchSummaries("kart", 10, 0))
+                .extracting(RecipeSummary::getName)
+                .containsExactly("Kartoffelsalat");
+    }
+
+    @Test
+    void searchOnlyFindsRecipesOfCurrentUserAndTreatsWildcardsLiterally() {
+        userContext.setCurrentUsername("andere-gruppe");
+        repository.create(recipe("Kartoffelsalat", "Schneiden"), List.of(ingredient("Kartoffeln")));
+        userContext.setCurrentUsername("camp-admin");
+        long pudding = id(repository.create(recipe("Pudding", "Mit 100% Milch"), List.of(ingredient("Milch"))));
+
+        assertThat(repository.search("kartoffel", 10, 0)).isEmpty();
+        assertThat(ids(repository.search("100%", 10, 0))).containsExactly(pudding);
+        assertThat(repository.search("%", 10, 0)).hasSize(1);
+        assertThat(repository.search("p_dding", 10, 0)).isEmpty();
+    }
+
+    @Test
+    void searchSummariesPagesPartialWordMatchesLikeTheRecipePanel() {
+        for (int i = 0; i <= RecipeTableModel.PAGE_SIZE; i++) {
+            repository.create(recipe(String.format("Kartoffelsalat %03d", i), "Schneiden"),
+                    List.of(ingredient("Kartoffeln")));
+        }
+        repository.create(recipe("Linseneintopf", "Kochen"), List.of(ingredient("Linsen")));
+
+        List<RecipeSummary> firstPage = repository.searchSummaries("kart", RecipeTableModel.PAGE_SIZE, 0);
+        List<RecipeSummary> secondPage = repository.searchSummaries("kart", RecipeTableModel.PAGE_SIZE,
+                RecipeTableModel.PAGE_SIZE);
+
+        assertThat(firstPage).hasSize(RecipeTableModel.PAGE_SIZE);
+        assertThat(firstPage.get(0).getName()).isEqualTo("Kartoffelsalat 000");
+        assertThat(secondPage).extracting(RecipeSummary::getName)
+                .containsExactly(String.format("Kartoffelsalat %03d", RecipeTableModel.PAGE_SIZE));
+    }
+
+    @Test
+    void createAllTakesDistinctIdsFromThePooledSequences() {
+        List<RecipeWithIngredients> recipes = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            recipes.add(new RecipeWithIngredients(recipe("Eintopf " + i, "Kochen"),
+                    List.of(ingredient("Kartoffeln"), ingredient("Lauch"))));
+        }
+
+        List<RecipeWithIngredients> created = repository.createAll(recipes);
+        long single = id(repository.create(recipe("Linseneintopf", "Kochen"), List.of(ingredient("Linsen"))));
+
+        assertThat(ids(created)).doesNotHaveDuplicates().doesNotContain(single);
+        assertThat(created.stream().flatMap(recipe -> recipe.getIngredients().stream())
+                .map(ingredient -> ingredient.getId().orElseThrow()))
+                .hasSize(120)
+                .doesNotHaveDuplicates();
+        assertThat(repository.count()).isEqualTo(61);
+        assertThat(repository.findById(id(created.get(59))).orElseThrow().getIngredients()).hasSize(2);
+    }
+
+    private static List<Long> ids(List<RecipeWithIngredients> recipes) {
+        return recipes.stream().map(JpaRecipeRepositoryTest::id).toList();
+    }
+
+    private static long id(RecipeWithIngredients recipe) {
+        return recipe.getRecipe().getId().orElseThrow();
+    }
+
+    private static Recipe recipe(String name, String instructions) {
+        return new Recipe(null, name, null, 10, instructions, null, null);
+    }
+
+    private static Ingredient ingredient(String name) {
+        return new Ingredient(null, null, name, "kg", 1.0, null);
+    }
+}
@@ -0,0 +1,127 @@
+package de.zeltlager.kuechenplaner.data.repository.memory;
+
+import de.zeltlager.kuechenplaner.data.model.Ingredient;
+import de.zeltlager.kuechenplaner.data.model.Recipe;
+import de.zeltlager.kuechenplaner.data.model.RecipeSummary;
+import de.zeltlager.kuechenplaner.data.model.RecipeWithIngredients;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class InMemoryRecipeRepositoryTest {
+
+    private final InMemoryRecipeRepository repository = new InMemoryRecipeRepository();
+
+    @Test
+    void createAssignsIdsAndFindAllIsOrderedByName() {
+        RecipeWithIngredients stew = repository.create(recipe("Eintopf"), List.of(ingredient("Kartoffeln")));
+        RecipeWithIngredients bread = repository.create(recipe("Stockbrot"), List.of(ingredient("Mehl")));
+        RecipeWithIngredients pasta = repository.create(recipe("Nudelauflauf"), List.of(ingredient("Nudeln")));
+
+        assertThat(stew.getRecipe().getId()).contains(1L);
+        assertThat(stew.getIngredients().get(0).getRecipeId()).contains(1L);
+        assertThat(repository.findAll()).containsExactly(stew, pasta, bread);
+        assertThat(repository.findById(2L)).contains(bread);
+        assertThat(repository.findAllByIds(List.of(3L, 42L))).containsExactly(pasta);
+    }
+
+    @Test
+    void ingredientIndexFollowsUpdatesAndDeletes() {
+        RecipeWithIngredients stew = repository.create(recipe("Eintopf"),
+                List.of(ingredient("Kartoffeln"), ingredient("Lauch")));
+        RecipeWithIngredients salad = repository.create(recipe("Kartoffelsalat"), List.of(ingredient("kartoffeln ")));
+
+        assertThat(repository.findAllByIngredientName("KARTOFFELN")).containsExactly(stew, salad);
+
+        Recipe renamed = new Recipe(stew.getRecipe().getId().orElseThrow(), "Linseneintopf", null, 20, "Kochen", null, null);
+        RecipeWithIngredients updated = repository.update(renamed, List.of(ingredient("Linsen")));
+
+        assertThat(repository.findAllByIngredientName("Kartoffeln")).containsExactly(salad);
+        assertThat(repository.findAllByIngredientName("Linsen")).containsExactly(updated);
+        assertThat(repository.findAll()).containsExactly(salad, updated);
+
+        repository.delete(salad.getRecipe().getId().orElseThrow());
+
+        assertThat(repository.findAllByIngredientName("Kartoffeln")).isEmpty();
+        assertThat(repository.findAll()).containsExactly(updated);
+    }
+
+    @Test
+    void searchMatchesEveryWordAndPagesByName() {
+        RecipeWithIngredients stew = repository.create(recipe("Linseneintopf"), List.of(ingredient("Linsen")));
+        RecipeWithIngredients salad = repository.create(recipe("Kartoffelsalat"), List.of(ingredient("Kartoffeln")));
+        RecipeWithIngredients soup = repository.create(recipe("Kartoffelsuppe"),
+                List.of(ingredient("Kartoffeln"), ingredient("Lauch")));
+
+        assertThat(repository.search("kartoffel", 10, 0)).containsExactly(salad, soup);
+        assertThat(repository.search("kartoffel", 1, 1)).containsExactly(soup);
+        assertThat(repository.search("Kartoffel LAUCH", 10, 0)).containsExactly(soup);
+        assertThat(repository.search("linsen", 10, 0)).containsExactly(stew);
+    }
+
+    @Test
+    void searchMatchesPartialWordsAcrossNameInstructionsAndIngredients() {
+        RecipeWithIngredients salad = repository.create(
+                new Recipe(null, "Kartoffelsalat", null, 10, "Pellen und schneiden", null, null),
+                List.of(ingredient("Kartoffeln"), ingredient("Essig")));
+        RecipeWithIngredients pasta = repository.create(recipe("Nudeln mit Soße"), List.of(ingredient("Tomaten")));
+
+        assertThat(repository.search("kart", 10, 0)).containsExactly(salad);
+        assertThat(repository.search("salat ESS pell", 10, 0)).containsExactly(salad);
+        assertThat(repository.search("nudel tomate koch", 10, 0)).containsExactly(pasta);
+        assertThat(repository.search("nudel essig", 10, 0)).isEmpty();
+    }
+
+    @Test
+    void findSummariesPagesByNameAndCountsIngredients() {
+        repository.create(recipe("Stockbrot"), List.of(ingredient("Mehl")));
+        repository.create(recipe("Eintopf"), List.of(ingredient("Kartoffeln"), ingredient("Lauch")));
+        repository.create(recipe("Nudelauflauf"), List.of(ingredient("Nudeln")));
+
+        assertThat(repository.count()).isEqualTo(3);
+        assertThat(repository.findSummaries(0, 2))
+                .extracting(RecipeSummary::getName, RecipeSummary::getIngredientCount)
+                .containsExactly(tuple("Eintopf", 2), tuple("Nudelauflauf", 1));
+        assertThat(repository.findSummaries(1, 2)).extracting(RecipeSummary::getName).containsExactly("Stockbrot");
+        assertThat(repository.findSummaries(2, 2)).isEmpty();
+        assertThat(repository.searchSummaries("nudel", 10, 0)).extracting(RecipeSummary::getId).containsExactly(3L);
+    }
+
+    @Test
+    void nameIndexReturnsOldestRecipeAndFollowsRenamesAndDeletes() {
+        RecipeWithIngredients first = repository.create(recipe("Eintopf"), List.of());
+        RecipeWithIngredients second = repository.create(recipe("eintopf"), List.of());
+        long firstId = first.getRecipe().getId().orElseThrow();
+        long secondId = second.getRecipe().getId().orElseThrow();
+
+        assertThat(repository.findIdByName(" EINTOPF ")).contains(firstId);
+
+        repository.update(new Recipe(firstId, "Linseneintopf", null, 20, "Kochen", null, null), List.of());
+
+        assertThat(repository.findIdByName("Eintopf")).contains(secondId);
+        assertThat(repository.findIdByName("linseneintopf")).contains(firstId);
+
+        repository.delete(secondId);
+
+        assertThat(repository.findIdByName("Eintopf")).isEmpty();
+    }
+
+    @Test
+    void updateRejectsUnknownRecipe() {
+        Recipe unknown = new Recipe(99L, "Unbekannt", null, 10, "", null, null);
+
+        assertThrows(IllegalArgumentException.class, () -> repository.update(unknown, List.of()));
+    }
+
+    private static Recipe recipe(String name) {
+        return new Recipe(null, name, null, 10, "Kochen", null, null);
+    }
+
+    private static Ingredient ingredient(String name) {
+        return new Ingredient(null, null, name, "kg", 0.1, null);
+    }
+}
@@ -1,14 +1,24 @@
 package de.zeltlager.kuechenplaner.data.repository.memory;
 
+import de.zeltlager.kuechenplaner.data.model.DataVersion;
+import de.zeltlager.kuechenplaner.data.model.Ingredient;
+import de.zeltlager.kuechenplaner.data.model.IngredientTotal;
 import de.zeltlager.kuechenplaner.data.model.InventoryItem;
 import de.zeltlager.kuechenplaner.data.model.Meal;
 import de.zeltlager.kuechenplaner.data.model.MenuPlanEntry;
+import de.zeltlager.kuechenplaner.data.model.Recipe;
+import de.zeltlager.kuechenplaner.data.model.RecipeWithIngredients;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 class InMemoryRepositoriesTest {
 
@@ -24,9 +34,24 @@ class InMemoryRepositoriesTest {
         assertThat(repository.findByIngredient("MILCH")).isPresent();
     }
 
+    @Test
+    void inventoryRepositorySaveAllMergesWithExistingItems() {
+        InMemoryInventoryRepository repository = new InMemoryInventoryRepository();
+        repository.save(new InventoryItem("Milch", 2, "l"));
+
+        repository.saveAll(List.of(
+                new InventoryItem("MILCH", 6, "l"),
+                new InventoryItem("Mehl", 5, "kg")));
+
+        assertThat(repository.findAll()).hasSize(2);
+        assertThat(repository.findByIngredient("milch")).get()
+                .extracting(InventoryItem::getQuantity).isEqualTo(6);
+        assertThat(repository.findByIngredient("mehl")).isPresent();
+    }
+
     @Test
     void menuPlanRepositorySupportsBasicCrudOperations() {
-        InMemoryMenuPlanRepository repository = new InMemoryMenuPlanRepository();
+        InMemoryMenuPlanRepository repository = new InMemoryMenuPlanRepository(new InMemoryRecipeRepository());
         MenuPlanEntry monday = new MenuPlanEntry(LocalDate.of(2024, 7, 1), new Meal("Lunch", 40));
         MenuPlanEntry tuesday = new MenuPlanEntry(LocalDate.of(2024, 7, 2), new Meal("Dinner", 30));
 
@@ -39,4 +64,145 @@ class InMemoryRepositoriesTest {
         repository.delete(new MenuPlanEntry(LocalDate.of(2024, 7, 2), new Meal("Dinner", 30)));
         assertThat(repository.findAll()).containsExactly(monday);
     }
+
+    @Test
+    void menuPlanRepositoryReturnsSnapshotsSortedByDate() {
+        InMemoryMenuPlanRepository repository = new InMemoryMenuPlanRepository(new InMemoryRecipeRepository());
+        MenuPlanEntry wednesday = new MenuPlanEntry(LocalDate.of(2024, 7, 3), new Meal("Lunch", 40));
+        MenuPlanEntry monday = new MenuPlanEntry(LocalDate.of(2024, 7, 1), new Meal("Lunch", 40));
+        repository.save(wednesday);
+
+        List<MenuPlanEntry> snapshot = repository.findAll();
+        repository.save(monday);
+
+        assertThat(snapshot).containsExactly(wednesday);
+        assertThat(repository.findAll()).containsExactly(monday, wednesday);
+    }
+
+    @Test
+    void menuPlanRepositoryFindsEntriesInInclusiveDateRange() {
+        InMemoryMenuPlanRepository repository = new InMemoryMenuPlanRepository(new InMemoryRecipeRepository());
+        MenuPlanEntry monday = new MenuPlanEntry(LocalDate.of(2024, 7, 1), new Meal("Lunch", 40));
+        MenuPlanEntry tuesday = new MenuPlanEntry(LocalDate.of(2024, 7, 2), new Meal("Lunch", 40));
+        MenuPlanEntry wednesday = new MenuPlanEntry(LocalDate.of(2024, 7, 3), new Meal("Lunch", 40));
+        MenuPlanEntry thursday = new MenuPlanEntry(LocalDate.of(2024, 7, 4), new Meal("Lunch", 40));
+        List.of(monday, tuesday, wednesday, thursday).forEach(repository::save);
+
+        assertThat(repository.findByDateRange(LocalDate.of(2024, 7, 2), LocalDate.of(2024, 7, 3)))
+                .containsExactly(tuesday, wednesday);
+    }
+
+    @Test
+    void menuPlanRepositoryLinksEntriesToRecipesById() {
+        InMemoryRecipeRepository recipeRepository = new InMemoryRecipeRepository();
+        InMemoryMenuPlanRepository repository = new InMemoryMenuPlanRepository(recipeRepository);
+        LocalDate day = LocalDate.of(2024, 7, 1);
+        List<Ingredient> ingredients = List.of(new Ingredient(null, null, "Nudeln", "kg", 0.1, null));
+        RecipeWithIngredients pasta = recipeRepository.create(
+                new Recipe(null, "Nudeln mit Soße", null, 10, "Kochen", null, null), ingredients);
+        long pastaId = pasta.getRecipe().getId().orElseThrow();
+
+        MenuPlanEntry saved = repository.save(new MenuPlanEntry(day, new Meal("nudeln mit soße ", 40)));
+        repository.save(new MenuPlanEntry(day, new Meal("Stockbrot", 40)));
+        recipeRepository.update(new Recipe(pastaId, "Pasta", null, 10, "Kochen", null, null), ingredients);
+        RecipeWithIngredients bread = recipeRepository.create(
+                new Recipe(null, "Stockbrot", null, 10, "Backen", null, null), List.of());
+
+        assertThat(saved.getMeal().getRecipeId()).contains(pastaId);
+        assertThat(repository.findByDate(day))
+                .extracting(entry -> entry.getMeal().getRecipeId().orElse(null))
+                .containsExactly(pastaId, bread.getRecipe().getId().orElseThrow());
+
+        recipeRepository.delete(pastaId);
+        assertThat(repository.findByDate(day).get(0).getMeal().getRecipeId()).isEmpty();
+    }
+
+    @Test
+    void menuPlanRepositorySumsIngredientsOverPlannedServings() {
+        InMemoryRecipeRepository recipeRepository = new InMemoryRecipeRepository();
+        InMemoryMenuPlanRepository repository = new InMemoryMenuPlanRepository(recipeRepository);
+        recipeRepository.create(new Recipe(null, "Porridge", null, 10, "Kochen", null, null), List.of(
+                new Ingredient(null, null, "Haferflocken", "g", 80.0, null),
+                new Ingredient(null, null, "Milch", "ml", 200.0, null)));
+        repository.save(new MenuPlanEntry(LocalDate.of(2024, 7, 1), new Meal("Porridge", 30)));
+        repository.save(new MenuPlanEntry(LocalDate.of(2024, 7, 2), new Meal("Porridge", 20)));
+        repository.save(new MenuPlanEntry(LocalDate.of(2024, 7, 2), new Meal("Unbekannt", 20)));
+
+        assertThat(repository.sumIngredients())
+                .extracting(IngredientTotal::getName, IngredientTotal::getTotalAmount)
+                .containsExactly(tuple("Haferflocken", 4000.0), tuple("Milch", 10000.0));
+        assertThat(repository.sumIngredientsByDateRange(LocalDate.of(2024, 7, 2), LocalDate.of(2024, 7, 2)))
+                .extracting(IngredientTotal::getTotalAmount)
+                .containsExactly(1600.0, 4000.0);
+    }
+
+    @Test
+    void repositoriesReturnRowsChangedAfterWatermark() throws InterruptedException {
+        InMemoryInventoryRepository inventoryRepository = new InMemoryInventoryRepository();
+        InMemoryMenuPlanRepository menuPlanRepository = new InMemoryMenuPlanRepository(new InMemoryRecipeRepository());
+        inventoryRepository.save(new InventoryItem("Milch", 2, "l"));
+        menuPlanRepository.save(new MenuPlanEntry(LocalDate.of(2024, 7, 1), new Meal("Lunch", 40)));
+        Thread.sleep(5);
+        Instant watermark = Instant.now();
+        Thread.sleep(5);
+
+        inventoryRepository.save(new InventoryItem("Mehl", 10, "kg"));
+        menuPlanRepository.save(new MenuPlanEntry(LocalDate.of(2024, 7, 2), new Meal("Dinner", 35)));
+
+        assertThat(inventoryRepository.findUpdatedSince(watermark))
+                .extracting(InventoryItem::getIngredient)
+                .containsExactly("Mehl");
+        assertThat(menuPlanRepository.findUpdatedSince(watermark))
+                .extracting(entry -> entry.getMeal().getName())
+                .containsExactly("Dinner");
+    }
+
+    @Test
+    void versionsFollowInsertsUpdatesAndDeletes() throws InterruptedException {
+        InMemoryRecipeRepository recipeRepository = new InMemoryRecipeRepository();
+        InMemoryMenuPlanRepository menuPlanRepository = new InMemoryMenuPlanRepository(recipeRepository);
+        MenuPlanEntry lunch = new MenuPlanEntry(LocalDate.of(2024, 7, 1), new Meal("Lunch", 40));
+        assertThat(menuPlanRepository.getVersion().getCount()).isZero();
+        assertThat(menuPlanRepository.getVersion().getLastModified()).isEmpty();
+
+        menuPlanRepository.save(lunch);
+        DataVersion afterSave = menuPlanRepository.getVersion();
+        Thread.sleep(5);
+        menuPlanRepository.save(new MenuPlanEntry(LocalDate.of(2024, 7, 2), new Meal("Dinner", 35)));
+        menuPlanRepository.delete(lunch);
+
+        assertThat(afterSave.getCount()).isEqualTo(1);
+        assertThat(menuPlanRepository.getVersion().getCount()).isEqualTo(1);
+        assertThat(menuPlanRepository.getVersion().getLastModified().orElseThrow())
+                .isAfter(afterSave.getLastModified().orElseThrow());
+
+        RecipeWithIngredients stew = recipeRepository.create(
+                new Recipe(null, "Eintopf", null, 10, "Kochen", null, null),
+                List.of(new Ingredient(null, null, "Kartoffeln", "kg", 0.2, null),
+                        new Ingredient(null, null, "Lauch", "Stück", 0.1, null)));
+        assertThat(recipeRepository.getVersion().getCount()).isEqualTo(3);
+
+        recipeRepository.update(stew.getRecipe(), List.of(stew.getIngredients().get(0)));
+        assertThat(recipeRepository.getVersion().getCount()).isEqualTo(2);
+    }
+
+    @Test
+    void repositoriesHandleConcurrentWriters() throws InterruptedException {
+        InMemoryInventoryRepository inventoryRepository = new InMemoryInventoryRepository();
+        InMemoryMenuPlanRepository menuPlanRepository = new InMemoryMenuPlanRepository(new InMemoryRecipeRepository());
+        LocalDate day = LocalDate.of(2024, 7, 1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            int index = i;
+            executor.execute(() -> {
+                inventoryRepository.save(new InventoryItem("Zutat " + index, index, "kg"));
+                menuPlanRepository.save(new MenuPlanEntry(day, new Meal("Essen " + index, 10)));
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(inventoryRepository.findAll()).hasSize(1000);
+        assertThat(menuPlanRepository.findByDate(day)).hasSize(1000);
+    }
 }
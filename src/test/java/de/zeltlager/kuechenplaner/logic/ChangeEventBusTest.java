@@ -0,0 +1,125 @@
+package de.zeltlager.kuechenplaner.logic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import de.zeltlager.kuechenplaner.data.model.InventoryItem;
+import de.zeltlager.kuechenplaner.data.model.Meal;
+import de.zeltlager.kuechenplaner.data.model.MenuPlanEntry;
+
+class ChangeEventBusTest {
+
+    private final ChangeEventBus bus = new ChangeEventBus();
+    private final List<ChangeEvent> events = new ArrayList<>();
+    private final TransactionTemplate transaction = new TransactionTemplate(new NoOpTransactionManager());
+
+    @BeforeEach
+    void setUp() {
+        bus.addListener(events::add);
+    }
+
+    @Test
+    void deliversRightAwayOutsideTransactions() {
+        ChangeEvent event = menuPlanChanged(1);
+
+        bus.publish(event);
+
+        assertThat(events).containsExactly(event);
+    }
+
+    @Test
+    void deliversAfterCommitAndMergesRowByRowWrites() {
+        transaction.executeWithoutResult(status -> {
+            bus.publish(menuPlanChanged(1));
+            bus.publish(menuPlanChanged(2));
+            bus.publish(new ChangeEvent.InventoryChanged(List.of(new InventoryItem("Mehl", 5, "kg"))));
+            assertThat(events).isEmpty();
+        });
+
+        assertThat(events).hasSize(2);
+        assertThat(((ChangeEvent.MenuPlanChanged) events.get(0)).entries())
+                .extracting(entry -> entry.getDate().getDayOfMonth())
+                .containsExactly(1, 2);
+        assertThat(events.get(1)).isInstanceOf(ChangeEvent.InventoryChanged.class);
+    }
+
+    @Test
+    void dropsEventsOfRolledBackTransaction() {
+        assertThatThrownBy(() -> transaction.executeWithoutResult(status -> {
+            bus.publish(menuPlanChanged(1));
+            throw new IllegalStateException("Abbruch");
+        })).isInstanceOf(IllegalStateException.class);
+
+        ChangeEvent committed = menuPlanChanged(2);
+        bus.publish(committed);
+
+        assertThat(events).containsExactly(committed);
+    }
+
+    @Test
+    void splitsMergedEventsIntoBatches() {
+        transaction.executeWithoutResult(status -> IntStream.rangeClosed(1, ChangeEventBus.MAX_ROWS_PER_EVENT + 1)
+                .forEach(day -> bus.publish(menuPlanChanged(day % 28 + 1))));
+
+        assertThat(events).hasSize(2);
+        assertThat(((ChangeEvent.MenuPlanChanged) events.get(0)).entries()).hasSize(ChangeEventBus.MAX_ROWS_PER_EVENT);
+        assertThat(((ChangeEvent.MenuPlanChanged) events.get(1)).entries()).hasSize(1);
+    }
+
+    @Test
+    void doesNotMergeDifferentTypes() {
+        MenuPlanEntry entry = entry(1);
+        ChangeEvent created = new ChangeEvent.MenuPlanChanged(ChangeEvent.Type.CREATED, entry);
+        ChangeEvent deleted = new ChangeEvent.MenuPlanChanged(ChangeEvent.Type.DELETED, entry);
+
+        transaction.executeWithoutResult(status -> {
+            bus.publish(created);
+            bus.publish(deleted);
+        });
+
+        assertThat(events).containsExactly(created, deleted);
+    }
+
+    private static ChangeEvent menuPlanChanged(int day) {
+        return new ChangeEvent.MenuPlanChanged(ChangeEvent.Type.CREATED, entry(day));
+    }
+
+    private static MenuPlanEntry entry(int day) {
+        return new MenuPlanEntry(LocalDate.of(2024, 7, day), new Meal("Eintopf", 40));
+    }
+
+    /**
+     * Runs the transaction synchronizations like a real transaction manager, without a database.
+     */
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
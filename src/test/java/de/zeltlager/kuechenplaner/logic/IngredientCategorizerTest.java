@@ -0,0 +1,51 @@
+package de.zeltlager.kuechenplaner.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IngredientCategorizerTest {
+
+    private final IngredientCategorizer categorizer = new IngredientCategorizer();
+
+    @Test
+    void categorizeMatchesKeywordsInsideLongerNames() {
+        assertThat(categorizer.categorize("Tomatensalat")).contains("Obst & Gemüse");
+        assertThat(categorizer.categorize("Vollkornbrot")).contains("Backwaren");
+        assertThat(categorizer.categorize("Nudeln")).isEmpty();
+    }
+
+    @Test
+    void categorizeMatchesKeywordsWithUmlautsAfterNormalization() {
+        assertThat(categorizer.categorize("Käse gerieben")).contains("Milchprodukte");
+        assertThat(categorizer.categorize("HÄHNCHENBRUST")).contains("Fleisch & Fisch");
+        assertThat(categorizer.categorize("Brötchen")).contains("Backwaren");
+    }
+
+    @Test
+    void categorizeTreatsSharpSLikeDoubleS() {
+        assertThat(categorizer.categorize("Mineralwaßer")).contains("Getränke");
+        assertThat(categorizer.categorize("MINERALWAẞER")).contains("Getränke");
+    }
+
+    @Test
+    void categorizePrefersEarlierRuleWhenSeveralKeywordsMatch() {
+        assertThat(categorizer.categorize("Apfelsaft")).contains("Obst & Gemüse");
+        assertThat(categorizer.categorize("Lachs mit Kartoffeln")).contains("Obst & Gemüse");
+    }
+
+    @Test
+    void keywordMatcherReportsLowestMatchingGroup() {
+        KeywordMatcher matcher = new KeywordMatcher(List.of(
+                List.of("hers"),
+                List.of("he", "she"),
+                List.of("is")));
+
+        assertThat(matcher.firstMatchingGroup("ushers")).isEqualTo(0);
+        assertThat(matcher.firstMatchingGroup("this")).isEqualTo(2);
+        assertThat(matcher.firstMatchingGroup("sheep")).isEqualTo(1);
+        assertThat(matcher.firstMatchingGroup("xyz")).isEqualTo(-1);
+    }
+}
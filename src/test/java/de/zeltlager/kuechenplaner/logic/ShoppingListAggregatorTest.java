@@ -0,0 +1,111 @@
+package de.zeltlager.kuechenplaner.logic;
+
+import de.zeltlager.kuechenplaner.data.model.Ingredient;
+import de.zeltlager.kuechenplaner.data.model.IngredientTotal;
+import de.zeltlager.kuechenplaner.data.model.Recipe;
+import de.zeltlager.kuechenplaner.data.model.RecipeWithIngredients;
+import de.zeltlager.kuechenplaner.data.model.ShoppingListItem;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ShoppingListAggregatorTest {
+
+    @Test
+    void addServingsMergesIngredientsAcrossRecipes() {
+        ShoppingListAggregator aggregator = new ShoppingListAggregator();
+
+        aggregator.addServings(recipe(1L, "Nudeln mit Tomatensauce",
+                ingredient("Nudeln", "g", 100.0, null),
+                ingredient("Tomate", "g", 50.0, "reif")), 2);
+        aggregator.addServings(recipe(2L, "Salat",
+                ingredient("tomate", "kg", 0.1, "gewürfelt")), 3);
+
+        List<ShoppingListItem> items = aggregator.getItems();
+        assertThat(items).extracting(ShoppingListItem::getName).containsExactly("Tomate", "Nudeln");
+        ShoppingListItem tomato = items.get(0);
+        assertThat(tomato.getUnit()).isEqualTo("g");
+        assertThat(tomato.getTotalAmount()).isCloseTo(400.0, within(1e-9));
+        assertThat(tomato.getNotes()).containsExactly("reif", "gewürfelt");
+    }
+
+    @Test
+    void addIngredientTotalCanonicalizesAndMergesRepositoryTotals() {
+        ShoppingListAggregator aggregator = new ShoppingListAggregator();
+
+        aggregator.addIngredientTotal(new IngredientTotal("Tomate", "kg", 1.5, "reif"));
+        aggregator.addIngredientTotal(new IngredientTotal("tomate", "g", 250.0, null));
+        aggregator.addIngredientTotal(new IngredientTotal("Nudeln", "g", 800.0, null));
+
+        List<ShoppingListItem> items = aggregator.getItems();
+        assertThat(items).extracting(ShoppingListItem::getName).containsExactly("Tomate", "Nudeln");
+        assertThat(items.get(0).getCategory()).contains("Obst & Gemüse");
+        assertThat(items.get(0).getTotalAmount()).isCloseTo(1750.0, within(1e-9));
+        assertThat(items.get(0).getNotes()).containsExactly("reif");
+    }
+
+    @Test
+    void addServingsRejectsNonPositiveServings() {
+        ShoppingListAggregator aggregator = new ShoppingListAggregator();
+        RecipeWithIngredients pasta = recipe(1L, "Nudeln", ingredient("Nudeln", "g", 100.0, null));
+
+        assertThrows(IllegalArgumentException.class, () -> aggregator.addServings(pasta, 0));
+        assertThat(aggregator.getItems()).isEmpty();
+    }
+
+    @Test
+    void removeServingsSubtractsAndDropsIngredientsWithoutRows() {
+        ShoppingListAggregator aggregator = new ShoppingListAggregator();
+        RecipeWithIngredients pasta = recipe(1L, "Nudeln", ingredient("Nudeln", "g", 100.0, null));
+        RecipeWithIngredients salad = recipe(2L, "Salat", ingredient("Gurke", "Stück", 0.5, "geschält"));
+        aggregator.addServings(pasta, 4);
+        aggregator.addServings(pasta, 2);
+        aggregator.addServings(salad, 2);
+
+        aggregator.removeServings(pasta, 2);
+        aggregator.removeServings(salad, 2);
+
+        assertThat(aggregator.getItems())
+                .singleElement()
+                .satisfies(item -> {
+                    assertThat(item.getName()).isEqualTo("Nudeln");
+                    assertThat(item.getTotalAmount()).isCloseTo(400.0, within(1e-9));
+                });
+    }
+
+    @Test
+    void appliesMenuPlanDeltasOnTopOfRepositoryTotals() {
+        ShoppingListAggregator aggregator = new ShoppingListAggregator();
+        aggregator.addIngredientTotal(new IngredientTotal("Zwiebel", "Stück", 20.0, "gehackt", 2));
+        RecipeWithIngredients stew = recipe(1L, "Eintopf", ingredient("Zwiebel", "Stück", 0.5, "gehackt"));
+
+        aggregator.removeServings(stew, 20);
+        assertThat(aggregator.getItems())
+                .singleElement()
+                .satisfies(item -> {
+                    assertThat(item.getTotalAmount()).isCloseTo(10.0, within(1e-9));
+                    assertThat(item.getNotes()).containsExactly("gehackt");
+                });
+
+        aggregator.addServings(recipe(2L, "Sauce", ingredient("zwiebel", "Stück", 1.0, null)), 5);
+        aggregator.removeServings(stew, 20);
+        assertThat(aggregator.getItems())
+                .singleElement()
+                .satisfies(item -> {
+                    assertThat(item.getTotalAmount()).isCloseTo(5.0, within(1e-9));
+                    assertThat(item.getNotes()).isEmpty();
+                });
+    }
+
+    private static RecipeWithIngredients recipe(Long id, String name, Ingredient... ingredients) {
+        return new RecipeWithIngredients(new Recipe(id, name, null, 4, "", null, null), List.of(ingredients));
+    }
+
+    private static Ingredient ingredient(String name, String unit, double amountPerServing, String notes) {
+        return new Ingredient(null, null, name, unit, amountPerServing, notes);
+    }
+}
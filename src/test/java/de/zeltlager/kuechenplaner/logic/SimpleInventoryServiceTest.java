@@ -7,9 +7,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -43,4 +46,43 @@ class SimpleInventoryServiceTest {
 
         verify(inventoryRepository).save(item);
     }
+
+    @Test
+    void upsertAllDelegatesToRepositoryInOneCall() {
+        List<InventoryItem> items = List.of(
+                new InventoryItem("Milch", 2, "l"),
+                new InventoryItem("Mehl", 5, "kg"));
+        SimpleInventoryService service = new SimpleInventoryService(inventoryRepository);
+
+        service.upsertAll(items);
+
+        verify(inventoryRepository).saveAll(items);
+    }
+
+    @Test
+    void upsertAllSkipsRepositoryForEmptyList() {
+        SimpleInventoryService service = new SimpleInventoryService(inventoryRepository);
+
+        service.upsertAll(List.of());
+
+        verify(inventoryRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void upsertsPublishSavedItems() {
+        ChangeEventBus bus = new ChangeEventBus();
+        List<ChangeEvent> events = new ArrayList<>();
+        bus.addListener(events::add);
+        SimpleInventoryService service = new SimpleInventoryService(inventoryRepository, bus);
+        InventoryItem milk = new InventoryItem("Milch", 2, "l");
+        InventoryItem flour = new InventoryItem("Mehl", 5, "kg");
+
+        service.upsertInventoryItem(milk);
+        service.upsertAll(List.of(flour));
+        service.upsertAll(List.of());
+
+        assertThat(events).containsExactly(
+                new ChangeEvent.InventoryChanged(List.of(milk)),
+                new ChangeEvent.InventoryChanged(List.of(flour)));
+    }
 }
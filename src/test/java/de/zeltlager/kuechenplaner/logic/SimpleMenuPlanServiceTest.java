@@ -1,7 +1,9 @@
 package de.zeltlager.kuechenplaner.logic;
 
+import de.zeltlager.kuechenplaner.data.model.IngredientTotal;
 import de.zeltlager.kuechenplaner.data.model.Meal;
 import de.zeltlager.kuechenplaner.data.model.MenuPlanEntry;
+import de.zeltlager.kuechenplaner.data.model.ShoppingListItem;
 import de.zeltlager.kuechenplaner.data.repository.MenuPlanRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,6 +11,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -38,14 +41,48 @@ class SimpleMenuPlanServiceTest {
         assertThrows(NullPointerException.class, () -> service.getMenuPlan(null));
     }
 
+    @Test
+    void getMenuPlanForDateRangeDelegatesToRepository() {
+        LocalDate from = LocalDate.of(2024, 7, 1);
+        LocalDate to = LocalDate.of(2024, 7, 3);
+        List<MenuPlanEntry> entries = List.of(new MenuPlanEntry(from, new Meal("Mittag", 10)));
+        when(menuPlanRepository.findByDateRange(from, to)).thenReturn(entries);
+
+        SimpleMenuPlanService service = new SimpleMenuPlanService(menuPlanRepository);
+        assertThat(service.getMenuPlan(from, to)).isEqualTo(entries);
+    }
+
+    @Test
+    void getMenuPlanRejectsInvertedDateRange() {
+        SimpleMenuPlanService service = new SimpleMenuPlanService(menuPlanRepository);
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getMenuPlan(LocalDate.of(2024, 7, 3), LocalDate.of(2024, 7, 1)));
+    }
+
+    @Test
+    void generateShoppingListConvertsRepositoryTotals() {
+        LocalDate from = LocalDate.of(2024, 7, 1);
+        LocalDate to = LocalDate.of(2024, 7, 7);
+        when(menuPlanRepository.sumIngredientsByDateRange(from, to)).thenReturn(List.of(
+                new IngredientTotal("Milch", "l", 2.0, null),
+                new IngredientTotal("Milch", "ml", 500.0, null)));
+
+        SimpleMenuPlanService service = new SimpleMenuPlanService(menuPlanRepository);
+        List<ShoppingListItem> items = service.generateShoppingList(from, to);
+
+        assertThat(items).hasSize(1);
+        assertThat(items.get(0).getUnit()).isEqualTo("ml");
+        assertThat(items.get(0).getTotalAmount()).isEqualTo(2500.0);
+    }
+
     @Test
     void addMenuPlanEntryDelegatesToRepository() {
         MenuPlanEntry entry = new MenuPlanEntry(LocalDate.now(), new Meal("Abend", 15));
+        MenuPlanEntry linked = new MenuPlanEntry(entry.getDate(), new Meal("Abend", 15, 7L));
+        when(menuPlanRepository.save(entry)).thenReturn(linked);
         SimpleMenuPlanService service = new SimpleMenuPlanService(menuPlanRepository);
 
-        service.addMenuPlanEntry(entry);
-
-        verify(menuPlanRepository).save(entry);
+        assertThat(service.addMenuPlanEntry(entry)).isSameAs(linked);
     }
 
     @Test
@@ -57,4 +94,39 @@ class SimpleMenuPlanServiceTest {
 
         verify(menuPlanRepository).delete(entry);
     }
+
+    @Test
+    void addAndDeletePublishChangeEvents() {
+        MenuPlanEntry entry = new MenuPlanEntry(LocalDate.of(2024, 7, 1), new Meal("Eintopf", 40));
+        MenuPlanEntry linked = new MenuPlanEntry(entry.getDate(), new Meal("Eintopf", 40, 3L));
+        when(menuPlanRepository.save(entry)).thenReturn(linked);
+        ChangeEventBus bus = new ChangeEventBus();
+        List<ChangeEvent> events = new ArrayList<>();
+        bus.addListener(events::add);
+        SimpleMenuPlanService service = new SimpleMenuPlanService(menuPlanRepository, bus);
+
+        service.addMenuPlanEntry(entry);
+        service.deleteMenuPlanEntry(linked);
+
+        assertThat(events).containsExactly(
+                new ChangeEvent.MenuPlanChanged(ChangeEvent.Type.CREATED, linked),
+                new ChangeEvent.MenuPlanChanged(ChangeEvent.Type.DELETED, linked));
+    }
+
+    @Test
+    void addMenuPlanEntriesPublishesOneEvent() {
+        List<MenuPlanEntry> entries = List.of(
+                new MenuPlanEntry(LocalDate.of(2024, 7, 1), new Meal("Eintopf", 40)),
+                new MenuPlanEntry(LocalDate.of(2024, 7, 2), new Meal("Nudeln", 40)));
+        when(menuPlanRepository.saveAll(entries)).thenReturn(entries);
+        ChangeEventBus bus = new ChangeEventBus();
+        List<ChangeEvent> events = new ArrayList<>();
+        bus.addListener(events::add);
+        SimpleMenuPlanService service = new SimpleMenuPlanService(menuPlanRepository, bus);
+
+        assertThat(service.addMenuPlanEntries(entries)).isSameAs(entries);
+        assertThat(service.addMenuPlanEntries(List.of())).isEmpty();
+
+        assertThat(events).containsExactly(new ChangeEvent.MenuPlanChanged(ChangeEvent.Type.CREATED, entries));
+    }
 }
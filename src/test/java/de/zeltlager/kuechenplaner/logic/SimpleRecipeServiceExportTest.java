@@ -1,7 +1,9 @@
 package de.zeltlager.kuechenplaner.logic;
 
+import de.zeltlager.kuechenplaner.data.model.DataVersion;
 import de.zeltlager.kuechenplaner.data.model.Ingredient;
 import de.zeltlager.kuechenplaner.data.model.Recipe;
+import de.zeltlager.kuechenplaner.data.model.RecipeSummary;
 import de.zeltlager.kuechenplaner.data.model.RecipeWithIngredients;
 import de.zeltlager.kuechenplaner.data.repository.RecipeRepository;
 import org.junit.jupiter.api.Test;
@@ -9,8 +11,10 @@ import org.junit.jupiter.api.Test;
 import java.io.StringWriter;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -103,6 +107,13 @@ class SimpleRecipeServiceExportTest {
             return result;
         }
 
+        @Override
+        public List<RecipeWithIngredients> createAll(List<RecipeWithIngredients> recipes) {
+            return recipes.stream()
+                    .map(recipe -> create(recipe.getRecipe(), recipe.getIngredients()))
+                    .toList();
+        }
+
         @Override
         public Optional<RecipeWithIngredients> findById(long id) {
             return stored.stream()
@@ -110,11 +121,53 @@ class SimpleRecipeServiceExportTest {
                     .findFirst();
         }
 
+        @Override
+        public List<RecipeWithIngredients> findAllByIds(Collection<Long> ids) {
+            return stored.stream()
+                    .filter(recipe -> ids.contains(recipe.getRecipe().getId().orElseThrow()))
+                    .toList();
+        }
+
         @Override
         public List<RecipeWithIngredients> findAll() {
             return List.copyOf(stored);
         }
 
+        @Override
+        public void forEachRecipe(Consumer<RecipeWithIngredients> action) {
+            stored.forEach(action);
+        }
+
+        @Override
+        public void forEachRecipeUpdatedSince(Instant since, Consumer<RecipeWithIngredients> action) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<RecipeSummary> findSummaries(int page, int pageSize) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long count() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public DataVersion getVersion() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<RecipeWithIngredients> search(String query, int limit, int offset) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<RecipeSummary> searchSummaries(String query, int limit, int offset) {
+            throw new UnsupportedOperationException();
+        }
+
         @Override
         public RecipeWithIngredients update(Recipe recipe, List<Ingredient> ingredients) {
             throw new UnsupportedOperationException();
@@ -1,21 +1,40 @@
 package de.zeltlager.kuechenplaner.logic;
 
+import de.zeltlager.kuechenplaner.data.model.DataVersion;
 import de.zeltlager.kuechenplaner.data.model.Ingredient;
 import de.zeltlager.kuechenplaner.data.model.Recipe;
+import de.zeltlager.kuechenplaner.data.model.RecipeSummary;
 import de.zeltlager.kuechenplaner.data.model.RecipeWithIngredients;
 import de.zeltlager.kuechenplaner.data.repository.RecipeRepository;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
 import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class SimpleRecipeServiceImportTest {
 
+    private static final String INTERLEAVED_CSV = String.join("\n",
+            "name;base_servings;instructions;ingredient_name;ingredient_unit;ingredient_amount_per_serving",
+            "Kartoffelsalat;10;Alles vermengen;Kartoffeln;g;50",
+            "Milchreis;8;Langsam köcheln;Reis;g;60",
+            "Kartoffelsalat;10;Alles vermengen;Essig;ml;5");
+
+    @TempDir
+    Path tempDir;
+
     @Test
     void importsRecipesFromCsv() {
         RecordingRecipeRepository repository = new RecordingRecipeRepository();
@@ -70,6 +89,169 @@ class SimpleRecipeServiceImportTest {
         assertEquals(1, repository.createdRecipes.size());
     }
 
+    @Test
+    void importsCsvInBatchesAndReportsProgress() {
+        RecordingRecipeRepository repository = new RecordingRecipeRepository();
+        SimpleRecipeService service = new SimpleRecipeService(repository);
+        List<Integer> progress = new ArrayList<>();
+
+        String csv = String.join("\n",
+                "name;base_servings;instructions;ingredient_name;ingredient_unit;ingredient_amount_per_serving",
+                "Kartoffelsalat;10;Alles vermengen;Kartoffeln;g;50",
+                "Kartoffelsalat;10;Alles vermengen;Essig;ml;5",
+                "Milchreis;8;Langsam köcheln;Reis;g;60",
+                "Obstsalat;6;Schneiden;Äpfel;Stück;1");
+
+        int imported = service.importRecipesInBatches(
+                new StringReader(csv),
+                RecipeService.ImportFormat.CSV,
+                2,
+                progress::add);
+
+        assertEquals(3, imported);
+        assertEquals(List.of(2, 1), repository.batchSizes);
+        assertEquals(List.of(2, 3), progress);
+        assertEquals(List.of("Kartoffelsalat", "Milchreis", "Obstsalat"),
+                repository.createdRecipes.stream().map(Recipe::getName).toList());
+        assertEquals(2, repository.stored.get(0).getIngredients().size());
+    }
+
+    @Test
+    void csvImportInBatchesGroupsInterleavedRecipeRows() {
+        RecordingRecipeRepository repository = new RecordingRecipeRepository();
+        SimpleRecipeService service = new SimpleRecipeService(repository);
+
+        int imported = service.importRecipesInBatches(
+                new StringReader(INTERLEAVED_CSV),
+                RecipeService.ImportFormat.CSV,
+                1,
+                count -> { });
+
+        assertEquals(2, imported);
+        assertEquals(List.of("Kartoffelsalat", "Milchreis"),
+                repository.createdRecipes.stream().map(Recipe::getName).toList());
+        assertEquals(List.of("Kartoffeln", "Essig"),
+                repository.stored.get(0).getIngredients().stream().map(Ingredient::getName).toList());
+    }
+
+    @Test
+    void csvFileImportStreamsContiguousRecipes() throws IOException {
+        RecordingRecipeRepository repository = new RecordingRecipeRepository();
+        SimpleRecipeService service = new SimpleRecipeService(repository);
+        Path file = tempDir.resolve("rezepte.csv");
+        Files.writeString(file, String.join("\n",
+                "name;base_servings;instructions;ingredient_name;ingredient_unit;ingredient_amount_per_serving",
+                "Kartoffelsalat;10;Alles vermengen;Kartoffeln;g;50",
+                "Kartoffelsalat;10;Alles vermengen;Essig;ml;5",
+                "Milchreis;8;Langsam köcheln;Reis;g;60",
+                "Obstsalat;6;Schneiden;Äpfel;Stück;1"), StandardCharsets.UTF_8);
+        List<Integer> progress = new ArrayList<>();
+
+        int imported = service.importCsvFile(file, 2, progress::add);
+
+        assertEquals(3, imported);
+        assertEquals(List.of(2, 1), repository.batchSizes);
+        assertEquals(List.of(2, 3), progress);
+        assertEquals(2, repository.stored.get(0).getIngredients().size());
+    }
+
+    @Test
+    void csvFileImportGroupsInterleavedRecipeRows() throws IOException {
+        RecordingRecipeRepository repository = new RecordingRecipeRepository();
+        SimpleRecipeService service = new SimpleRecipeService(repository);
+        Path file = tempDir.resolve("rezepte.csv");
+        Files.writeString(file, INTERLEAVED_CSV, StandardCharsets.UTF_8);
+
+        int imported = service.importCsvFile(file, 1, count -> { });
+
+        assertEquals(2, imported);
+        assertEquals(List.of(1, 1), repository.batchSizes);
+        assertEquals(List.of("Kartoffelsalat", "Milchreis"),
+                repository.createdRecipes.stream().map(Recipe::getName).toList());
+        assertEquals(List.of("Kartoffeln", "Essig"),
+                repository.stored.get(0).getIngredients().stream().map(Ingredient::getName).toList());
+    }
+
+    @Test
+    void csvFileImportStoresNothingIfALaterRowIsInvalid() throws IOException {
+        RecordingRecipeRepository repository = new RecordingRecipeRepository();
+        SimpleRecipeService service = new SimpleRecipeService(repository);
+        Path file = tempDir.resolve("rezepte.csv");
+        Files.writeString(file, String.join("\n",
+                "name;base_servings;instructions;ingredient_name;ingredient_unit;ingredient_amount_per_serving",
+                "Kartoffelsalat;10;Alles vermengen;Kartoffeln;g;50",
+                "Milchreis;8;Langsam köcheln;Reis;g;60",
+                "Obstsalat;6;Schneiden;Äpfel;Stück;viel"), StandardCharsets.UTF_8);
+
+        assertThrows(IllegalArgumentException.class, () -> service.importCsvFile(file, 1, count -> { }));
+        assertEquals(0, repository.createdRecipes.size());
+    }
+
+    @Test
+    void importsMealMasterInBatches() {
+        RecordingRecipeRepository repository = new RecordingRecipeRepository();
+        SimpleRecipeService service = new SimpleRecipeService(repository);
+
+        String mealMaster = String.join("\n",
+                "MMMMM----- Recipe via Meal-Master (tm) v8.05",
+                "",
+                "      Title: Pfannkuchen",
+                "      Yield: 8 servings",
+                "",
+                formatMealMasterIngredient("2", "c", "Flour"),
+                "",
+                "Mix and bake.",
+                "MMMMM----- Recipe via Meal-Master (tm) v8.05",
+                "",
+                "      Title: Tee",
+                "      Yield: 4 servings",
+                "",
+                formatMealMasterIngredient("1", "l", "Wasser"),
+                "",
+                "Aufbrühen.");
+
+        int imported = service.importRecipesInBatches(
+                new StringReader(mealMaster),
+                RecipeService.ImportFormat.MEAL_MASTER,
+                5,
+                count -> { });
+
+        assertEquals(2, imported);
+        assertEquals(List.of(2), repository.batchSizes);
+    }
+
+    @Test
+    void importsMealMasterArchiveInFileOrder() throws IOException {
+        RecordingRecipeRepository repository = new RecordingRecipeRepository();
+        SimpleRecipeService service = new SimpleRecipeService(repository);
+        List<String> lines = new ArrayList<>();
+        lines.add("Rezeptsammlung Zeltlager");
+        for (String title : List.of("Pfannkuchen", "Kräutertee", "Stockbrot")) {
+            lines.add("MMMMM----- Recipe via Meal-Master (tm) v8.05");
+            lines.add("");
+            lines.add("      Title: " + title);
+            lines.add("      Yield: 4 servings");
+            lines.add("");
+            lines.add(formatMealMasterIngredient("2", "c", "Mehl"));
+            lines.add("");
+            lines.add("Zubereiten.");
+            lines.add("MMMMM");
+            lines.add("");
+        }
+        Path archive = tempDir.resolve("rezepte.mmf");
+        Files.write(archive, lines, StandardCharsets.UTF_8);
+        List<Integer> progress = new ArrayList<>();
+
+        int imported = service.importMealMasterArchive(archive, 2, progress::add);
+
+        assertEquals(3, imported);
+        assertEquals(List.of("Pfannkuchen", "Kräutertee", "Stockbrot"),
+                repository.createdRecipes.stream().map(Recipe::getName).toList());
+        assertEquals(List.of(2, 1), repository.batchSizes);
+        assertEquals(List.of(2, 3), progress);
+        assertEquals(0.5, repository.stored.get(1).getIngredients().get(0).getAmountPerServing());
+    }
+
     private static String formatMealMasterIngredient(String amount, String unit, String name) {
         return String.format("%1$7s %2$-7s%3$s", amount, unit, name);
     }
@@ -79,6 +261,7 @@ class SimpleRecipeServiceImportTest {
         private long nextId = 1;
         private long nextIngredientId = 1;
         private final List<Recipe> createdRecipes = new ArrayList<>();
+        private final List<Integer> batchSizes = new ArrayList<>();
 
         @Override
         public RecipeWithIngredients create(Recipe recipe, List<Ingredient> ingredients) {
@@ -104,16 +287,64 @@ class SimpleRecipeServiceImportTest {
             return result;
         }
 
+        @Override
+        public List<RecipeWithIngredients> createAll(List<RecipeWithIngredients> recipes) {
+            batchSizes.add(recipes.size());
+            return recipes.stream()
+                    .map(recipe -> create(recipe.getRecipe(), recipe.getIngredients()))
+                    .toList();
+        }
+
         @Override
         public Optional<RecipeWithIngredients> findById(long id) {
             return stored.stream().filter(recipe -> recipe.getRecipe().getId().orElseThrow() == id).findFirst();
         }
 
+        @Override
+        public List<RecipeWithIngredients> findAllByIds(Collection<Long> ids) {
+            return stored.stream().filter(recipe -> ids.contains(recipe.getRecipe().getId().orElseThrow())).toList();
+        }
+
         @Override
         public List<RecipeWithIngredients> findAll() {
             return List.copyOf(stored);
         }
 
+        @Override
+        public void forEachRecipe(Consumer<RecipeWithIngredients> action) {
+            stored.forEach(action);
+        }
+
+        @Override
+        public void forEachRecipeUpdatedSince(Instant since, Consumer<RecipeWithIngredients> action) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<RecipeSummary> findSummaries(int page, int pageSize) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long count() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public DataVersion getVersion() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<RecipeWithIngredients> search(String query, int limit, int offset) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<RecipeSummary> searchSummaries(String query, int limit, int offset) {
+            throw new UnsupportedOperationException();
+        }
+
         @Override
         public RecipeWithIngredients update(Recipe recipe, List<Ingredient> ingredients) {
             throw new UnsupportedOperationException();
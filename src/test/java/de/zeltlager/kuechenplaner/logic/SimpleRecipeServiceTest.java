@@ -2,6 +2,7 @@ package de.zeltlager.kuechenplaner.logic;
 
 import de.zeltlager.kuechenplaner.data.model.Ingredient;
 import de.zeltlager.kuechenplaner.data.model.Recipe;
+import de.zeltlager.kuechenplaner.data.model.RecipeSummary;
 import de.zeltlager.kuechenplaner.data.model.RecipeWithIngredients;
 import de.zeltlager.kuechenplaner.data.model.ShoppingListItem;
 import de.zeltlager.kuechenplaner.data.repository.RecipeRepository;
@@ -15,12 +16,19 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.io.IOException;
 import java.io.Writer;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -86,6 +94,44 @@ class SimpleRecipeServiceTest {
                 List.of()));
     }
 
+    @Test
+    void searchTrimsQueryAndValidatesPaging() {
+        when(recipeRepository.search("Eintopf", 20, 40)).thenReturn(List.of());
+
+        assertThat(service.search("  Eintopf ", 20, 40)).isEmpty();
+        assertThat(service.search("   ", 20, 0)).isEmpty();
+        assertThrows(IllegalArgumentException.class, () -> service.search("Eintopf", 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> service.search("Eintopf", 20, -1));
+        verify(recipeRepository).search("Eintopf", 20, 40);
+    }
+
+    @Test
+    void getRecipeSummariesValidatesPaging() {
+        when(recipeRepository.findSummaries(2, 50)).thenReturn(List.of());
+
+        assertThat(service.getRecipeSummaries(2, 50)).isEmpty();
+        assertThrows(IllegalArgumentException.class, () -> service.getRecipeSummaries(-1, 50));
+        assertThrows(IllegalArgumentException.class, () -> service.getRecipeSummaries(0, 0));
+        assertThat(service.searchSummaries(" ", 50, 0)).isEmpty();
+        verify(recipeRepository, never()).searchSummaries(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void createRecipesPersistsInOneCallAndKeepsTimestamps() {
+        when(recipeRepository.createAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        Instant createdAt = Instant.parse("2024-01-01T10:00:00Z");
+        RecipeWithIngredients recipe = new RecipeWithIngredients(
+                new Recipe(7L, "Suppe", null, 4, "Kochen", createdAt, createdAt),
+                List.of(new Ingredient(3L, null, "Kartoffel", "g", 100.0, null)));
+
+        List<RecipeWithIngredients> created = service.createRecipes(List.of(recipe));
+
+        assertThat(created).hasSize(1);
+        assertThat(created.get(0).getRecipe().getId()).isEmpty();
+        assertThat(created.get(0).getRecipe().getCreatedAt()).contains(createdAt);
+        assertThat(created.get(0).getIngredients()).extracting(Ingredient::getName).containsExactly("Kartoffel");
+    }
+
     @Test
     void updateRecipeNormalizesIngredientsAndPreservesCreationTimestamp() {
         Instant createdAt = Instant.parse("2023-05-01T12:30:00Z");
@@ -150,6 +196,17 @@ class SimpleRecipeServiceTest {
                 List.of(invalid)));
     }
 
+    @Test
+    void getRecipesLoadsRecipesByIdsAndSkipsEmptySelection() {
+        RecipeWithIngredients recipe = new RecipeWithIngredients(
+                new Recipe(3L, "Eintopf", null, 10, "Kochen", null, null), List.of());
+        when(recipeRepository.findAllByIds(List.of(3L))).thenReturn(List.of(recipe));
+
+        assertThat(service.getRecipes(List.of(3L))).containsExactly(recipe);
+        assertThat(service.getRecipes(List.of())).isEmpty();
+        verify(recipeRepository).findAllByIds(anyCollection());
+    }
+
     @Test
     void deleteRecipeDelegatesToRepository() {
         service.deleteRecipe(42L);
@@ -167,8 +224,8 @@ class SimpleRecipeServiceTest {
         Ingredient potatoTwo = new Ingredient(21L, 2L, "Kartoffel", "g", 30.0, "frisch");
         RecipeWithIngredients recipeWithIngredientsTwo = new RecipeWithIngredients(recipeTwo, List.of(potatoTwo));
 
-        when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipeWithIngredientsOne));
-        when(recipeRepository.findById(2L)).thenReturn(Optional.of(recipeWithIngredientsTwo));
+        when(recipeRepository.findAllByIds(anyCollection()))
+                .thenReturn(List.of(recipeWithIngredientsTwo, recipeWithIngredientsOne));
 
         List<RecipeService.RecipeSelection> selections = List.of(
                 new RecipeService.RecipeSelection(1L, 8),
@@ -191,11 +248,16 @@ class SimpleRecipeServiceTest {
         assertThat(potatoItem.getTotalAmount()).isEqualTo(2120.0);
         assertThat(potatoItem.getCategory()).contains("Obst & Gemüse");
         assertThat(potatoItem.getNotes()).containsExactly("mehlig", "frisch");
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> idsCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(recipeRepository).findAllByIds(idsCaptor.capture());
+        assertThat(idsCaptor.getValue()).containsExactly(1L, 2L);
+        verify(recipeRepository, never()).findById(anyLong());
     }
 
     @Test
     void generateShoppingListThrowsIfRecipeMissing() {
-        when(recipeRepository.findById(7L)).thenReturn(Optional.empty());
+        when(recipeRepository.findAllByIds(anyCollection())).thenReturn(List.of());
         List<RecipeService.RecipeSelection> selections = List.of(new RecipeService.RecipeSelection(7L, 2));
         assertThrows(IllegalArgumentException.class, () -> service.generateShoppingList(selections));
     }
@@ -207,7 +269,6 @@ class SimpleRecipeServiceTest {
 
     @Test
     void exportRecipesWrapsIoExceptions() throws IOException {
-        when(recipeRepository.findAll()).thenReturn(List.of());
         Writer writer = new Writer() {
             @Override
             public void write(char[] cbuf, int off, int len) throws IOException {
@@ -240,4 +301,25 @@ class SimpleRecipeServiceTest {
                 new java.io.StringReader(csv),
                 RecipeService.ImportFormat.CSV));
     }
+
+    @Test
+    void deleteRecipePublishesSummaryOfDeletedRecipe() {
+        Recipe recipe = new Recipe(4L, "Stockbrot", null, 10, "Backen", null, null);
+        Ingredient flour = new Ingredient(40L, 4L, "Mehl", "g", 80.0, null);
+        when(recipeRepository.findById(4L)).thenReturn(Optional.of(new RecipeWithIngredients(recipe, List.of(flour))));
+        ChangeEventBus bus = new ChangeEventBus();
+        List<ChangeEvent> events = new ArrayList<>();
+        bus.addListener(events::add);
+
+        new SimpleRecipeService(recipeRepository, bus).deleteRecipe(4L);
+
+        verify(recipeRepository).delete(4L);
+        assertThat(events).singleElement()
+                .isInstanceOfSatisfying(ChangeEvent.RecipesChanged.class, changed -> {
+                    assertThat(changed.type()).isEqualTo(ChangeEvent.Type.DELETED);
+                    assertThat(changed.recipes())
+                            .extracting(RecipeSummary::getId, RecipeSummary::getName, RecipeSummary::getIngredientCount)
+                            .containsExactly(tuple(4L, "Stockbrot", 1));
+                });
+    }
 }
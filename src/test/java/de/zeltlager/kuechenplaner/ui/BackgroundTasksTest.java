@@ -0,0 +1,130 @@
+package de.zeltlager.kuechenplaner.ui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BackgroundTasksTest {
+
+    private ExecutorService executorService;
+    private BackgroundTasks tasks;
+    private final List<String> results = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        executorService = Executors.newCachedThreadPool();
+        tasks = new BackgroundExecutor(executorService).newTasks();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void newerTaskOfSameKeySupersedesOlderOne() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            tasks.runLatest("reload", () -> "first", results::add, error -> results.add("failed"));
+            tasks.runLatest("reload", () -> "second", results::add, error -> results.add("failed"));
+            tasks.runLatest("search", () -> "search", results::add, error -> results.add("failed"));
+        });
+
+        awaitIdle("reload", "search");
+
+        assertThat(results).containsExactlyInAnyOrder("second", "search");
+    }
+
+    @Test
+    void runsOneTaskPerKeyAtATimeAndOnlyTheNewestWaitingOne() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<String> started = new CopyOnWriteArrayList<>();
+        SwingUtilities.invokeAndWait(() -> {
+            for (int i = 1; i <= 5; i++) {
+                String name = "reload-" + i;
+                tasks.runLatest("reload", () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    started.add(name);
+                    release.await(5, TimeUnit.SECONDS);
+                    running.decrementAndGet();
+                    return name;
+                }, results::add, error -> results.add("failed"));
+            }
+        });
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> !started.isEmpty());
+        release.countDown();
+        awaitIdle("reload");
+
+        assertThat(started).containsExactly("reload-1", "reload-5");
+        assertThat(maxRunning).hasValue(1);
+        assertThat(results).containsExactly("reload-5");
+    }
+
+    @Test
+    void cancelAllDropsKeyedTasksButNotPlainOnes() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            tasks.runLatest("reload", () -> "reload", results::add, error -> results.add("failed"));
+            tasks.run(() -> "save", results::add, error -> results.add("failed"));
+            tasks.cancelAll();
+            assertThat(tasks.isRunning("reload")).isFalse();
+        });
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> results.contains("save"));
+        awaitIdle("reload");
+
+        assertThat(results).containsExactly("save");
+    }
+
+    @Test
+    void failuresAreReportedWithTheOriginalException() throws Exception {
+        SwingUtilities.invokeAndWait(() -> tasks.run(() -> {
+            throw new IllegalStateException("kaputt");
+        }, result -> results.add("ok"), error -> results.add(error.getMessage())));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> !results.isEmpty());
+
+        assertThat(results).containsExactly("kaputt");
+    }
+
+    @Test
+    void errorsAreReportedAndDoNotBlockTheKey() throws Exception {
+        SwingUtilities.invokeAndWait(() -> tasks.runLatest("reload", () -> {
+            throw new AssertionError("kaputt");
+        }, result -> results.add("ok"), error -> results.add(error.getMessage())));
+
+        awaitIdle("reload");
+        SwingUtilities.invokeAndWait(() -> tasks.runLatest("reload", () -> "again", results::add,
+                error -> results.add("failed")));
+        awaitIdle("reload");
+
+        assertThat(results).containsExactly("kaputt", "again");
+    }
+
+    private void awaitIdle(String... keys) {
+        await().atMost(Duration.ofSeconds(5)).until(() -> {
+            boolean[] idle = {true};
+            SwingUtilities.invokeAndWait(() -> {
+                for (String key : keys) {
+                    idle[0] &= !tasks.isRunning(key);
+                }
+            });
+            return idle[0];
+        });
+    }
+}
@@ -0,0 +1,84 @@
+package de.zeltlager.kuechenplaner.ui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RefreshSchedulerTest {
+
+    private static final int COALESCE_MILLIS = 20;
+
+    private RefreshScheduler<String> scheduler;
+    private final List<String> reloads = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            scheduler = new RefreshScheduler<>(COALESCE_MILLIS);
+            scheduler.register("recipes", () -> reloads.add("recipes"));
+            scheduler.register("planner", () -> reloads.add("planner"));
+            scheduler.show("recipes");
+        });
+    }
+
+    @Test
+    void burstOfChangesToVisibleViewReloadsOnce() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            scheduler.markDirty("recipes");
+            scheduler.markDirty("recipes");
+            scheduler.markDirty("recipes");
+        });
+
+        awaitTimer();
+
+        assertThat(reloads).containsExactly("recipes");
+    }
+
+    @Test
+    void hiddenViewReloadsWhenShown() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            scheduler.markDirty("planner");
+            scheduler.markDirty("planner");
+        });
+
+        awaitTimer();
+        assertThat(reloads).isEmpty();
+
+        SwingUtilities.invokeAndWait(() -> {
+            scheduler.show("planner");
+            scheduler.show("recipes");
+            scheduler.show("planner");
+        });
+
+        assertThat(reloads).containsExactly("planner");
+    }
+
+    @Test
+    void markAllDirtyReloadsOnlyVisibleViewRightAway() throws Exception {
+        SwingUtilities.invokeAndWait(() -> scheduler.markAllDirty());
+
+        awaitTimer();
+
+        assertThat(reloads).containsExactly("recipes");
+        SwingUtilities.invokeAndWait(() -> assertThat(scheduler.isDirty("planner")).isTrue());
+    }
+
+    @Test
+    void viewsWithoutReloadAreNeverDirty() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            scheduler.markDirty("import");
+            assertThat(scheduler.isDirty("import")).isFalse();
+        });
+    }
+
+    private void awaitTimer() throws Exception {
+        Thread.sleep(COALESCE_MILLIS * 10L);
+        SwingUtilities.invokeAndWait(() -> { });
+    }
+}
@@ -9,6 +9,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,6 +17,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -107,6 +109,38 @@ class UserAccountServiceTest {
         verify(userEntityRepository).save(any(UserEntity.class));
     }
 
+    @Test
+    void getCurrentUserIdIsCachedUntilUserChanges() {
+        UserEntity admin = userWithId("admin", 1L);
+        UserEntity koch = userWithId("koch", 2L);
+        when(userEntityRepository.findByUsernameIgnoreCase("admin")).thenReturn(Optional.of(admin));
+        when(userEntityRepository.findByUsernameIgnoreCase("koch")).thenReturn(Optional.of(koch));
+
+        assertThat(service.getCurrentUserId()).isEqualTo(1L);
+        assertThat(service.getCurrentUserId()).isEqualTo(1L);
+        verify(userEntityRepository, times(1)).findByUsernameIgnoreCase("admin");
+
+        userContext.setCurrentUsername("koch");
+        assertThat(service.getCurrentUserId()).isEqualTo(2L);
+
+        userContext.setCurrentUsername("admin");
+        assertThat(service.getCurrentUserId()).isEqualTo(1L);
+        verify(userEntityRepository, times(2)).findByUsernameIgnoreCase("admin");
+    }
+
+    @Test
+    void getCurrentUserReferenceUsesCachedId() {
+        UserEntity admin = userWithId("admin", 1L);
+        UserEntity reference = new UserEntity();
+        when(userEntityRepository.findByUsernameIgnoreCase("admin")).thenReturn(Optional.of(admin));
+        when(userEntityRepository.getReferenceById(1L)).thenReturn(reference);
+
+        service.getCurrentUserId();
+
+        assertThat(service.getCurrentUserReference()).isSameAs(reference);
+        verify(userEntityRepository, times(1)).findByUsernameIgnoreCase("admin");
+    }
+
     @Test
     void getAllUsersDelegatesToRepository() {
         when(userEntityRepository.findAll(any(Sort.class))).thenReturn(List.of());
@@ -114,4 +148,11 @@ class UserAccountServiceTest {
         assertThat(service.getAllUsers()).isEmpty();
         verify(userEntityRepository).findAll(Sort.by(Sort.Direction.ASC, "username"));
     }
+
+    private static UserEntity userWithId(String username, long id) {
+        UserEntity entity = new UserEntity();
+        entity.setUsername(username);
+        ReflectionTestUtils.setField(entity, "id", id);
+        return entity;
+    }
 }